@@ -0,0 +1,45 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defines how {@link SynchronizationFacade} synchronizes incoming calls to a port.
+ *
+ * This annotation can be used on a port (or port adapter) to define the policy of all its methods, or on a
+ * single method. An annotation on a method overrides an annotation on the port. If no annotation is available,
+ * a method with a parameter annotated by {@link LockKey} is executed {@link Policy#KEYED}. Otherwise,
+ * the policy is derived from the configured {@link LockMode}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConcurrencyPolicy
+{
+    enum Policy
+    {
+        /** The call is executed with an exclusive lock. */
+        EXCLUSIVE,
+
+        /** The call is executed with a shared lock so that it can run concurrently to other shared calls. */
+        SHARED,
+
+        /**
+         * The call is executed with a shared lock and an additional lock for the aggregate identified by a parameter
+         * annotated with {@link LockKey}, or by the first parameter if no parameter is annotated. So calls to different
+         * aggregates can run concurrently, whereas calls to the same aggregate are serialized.
+         *
+         * Note: Keyed calls do not run concurrently to {@link #SHARED} calls, because a query might read the
+         * aggregates changed by a keyed call.
+         */
+        KEYED,
+
+        /** The call is executed without acquiring any lock. Only use this policy for thread-safe ports. */
+        UNSYNCHRONIZED
+    }
+
+    Policy value();
+}
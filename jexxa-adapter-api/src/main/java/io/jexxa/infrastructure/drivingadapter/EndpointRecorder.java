@@ -0,0 +1,94 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Records latency, number of requests and errors, and payload sizes of all requests to a single endpoint of a
+ * driving adapter, such as the resource path of a port method offered by a RESTful API.
+ * <br>
+ * Recording a request is lock-free and does not allocate any memory. All recorders are registered in a global
+ * registry, so that the statistics of all endpoints can be offered by any driving adapter.
+ */
+public final class EndpointRecorder
+{
+    private static final Map<String, EndpointRecorder> RECORDERS = new ConcurrentHashMap<>();
+
+    private final String method;
+    private final String path;
+    private final long creationTime = System.nanoTime();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+
+    private EndpointRecorder(String method, String path)
+    {
+        this.method = method;
+        this.path = path;
+    }
+
+    /**
+     * Returns the recorder of an endpoint. If no recorder exists for this endpoint, it is created.
+     *
+     * @param method request method of the endpoint such as GET or POST
+     * @param path path of the endpoint
+     * @return recorder of the endpoint
+     */
+    public static EndpointRecorder of(String method, String path)
+    {
+        return RECORDERS.computeIfAbsent(method + " " + path, key -> new EndpointRecorder(method, path));
+    }
+
+    /**
+     * Returns the statistics of all endpoints which have been registered so far.
+     *
+     * @return list of statistics of each endpoint
+     */
+    public static List<EndpointStatistics> getEndpointStatistics()
+    {
+        return RECORDERS.values()
+                .stream()
+                .map(EndpointRecorder::getStatistics)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Records a completed request
+     *
+     * @param latencyNanos time between receiving the request and completing the response in nanoseconds
+     * @param isError true if the request failed
+     * @param requestSize number of bytes of the request body
+     * @param responseSize number of bytes of the response body
+     */
+    public void record(long latencyNanos, boolean isError, long requestSize, long responseSize)
+    {
+        latency.record(latencyNanos);
+        requestBytes.add(requestSize);
+        responseBytes.add(responseSize);
+        if (isError)
+        {
+            errors.increment();
+        }
+    }
+
+    public EndpointStatistics getStatistics()
+    {
+        var latencyStatistics = latency.getLatencyStatistics();
+        var elapsedSeconds = (System.nanoTime() - creationTime) / 1_000_000_000.0;
+
+        return new EndpointStatistics(
+                method,
+                path,
+                latencyStatistics,
+                latency.getTotalNanos(),
+                (elapsedSeconds > 0) ? latencyStatistics.getCount() / elapsedSeconds : 0,
+                errors.sum(),
+                requestBytes.sum(),
+                responseBytes.sum()
+        );
+    }
+}
@@ -0,0 +1,82 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+/**
+ * Immutable snapshot of the request statistics of a single endpoint.
+ *
+ * <ul>
+ * <li> latency: Time between receiving a request and completing its response. The number of requests is given by its count </li>
+ * <li> totalLatencyNanos: Sum of the latency of all requests </li>
+ * <li> throughput: Average number of requests per second since the endpoint was registered </li>
+ * <li> errors: Number of failed requests </li>
+ * <li> requestBytes / responseBytes: Total number of bytes of all request and response bodies </li>
+ * </ul>
+ */
+public final class EndpointStatistics
+{
+    private final String method;
+    private final String path;
+    private final LatencyStatistics latency;
+    private final long totalLatencyNanos;
+    private final double throughput;
+    private final long errors;
+    private final long requestBytes;
+    private final long responseBytes;
+
+    @SuppressWarnings("java:S107") // A snapshot includes all values of an endpoint
+    EndpointStatistics(String method, String path, LatencyStatistics latency, long totalLatencyNanos, double throughput, long errors, long requestBytes, long responseBytes)
+    {
+        this.method = method;
+        this.path = path;
+        this.latency = latency;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.throughput = throughput;
+        this.errors = errors;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+    }
+
+    public String getMethod()
+    {
+        return method;
+    }
+
+    public String getPath()
+    {
+        return path;
+    }
+
+    public LatencyStatistics getLatency()
+    {
+        return latency;
+    }
+
+    public long getTotalLatencyNanos()
+    {
+        return totalLatencyNanos;
+    }
+
+    public long getRequests()
+    {
+        return latency.getCount();
+    }
+
+    public double getThroughput()
+    {
+        return throughput;
+    }
+
+    public long getErrors()
+    {
+        return errors;
+    }
+
+    public long getRequestBytes()
+    {
+        return requestBytes;
+    }
+
+    public long getResponseBytes()
+    {
+        return responseBytes;
+    }
+}
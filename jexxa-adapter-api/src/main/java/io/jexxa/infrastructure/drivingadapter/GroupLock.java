@@ -0,0 +1,223 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock with two groups of holders. The lock is shared among the holders of the same group, whereas the groups exclude
+ * each other. {@link SynchronizationFacade} uses it so that {@link ConcurrencyPolicy.Policy#KEYED} calls run
+ * concurrently to each other and {@link ConcurrencyPolicy.Policy#SHARED} calls run concurrently to each other, but a
+ * query never runs concurrently to a keyed command.
+ * <br>
+ * If threads of the other group are waiting, new threads of the active group wait as well, so that the groups take
+ * turns and none of them starves. A thread that already holds the lock can acquire it again for any group, so that
+ * nested calls do not deadlock.
+ */
+final class GroupLock
+{
+    enum Group
+    {
+        SHARED,
+        KEYED
+    }
+
+    private final ReentrantLock stateLock = new ReentrantLock();
+    private final Condition stateChanged = stateLock.newCondition();
+    private final int[] holders = new int[Group.values().length];
+    private final int[] waiting = new int[Group.values().length];
+    private final ThreadLocal<int[]> ownHolds = ThreadLocal.withInitial(() -> new int[Group.values().length]);
+    private final Lock[] views = new Lock[Group.values().length];
+    private Group turn = Group.SHARED;
+
+    GroupLock()
+    {
+        for (var group : Group.values())
+        {
+            views[group.ordinal()] = new GroupView(group);
+        }
+    }
+
+    /**
+     * @return the lock acquired by holders of given group
+     */
+    Lock get(Group group)
+    {
+        return views[group.ordinal()];
+    }
+
+    private static Group other(Group group)
+    {
+        return (group == Group.SHARED) ? Group.KEYED : Group.SHARED;
+    }
+
+    private boolean isHeldByCurrentThread()
+    {
+        var holds = ownHolds.get();
+        return holds[Group.SHARED.ordinal()] > 0 || holds[Group.KEYED.ordinal()] > 0;
+    }
+
+    private boolean canEnter(Group group)
+    {
+        var other = other(group).ordinal();
+        return holders[other] == 0 && (waiting[other] == 0 || turn == group);
+    }
+
+    /**
+     * @param timeoutNanos maximum waiting time, or a negative value to wait without timeout
+     * @return true if the lock was acquired
+     */
+    private boolean acquire(Group group, long timeoutNanos) throws InterruptedException
+    {
+        var nanos = timeoutNanos;
+        stateLock.lockInterruptibly();
+        try
+        {
+            if (!isHeldByCurrentThread() && !canEnter(group))
+            {
+                ++waiting[group.ordinal()];
+                try
+                {
+                    while (!canEnter(group))
+                    {
+                        // While the other group is active, the next turn belongs to the waiting group
+                        if (holders[other(group).ordinal()] > 0)
+                        {
+                            turn = group;
+                        }
+
+                        if (timeoutNanos < 0)
+                        {
+                            stateChanged.await();
+                        }
+                        else if (nanos <= 0)
+                        {
+                            return false;
+                        }
+                        else
+                        {
+                            nanos = stateChanged.awaitNanos(nanos);
+                        }
+                    }
+                }
+                finally
+                {
+                    --waiting[group.ordinal()];
+                    // A thread giving up might have blocked new threads of the active group
+                    stateChanged.signalAll();
+                }
+            }
+
+            ++holders[group.ordinal()];
+            ++ownHolds.get()[group.ordinal()];
+            return true;
+        }
+        finally
+        {
+            stateLock.unlock();
+        }
+    }
+
+    private void release(Group group)
+    {
+        stateLock.lock();
+        try
+        {
+            var holds = ownHolds.get();
+            if (holds[group.ordinal()] == 0)
+            {
+                throw new IllegalMonitorStateException("Lock of group " + group + " is not held by current thread");
+            }
+
+            --holds[group.ordinal()];
+            if (--holders[group.ordinal()] == 0)
+            {
+                turn = other(group);
+                stateChanged.signalAll();
+            }
+        }
+        finally
+        {
+            stateLock.unlock();
+        }
+    }
+
+    private final class GroupView implements Lock
+    {
+        private final Group group;
+
+        GroupView(Group group)
+        {
+            this.group = group;
+        }
+
+        @Override
+        public void lock()
+        {
+            var interrupted = false;
+            while (true)
+            {
+                try
+                {
+                    acquire(group, -1);
+                    break;
+                }
+                catch (InterruptedException e)
+                {
+                    interrupted = true;
+                }
+            }
+
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException
+        {
+            acquire(group, -1);
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            stateLock.lock();
+            try
+            {
+                if (!isHeldByCurrentThread() && !canEnter(group))
+                {
+                    return false;
+                }
+
+                ++holders[group.ordinal()];
+                ++ownHolds.get()[group.ordinal()];
+                return true;
+            }
+            finally
+            {
+                stateLock.unlock();
+            }
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException
+        {
+            return acquire(group, Math.max(unit.toNanos(time), 0));
+        }
+
+        @Override
+        public void unlock()
+        {
+            release(group);
+        }
+
+        @Override
+        public Condition newCondition()
+        {
+            throw new UnsupportedOperationException("Conditions are not supported by a GroupLock");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram with buckets of exponentially growing size. Bucket {@code i} counts all values in range
+ * [2^(i-1), 2^i) nanoseconds. Recording a value does not allocate any memory.
+ */
+final class LatencyHistogram
+{
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long nanos)
+    {
+        var value = Math.max(nanos, 0);
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value));
+        count.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    LatencyStatistics getLatencyStatistics()
+    {
+        var snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; ++i)
+        {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+
+        return new LatencyStatistics(
+                total,
+                (total == 0) ? 0 : totalNanos.get() / total,
+                getPercentile(snapshot, total, 0.5),
+                getPercentile(snapshot, total, 0.99),
+                getPercentile(snapshot, total, 0.999),
+                maxNanos.get(),
+                snapshot
+        );
+    }
+
+    long getCount()
+    {
+        return count.get();
+    }
+
+    long getTotalNanos()
+    {
+        return totalNanos.get();
+    }
+
+    private static long getUpperBound(int bucket)
+    {
+        if (bucket == 0)
+        {
+            return 0;
+        }
+
+        return (bucket < BUCKETS - 1) ? (1L << bucket) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the upper bound of the bucket which includes the requested percentile
+     */
+    private static long getPercentile(long[] snapshot, long total, double percentile)
+    {
+        if (total == 0)
+        {
+            return 0;
+        }
+
+        var rank = (long) Math.ceil(total * percentile);
+        long current = 0;
+        for (int i = 0; i < snapshot.length; ++i)
+        {
+            current += snapshot[i];
+            if (current >= rank)
+            {
+                return getUpperBound(i);
+            }
+        }
+        return getUpperBound(snapshot.length - 1);
+    }
+}
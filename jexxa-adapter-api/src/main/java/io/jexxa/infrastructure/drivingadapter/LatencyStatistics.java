@@ -0,0 +1,81 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+/**
+ * Immutable snapshot of a latency distribution. All values are given in nanoseconds. Percentiles are
+ * approximated by the upper bound of the corresponding histogram bucket. The histogram itself is available via
+ * {@link #getCountBelow(int)}.
+ */
+public final class LatencyStatistics
+{
+    private final long count;
+    private final long meanNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+    private final transient long[] buckets;
+
+    @SuppressWarnings("java:S107") // A snapshot includes all values of a histogram
+    LatencyStatistics(long count, long meanNanos, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos, long[] buckets)
+    {
+        this.count = count;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maxNanos = maxNanos;
+        this.buckets = buckets;
+    }
+
+    public long getCount()
+    {
+        return count;
+    }
+
+    public long getMeanNanos()
+    {
+        return meanNanos;
+    }
+
+    public long getP50Nanos()
+    {
+        return p50Nanos;
+    }
+
+    public long getP99Nanos()
+    {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos()
+    {
+        return p999Nanos;
+    }
+
+    public long getMaxNanos()
+    {
+        return maxNanos;
+    }
+
+    /**
+     * Returns the number of recorded values below 2^exponent nanoseconds, e.g., {@code getCountBelow(20)} returns the
+     * number of values below 1.048576 ms. The result is exact because the buckets of the underlying histogram are
+     * bounded by powers of two.
+     *
+     * @param exponent of the upper bound in range [0, 63)
+     */
+    public long getCountBelow(int exponent)
+    {
+        if (exponent < 0 || exponent >= buckets.length - 1)
+        {
+            throw new IllegalArgumentException("Exponent must be in range [0, " + (buckets.length - 1) + ")");
+        }
+
+        long result = 0;
+        for (int i = 0; i <= exponent; ++i)
+        {
+            result += buckets[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,33 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+/**
+ * Immutable snapshot of a call that currently holds a lock of a port.
+ */
+public final class LockHolder
+{
+    private final String name;
+    private final String thread;
+    private final long holdTimeNanos;
+
+    LockHolder(String name, String thread, long holdTimeNanos)
+    {
+        this.name = name;
+        this.thread = thread;
+        this.holdTimeNanos = holdTimeNanos;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public String getThread()
+    {
+        return thread;
+    }
+
+    public long getHoldTimeNanos()
+    {
+        return holdTimeNanos;
+    }
+}
@@ -0,0 +1,22 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the parameter of a method that identifies the aggregate on which the method operates, such as an ISBN13
+ * of a book. The method is then executed with {@link ConcurrencyPolicy.Policy#KEYED} so that only calls using an
+ * equal key are serialized.
+ *
+ * The parameter must provide meaningful implementations of {@code equals} and {@code hashCode}, which is typically
+ * true for value objects.
+ */
+@Target({ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LockKey
+{
+}
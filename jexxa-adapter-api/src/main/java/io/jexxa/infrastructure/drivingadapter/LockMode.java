@@ -0,0 +1,21 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+/**
+ * Defines how {@link SynchronizationFacade} acquires the lock that is selected by {@link SynchronizationMode}.
+ */
+public enum LockMode
+{
+    /**
+     * Each call acquires the lock exclusively. This is the default mode.
+     */
+    EXCLUSIVE,
+
+    /**
+     * Queries acquire the lock in shared mode so that they can be executed concurrently. All other calls acquire the
+     * lock exclusively. A query is a method that returns a value and has no arguments. This corresponds to
+     * methods that are offered as GET methods by a RESTfulRPCAdapter.
+     *
+     * Note: Only use this mode if your queries do not change the state of your application core.
+     */
+    READ_WRITE
+}
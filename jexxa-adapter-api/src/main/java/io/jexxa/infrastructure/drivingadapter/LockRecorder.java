@@ -0,0 +1,161 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the wait and hold time of all calls to a single port method. In addition, it tracks which thread
+ * currently holds a lock, so that the longest current lock holder can be determined.
+ *
+ * Recording a call does not allocate any memory.
+ */
+final class LockRecorder
+{
+    private static final Map<Object, LockRecorder> RECORDERS = new ConcurrentHashMap<>();
+    private static final Set<HolderSlot> HOLDER_SLOTS = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<HolderSlot> HOLDER_SLOT = ThreadLocal.withInitial(LockRecorder::newHolderSlot);
+
+    // If this number of holder slots is exceeded, slots of terminated threads are removed
+    private static final int MAX_HOLDER_SLOTS = 1024;
+
+    private final String name;
+    private final Object port;
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram holdTime = new LatencyHistogram();
+
+    private LockRecorder(String name, Object port)
+    {
+        this.name = name;
+        this.port = port;
+    }
+
+    static LockRecorder of(Method method, Object port)
+    {
+        var recorder = RECORDERS.get(method);
+        if (recorder == null)
+        {
+            recorder = RECORDERS.computeIfAbsent(method,
+                    key -> new LockRecorder(method.getDeclaringClass().getSimpleName() + "." + method.getName(), port));
+        }
+        return recorder;
+    }
+
+    static LockRecorder of(Object port)
+    {
+        var recorder = RECORDERS.get(port.getClass());
+        if (recorder == null)
+        {
+            recorder = RECORDERS.computeIfAbsent(port.getClass(), key -> new LockRecorder(port.getClass().getSimpleName(), port));
+        }
+        return recorder;
+    }
+
+    static Collection<LockRecorder> getLockRecorders()
+    {
+        return new ArrayList<>(RECORDERS.values());
+    }
+
+    static Optional<LockHolder> getLongestLockHolder()
+    {
+        var currentTime = System.nanoTime();
+        HolderSlot longestHolder = null;
+        long longestHoldTime = -1;
+
+        for (var holderSlot : HOLDER_SLOTS)
+        {
+            var recorder = holderSlot.recorder;
+            var holdTime = currentTime - holderSlot.since;
+            if (recorder != null && holdTime > longestHoldTime)
+            {
+                longestHolder = holderSlot;
+                longestHoldTime = holdTime;
+            }
+        }
+
+        if (longestHolder == null)
+        {
+            return Optional.empty();
+        }
+
+        return Optional.of(new LockHolder(longestHolder.recorder.name, longestHolder.thread.getName(), longestHoldTime));
+    }
+
+    /**
+     * Records that a lock was acquired
+     *
+     * @param requestTime point in time (see {@link System#nanoTime()}) when the lock was requested
+     * @param acquireTime point in time (see {@link System#nanoTime()}) when the lock was acquired
+     */
+    void acquired(long requestTime, long acquireTime)
+    {
+        waitTime.record(acquireTime - requestTime);
+
+        // A nested call, such as a call within a batch, does not replace the outermost holder of the lock
+        var holderSlot = HOLDER_SLOT.get();
+        if (holderSlot.depth++ == 0)
+        {
+            holderSlot.since = acquireTime;
+            holderSlot.recorder = this;
+        }
+    }
+
+    /**
+     * Records that a lock was released
+     *
+     * @param acquireTime point in time (see {@link System#nanoTime()}) when the lock was acquired
+     */
+    void released(long acquireTime)
+    {
+        holdTime.record(System.nanoTime() - acquireTime);
+
+        var holderSlot = HOLDER_SLOT.get();
+        if (--holderSlot.depth == 0)
+        {
+            holderSlot.recorder = null;
+        }
+    }
+
+    Object getPort()
+    {
+        return port;
+    }
+
+    LockStatistics getLockStatistics(int queueLength)
+    {
+        return new LockStatistics(name, queueLength, waitTime.getLatencyStatistics(), holdTime.getLatencyStatistics());
+    }
+
+    private static HolderSlot newHolderSlot()
+    {
+        if (HOLDER_SLOTS.size() > MAX_HOLDER_SLOTS)
+        {
+            HOLDER_SLOTS.removeIf(element -> !element.thread.isAlive());
+        }
+
+        var holderSlot = new HolderSlot(Thread.currentThread());
+        HOLDER_SLOTS.add(holderSlot);
+        return holderSlot;
+    }
+
+    /**
+     * Describes which lock is currently held by a specific thread
+     */
+    private static final class HolderSlot
+    {
+        private final Thread thread;
+        private volatile LockRecorder recorder;
+        private volatile long since;
+        // Number of nested locks held by the thread. Only accessed by the thread itself
+        private int depth;
+
+        HolderSlot(Thread thread)
+        {
+            this.thread = thread;
+        }
+    }
+}
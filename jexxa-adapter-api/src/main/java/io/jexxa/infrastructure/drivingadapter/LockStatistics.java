@@ -0,0 +1,46 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+/**
+ * Immutable snapshot of the synchronization statistics of a single port method.
+ *
+ * <ul>
+ * <li> waitTime: Time between requesting and acquiring the lock (or the time a call waits in the mailbox of a port) </li>
+ * <li> holdTime: Time the lock is held, which corresponds to the execution time of the method </li>
+ * <li> queueLength: Number of calls that currently wait for the port of this method </li>
+ * </ul>
+ */
+public final class LockStatistics
+{
+    private final String name;
+    private final int queueLength;
+    private final LatencyStatistics waitTime;
+    private final LatencyStatistics holdTime;
+
+    LockStatistics(String name, int queueLength, LatencyStatistics waitTime, LatencyStatistics holdTime)
+    {
+        this.name = name;
+        this.queueLength = queueLength;
+        this.waitTime = waitTime;
+        this.holdTime = holdTime;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public int getQueueLength()
+    {
+        return queueLength;
+    }
+
+    public LatencyStatistics getWaitTime()
+    {
+        return waitTime;
+    }
+
+    public LatencyStatistics getHoldTime()
+    {
+        return holdTime;
+    }
+}
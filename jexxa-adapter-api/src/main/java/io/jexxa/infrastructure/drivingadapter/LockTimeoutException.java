@@ -0,0 +1,25 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+import java.time.Duration;
+
+/**
+ * Is thrown by {@link SynchronizationFacade} if a call could not acquire the lock of a port within the configured
+ * lock timeout. In this case the call was not executed, so that a driving adapter can safely reject or retry it.
+ */
+public class LockTimeoutException extends RuntimeException
+{
+    private static final long serialVersionUID = 1L;
+
+    private final transient Duration lockTimeout;
+
+    public LockTimeoutException(String message, Duration lockTimeout)
+    {
+        super(message);
+        this.lockTimeout = lockTimeout;
+    }
+
+    public Duration getLockTimeout()
+    {
+        return lockTimeout;
+    }
+}
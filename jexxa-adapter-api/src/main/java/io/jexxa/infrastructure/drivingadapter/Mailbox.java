@@ -0,0 +1,75 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A mailbox owns a single dedicated thread that executes all calls to a port in the order they are submitted.
+ * Calls that are queued while the thread is busy are processed as a batch, so that no lock handoff is required
+ * between them.
+ */
+final class Mailbox
+{
+    private final BlockingQueue<FutureTask<?>> queue = new LinkedBlockingQueue<>();
+    private final List<FutureTask<?>> batch = new ArrayList<>();
+    private final Thread thread;
+
+    Mailbox(String name)
+    {
+        thread = new Thread(this::processMessages, "Mailbox-" + name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    <T> Future<T> submit(Callable<T> callable)
+    {
+        var futureTask = new FutureTask<>(callable);
+
+        // Calls from the mailbox thread itself must not be queued because this would cause a deadlock
+        if (isMailboxThread())
+        {
+            futureTask.run();
+        }
+        else
+        {
+            queue.add(futureTask);
+        }
+
+        return futureTask;
+    }
+
+    int size()
+    {
+        return queue.size();
+    }
+
+    boolean isMailboxThread()
+    {
+        return Thread.currentThread() == thread;
+    }
+
+    private void processMessages()
+    {
+        try
+        {
+            //noinspection InfiniteLoopStatement
+            while (true)
+            {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+
+                batch.forEach(FutureTask::run);
+                batch.clear();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Invokes a method of a port via a {@link MethodHandle} that is resolved only once per method. Compared to
+ * {@link Method#invoke(Object, Object...)}, access checks are performed when the invoker is created instead of
+ * on each call.
+ * <br>
+ * A driving adapter should create the invokers for all exposed methods when it registers a port, so that no
+ * invoker is created while handling an incoming request.
+ * <br>
+ * The invocation has the same semantics as {@link Method#invoke(Object, Object...)}: Any exception thrown by the
+ * invoked method is wrapped into an {@link InvocationTargetException}. If the method cannot be accessed via a
+ * {@link MethodHandle} or given arguments require a conversion, the reflective API is used.
+ */
+public final class MethodInvoker
+{
+    private static final Map<Method, MethodInvoker> METHOD_INVOKERS = new ConcurrentHashMap<>();
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final Method method;
+    private final MethodHandle methodHandle;
+    private final Class<?>[] argumentTypes;
+    private final boolean[] primitiveArguments;
+    private final boolean staticMethod;
+
+    /**
+     * Returns the invoker for given method. Invokers are cached so that each method is resolved only once.
+     *
+     * @param method for which the invoker is requested. Must not be null
+     * @return invoker of the method
+     */
+    public static MethodInvoker of(Method method)
+    {
+        Objects.requireNonNull(method, "Method in MethodInvoker must not be null ");
+
+        var methodInvoker = METHOD_INVOKERS.get(method);
+        if (methodInvoker != null)
+        {
+            return methodInvoker;
+        }
+
+        return METHOD_INVOKERS.computeIfAbsent(method, MethodInvoker::new);
+    }
+
+    public Method getMethod()
+    {
+        return method;
+    }
+
+    /**
+     * Invokes the method on given object.
+     *
+     * @param object on which the method is called
+     * @param args arguments of the method
+     * @return result of the method or null if the method returns void
+     * @throws InvocationTargetException if the invoked method throws an exception
+     * @throws IllegalAccessException if the method cannot be accessed
+     */
+    @SuppressWarnings("java:S1181") // We have to catch Throwable to provide the same semantic as Method.invoke
+    public Object invoke(Object object, Object[] args) throws InvocationTargetException, IllegalAccessException
+    {
+        if (methodHandle == null || !isApplicable(object, args))
+        {
+            // Let the reflective API perform required conversions or report invalid arguments
+            return method.invoke(object, args);
+        }
+
+        try
+        {
+            return (Object) methodHandle.invokeExact(object, args);
+        }
+        catch (Throwable e)
+        {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Returns true if given arguments can be passed to the method handle without any conversion
+     */
+    private boolean isApplicable(Object object, Object[] args)
+    {
+        if (!staticMethod && !method.getDeclaringClass().isInstance(object))
+        {
+            return false;
+        }
+
+        if (args == null)
+        {
+            return argumentTypes.length == 0;
+        }
+
+        if (args.length != argumentTypes.length)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < args.length; ++i)
+        {
+            if (args[i] == null)
+            {
+                if (primitiveArguments[i])
+                {
+                    return false;
+                }
+            }
+            else if (primitiveArguments[i] ? args[i].getClass() != argumentTypes[i] : !argumentTypes[i].isInstance(args[i]))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static MethodHandle createMethodHandle(Method method)
+    {
+        try
+        {
+            var methodHandle = MethodHandles.publicLookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers()))
+            {
+                methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+            }
+
+            return methodHandle
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(INVOKER_TYPE);
+        }
+        catch (IllegalAccessException e)
+        {
+            // For example, a public method of a non-public class. In this case we use the reflective API
+            return null;
+        }
+    }
+
+    private MethodInvoker(Method method)
+    {
+        this.method = method;
+        this.methodHandle = createMethodHandle(method);
+        this.staticMethod = Modifier.isStatic(method.getModifiers());
+
+        var parameterTypes = method.getParameterTypes();
+        this.argumentTypes = new Class<?>[parameterTypes.length];
+        this.primitiveArguments = new boolean[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; ++i)
+        {
+            primitiveArguments[i] = parameterTypes[i].isPrimitive();
+            argumentTypes[i] = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+        }
+    }
+}
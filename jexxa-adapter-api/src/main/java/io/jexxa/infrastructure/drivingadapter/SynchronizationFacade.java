@@ -2,15 +2,73 @@ package io.jexxa.infrastructure.drivingadapter;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import io.jexxa.infrastructure.drivingadapter.ConcurrencyPolicy.Policy;
+import io.jexxa.infrastructure.synchronization.ConcurrentUpdateException;
+import io.jexxa.infrastructure.synchronization.InvocationListener;
 
 public class SynchronizationFacade
 {
-    private static final Object GLOBAL_SYNCHRONIZATION_OBJECT = new Object();
+    public static final String SYNCHRONIZATION_MODE = "io.jexxa.synchronization.mode";
+    public static final String LOCK_MODE = "io.jexxa.synchronization.lock_mode";
+    public static final String LOCK_TIMEOUT = "io.jexxa.synchronization.lock_timeout";
+    public static final String MAX_RETRIES = "io.jexxa.synchronization.max_retries";
+
+    private static final ReentrantReadWriteLock GLOBAL_LOCK = new ReentrantReadWriteLock();
+    private static final Map<Class<?>, ReentrantReadWriteLock> PORT_LOCKS = new ConcurrentHashMap<>();
+    private static final GroupLock GLOBAL_GROUP_LOCK = new GroupLock();
+    private static final Map<Class<?>, GroupLock> PORT_GROUP_LOCKS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Mailbox> MAILBOXES = new ConcurrentHashMap<>();
+    // Type of a registered port adapter mapped to the type of its port
+    private static final Map<Class<?>, Class<?>> PORT_TYPES = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Optional<Policy>> PORT_POLICIES = new ConcurrentHashMap<>();
+    private static final Map<Method, Optional<Policy>> METHOD_POLICIES = new ConcurrentHashMap<>();
+    private static final Map<Method, Integer> KEY_PARAMETERS = new ConcurrentHashMap<>();
+
+    // Number of locks used for KEYED calls. Must be a power of two
+    private static final int KEY_LOCK_STRIPES = 64;
+    private static final Lock[] KEY_LOCKS = createKeyLocks();
+
+    private static final int DEFAULT_MAX_RETRIES = 3;
+
+    private static volatile SynchronizationMode synchronizationMode = SynchronizationMode.GLOBAL;
+    private static volatile LockMode lockMode = LockMode.EXCLUSIVE;
+    private static volatile Duration lockTimeout = Duration.ZERO;
+    private static volatile int maxRetries = DEFAULT_MAX_RETRIES;
+
+    private static final List<InvocationListener> INVOCATION_LISTENERS = new CopyOnWriteArrayList<>();
+    // Number of nested calls of the current thread. Listeners are only notified about the outermost call
+    private static final ThreadLocal<int[]> INVOCATION_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static final LongAdder SHED_REQUESTS = new LongAdder();
+    private static final LongAdder CONFLICTS = new LongAdder();
 
     /**
      * This method performs a synchronized method invocation on given method. Note: If this method is not used by a driving adapter it must
-     * use return value {@link #getSynchronizationObject()} to synchronize method invocation on a port.
+     * use {@link #execute(Object, Runnable)} to synchronize method invocation on a port.
      *
      * @param method Method that should be called. Must not be null
      * @param object concrete instance of the object on which the method should be called
@@ -18,27 +76,946 @@ public class SynchronizationFacade
      * @return result of the method
      * @throws InvocationTargetException forwards exception from Java's reflective API because it cannot be handled here in a meaningful way
      * @throws IllegalAccessException forwards exception from Java's reflective API because it cannot be handled here in a meaningful way
+     * @throws LockTimeoutException if the lock of the port could not be acquired within the configured lock timeout
      */
     public Object invoke(Method method, Object object, Object[] args ) throws InvocationTargetException, IllegalAccessException
     {
         Objects.requireNonNull(method, "Method in SynchronizationFacade must not be null ");
+
+        return invoke(MethodInvoker.of(method), object, args);
+    }
+
+    /**
+     * This method performs a synchronized method invocation via given {@link MethodInvoker}. Driving adapters should
+     * create the invokers when registering a port and use this method to avoid resolving the method on each call.
+     *
+     * @param methodInvoker of the method that should be called. Must not be null
+     * @param object concrete instance of the object on which the method should be called
+     * @param args attributes
+     * @return result of the method
+     * @throws InvocationTargetException if the called method throws an exception
+     * @throws IllegalAccessException if the called method cannot be accessed
+     * @throws LockTimeoutException if the lock of the port could not be acquired within the configured lock timeout
+     */
+    public Object invoke(MethodInvoker methodInvoker, Object object, Object[] args ) throws InvocationTargetException, IllegalAccessException
+    {
+        return invoke(methodInvoker, object, args, UnaryOperator.identity());
+    }
+
+    /**
+     * This method performs a synchronized method invocation as {@link #invoke(MethodInvoker, Object, Object[])} and
+     * applies given resultHandler to the result before the lock is released. A driving adapter must use this method to
+     * consume a result that reads the state of the port lazily, such as a {@link java.util.stream.Stream}.
+     *
+     * @param methodInvoker of the method that should be called. Must not be null
+     * @param object concrete instance of the object on which the method should be called
+     * @param args attributes
+     * @param resultHandler is applied to the result of the method while the lock is held. Must not be null
+     * @return value returned by the resultHandler
+     * @throws InvocationTargetException if the called method throws an exception
+     * @throws IllegalAccessException if the called method cannot be accessed
+     * @throws LockTimeoutException if the lock of the port could not be acquired within the configured lock timeout
+     */
+    public Object invoke(MethodInvoker methodInvoker, Object object, Object[] args, UnaryOperator<Object> resultHandler) throws InvocationTargetException, IllegalAccessException
+    {
+        Objects.requireNonNull(methodInvoker, "MethodInvoker in SynchronizationFacade must not be null ");
         Objects.requireNonNull(object, "Object in SynchronizationFacade must not be null ");
         Objects.requireNonNull(args, "Args in SynchronizationFacade must not be null ");
+        Objects.requireNonNull(resultHandler, "ResultHandler in SynchronizationFacade must not be null ");
+
+        var method = methodInvoker.getMethod();
+        var policy = getPolicy(object, method);
+        if (policy == Policy.UNSYNCHRONIZED)
+        {
+            return invokeInScope(methodInvoker, object, args, resultHandler);
+        }
+
+        var lockRecorder = LockRecorder.of(method, object);
+        var requestTime = System.nanoTime();
+
+        if (synchronizationMode == SynchronizationMode.OPTIMISTIC)
+        {
+            return invokeOptimistic(methodInvoker, object, args, resultHandler, lockRecorder, requestTime);
+        }
+
+        if (synchronizationMode == SynchronizationMode.MAILBOX)
+        {
+            return await(getMailbox(object).submit(() -> {
+                var acquireTime = System.nanoTime();
+                lockRecorder.acquired(requestTime, acquireTime);
+                try
+                {
+                    return invokeInScope(methodInvoker, object, args, resultHandler);
+                }
+                finally
+                {
+                    lockRecorder.released(acquireTime);
+                }
+            }));
+        }
+
+        var locks = getLocks(object, policy);
+        if (policy == Policy.KEYED)
+        {
+            locks.add(getKeyLock(method, args));
+        }
+
+        acquire(locks, object);
+        try
+        {
+            var acquireTime = System.nanoTime();
+            lockRecorder.acquired(requestTime, acquireTime);
+            try
+            {
+                return invokeInScope(methodInvoker, object, args, resultHandler);
+            }
+            finally
+            {
+                lockRecorder.released(acquireTime);
+            }
+        }
+        finally
+        {
+            release(locks);
+        }
+    }
+
+    /**
+     * If a driving adapter does not use {@link #invoke(Method, Object, Object[])} to call a method on a port
+     * it must use this method to synchronize the call. The command is executed with an exclusive lock unless the port
+     * defines another {@link ConcurrencyPolicy}.
+     *
+     * @param port on which the command operates. Must not be null
+     * @param command that calls the port. Must not be null
+     * @throws LockTimeoutException if the lock of the port could not be acquired within the configured lock timeout
+     */
+    public void execute(Object port, Runnable command)
+    {
+        Objects.requireNonNull(port, "Port in SynchronizationFacade must not be null ");
+        Objects.requireNonNull(command, "Command in SynchronizationFacade must not be null ");
+
+        var policy = getPolicy(port);
+        if (policy == Policy.UNSYNCHRONIZED)
+        {
+            runInScope(command);
+            return;
+        }
+
+        var lockRecorder = LockRecorder.of(port);
+        var requestTime = System.nanoTime();
+
+        if (synchronizationMode == SynchronizationMode.OPTIMISTIC)
+        {
+            executeOptimistic(command, lockRecorder, requestTime);
+            return;
+        }
+
+        if (synchronizationMode == SynchronizationMode.MAILBOX)
+        {
+            awaitCommand(getMailbox(port).submit(() -> {
+                var acquireTime = System.nanoTime();
+                lockRecorder.acquired(requestTime, acquireTime);
+                try
+                {
+                    runInScope(command);
+                    return null;
+                }
+                finally
+                {
+                    lockRecorder.released(acquireTime);
+                }
+            }));
+            return;
+        }
+
+        var locks = getLocks(port, policy);
+        acquire(locks, port);
+        var acquireTime = System.nanoTime();
+        lockRecorder.acquired(requestTime, acquireTime);
+        try
+        {
+            runInScope(command);
+        }
+        finally
+        {
+            lockRecorder.released(acquireTime);
+            release(locks);
+        }
+    }
+
+    /**
+     * Executes given command while holding the exclusive locks of all given ports, so that a driving adapter can
+     * perform several calls with a single lock acquisition. Calls to {@link #invoke(MethodInvoker, Object, Object[])}
+     * within the command acquire the locks again, which succeeds immediately because the locks are reentrant.
+     * <br>
+     * In {@link SynchronizationMode#MAILBOX} and {@link SynchronizationMode#OPTIMISTIC} no lock is acquired, so that
+     * each call within the command is synchronized on its own.
+     *
+     * @param ports on which the command operates. Must not be null
+     * @param command that calls the ports. Must not be null
+     * @throws LockTimeoutException if a lock could not be acquired within the configured lock timeout
+     */
+    public void execute(Collection<?> ports, Runnable command)
+    {
+        Objects.requireNonNull(ports, "Ports in SynchronizationFacade must not be null ");
+        Objects.requireNonNull(command, "Command in SynchronizationFacade must not be null ");
+
+        if (synchronizationMode == SynchronizationMode.MAILBOX || synchronizationMode == SynchronizationMode.OPTIMISTIC)
+        {
+            command.run();
+            return;
+        }
+
+        // Locks are always acquired in the same order to avoid a deadlock between concurrent calls of this method
+        var lockedPorts = new TreeMap<String, Object>();
+        ports.forEach(port -> lockedPorts.putIfAbsent(getLockName(port), port));
+
+        if (lockedPorts.isEmpty())
+        {
+            command.run();
+            return;
+        }
+
+        // The locks are recorded as held by the first port, so that the command is visible as lock holder
+        var lockRecorder = LockRecorder.of(lockedPorts.firstEntry().getValue());
+        var requestTime = System.nanoTime();
+        var acquiredLocks = new ArrayList<Lock>();
+        try
+        {
+            for (var port : lockedPorts.values())
+            {
+                var lock = getReadWriteLock(port).writeLock();
+                acquire(lock, port);
+                acquiredLocks.add(lock);
+            }
+
+            var acquireTime = System.nanoTime();
+            lockRecorder.acquired(requestTime, acquireTime);
+            try
+            {
+                runInScope(command);
+            }
+            finally
+            {
+                lockRecorder.released(acquireTime);
+            }
+        }
+        finally
+        {
+            acquiredLocks.forEach(Lock::unlock);
+        }
+    }
+
+    /**
+     * Returns the number of calls that currently wait to be executed on given port. Depending on the
+     * {@link SynchronizationMode} this is either the number of threads waiting for the lock or the number of calls
+     * in the mailbox of the port.
+     *
+     * This method only reads the current state, so that it neither creates the lock nor the mailbox of a port.
+     *
+     * @param port for which the queue length is requested. Must not be null
+     * @return number of waiting calls, or 0 if the port has not been called in the current mode. This is an estimate intended for monitoring purpose
+     */
+    public static int getQueueLength(Object port)
+    {
+        Objects.requireNonNull(port, "Port in SynchronizationFacade must not be null ");
+
+        var portType = getPortType(port.getClass());
+
+        if (synchronizationMode == SynchronizationMode.MAILBOX)
+        {
+            var mailbox = MAILBOXES.get(portType);
+            return (mailbox == null) ? 0 : mailbox.size();
+        }
+
+        var readWriteLock = (synchronizationMode == SynchronizationMode.PER_PORT) ? PORT_LOCKS.get(portType) : GLOBAL_LOCK;
+        return (readWriteLock == null) ? 0 : readWriteLock.getQueueLength();
+    }
+
+    /**
+     * Returns the synchronization statistics of all port methods that have been called so far.
+     *
+     * @return list of statistics including wait time, hold time and current queue length of each port method
+     */
+    public static List<LockStatistics> getLockStatistics()
+    {
+        return LockRecorder.getLockRecorders()
+                .stream()
+                .map(element -> element.getLockStatistics(getQueueLength(element.getPort())))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Returns the call that currently holds a lock for the longest time.
+     *
+     * @return the longest current lock holder or an empty Optional if no lock is currently held
+     */
+    public static Optional<LockHolder> getLongestLockHolder()
+    {
+        return LockRecorder.getLongestLockHolder();
+    }
+
+    /**
+     * Configures the scope of the lock used to synchronize incoming calls. This method must be called before
+     * any driving adapter is started.
+     *
+     * @param synchronizationMode scope of the lock. Must not be null
+     */
+    public static void setSynchronizationMode(SynchronizationMode synchronizationMode)
+    {
+        Objects.requireNonNull(synchronizationMode, "SynchronizationMode must not be null ");
+        SynchronizationFacade.synchronizationMode = synchronizationMode;
+    }
+
+    public static SynchronizationMode getSynchronizationMode()
+    {
+        return synchronizationMode;
+    }
+
+    /**
+     * Configures if queries can be executed concurrently. This method must be called before
+     * any driving adapter is started.
+     *
+     * @param lockMode defines how a lock is acquired. Must not be null
+     */
+    public static void setLockMode(LockMode lockMode)
+    {
+        Objects.requireNonNull(lockMode, "LockMode must not be null ");
+        SynchronizationFacade.lockMode = lockMode;
+    }
+
+    public static LockMode getLockMode()
+    {
+        return lockMode;
+    }
+
+    /**
+     * Configures the maximum time a call waits for the lock of a port. If the lock cannot be acquired in time,
+     * a {@link LockTimeoutException} is thrown and the call is not executed. This method must be called before
+     * any driving adapter is started.
+     *
+     * @param lockTimeout maximum waiting time. {@link Duration#ZERO} disables the timeout, which is the default. Must not be null or negative
+     */
+    public static void setLockTimeout(Duration lockTimeout)
+    {
+        Objects.requireNonNull(lockTimeout, "LockTimeout must not be null ");
+        if (lockTimeout.isNegative())
+        {
+            throw new IllegalArgumentException("LockTimeout must not be negative");
+        }
+        SynchronizationFacade.lockTimeout = lockTimeout;
+    }
+
+    public static Duration getLockTimeout()
+    {
+        return lockTimeout;
+    }
+
+    /**
+     * @return number of calls that were rejected because they could not acquire a lock within the configured lock timeout
+     */
+    public static long getShedRequests()
+    {
+        return SHED_REQUESTS.sum();
+    }
+
+    /**
+     * Configures how often a call is retried in {@link SynchronizationMode#OPTIMISTIC} if it fails due to a
+     * {@link ConcurrentUpdateException}. The entire call is executed again, including side effects performed
+     * before the conflict such as sending a message. This method must be called before any driving adapter is started.
+     *
+     * @param maxRetries maximum number of retries. Must not be negative. Default is 3
+     */
+    public static void setMaxRetries(int maxRetries)
+    {
+        if (maxRetries < 0)
+        {
+            throw new IllegalArgumentException("MaxRetries must not be negative");
+        }
+        SynchronizationFacade.maxRetries = maxRetries;
+    }
+
+    public static int getMaxRetries()
+    {
+        return maxRetries;
+    }
+
+    /**
+     * @return number of calls that failed due to a {@link ConcurrentUpdateException} in {@link SynchronizationMode#OPTIMISTIC}, including the retried ones
+     */
+    public static long getConflicts()
+    {
+        return CONFLICTS.sum();
+    }
+
+    /**
+     * Configures the synchronization by the following properties. A setting whose property is not defined is not changed.
+     * <ul>
+     *   <li>{@value #SYNCHRONIZATION_MODE}: Name of a {@link SynchronizationMode}, e.g. {@code PER_PORT}</li>
+     *   <li>{@value #LOCK_MODE}: Name of a {@link LockMode}, e.g. {@code READ_WRITE}</li>
+     *   <li>{@value #LOCK_TIMEOUT}: Lock timeout in milliseconds, see {@link #setLockTimeout(Duration)}</li>
+     *   <li>{@value #MAX_RETRIES}: Maximum number of retries, see {@link #setMaxRetries(int)}</li>
+     * </ul>
+     * This method must be called before any driving adapter is started.
+     *
+     * @param properties Properties of the application. Must not be null
+     * @throws IllegalArgumentException if a property has an invalid value
+     */
+    public static void configure(Properties properties)
+    {
+        Objects.requireNonNull(properties, "Properties must not be null ");
+
+        getProperty(properties, SYNCHRONIZATION_MODE)
+                .ifPresent(value -> setSynchronizationMode(parseEnum(SynchronizationMode.class, SYNCHRONIZATION_MODE, value)));
+        getProperty(properties, LOCK_MODE)
+                .ifPresent(value -> setLockMode(parseEnum(LockMode.class, LOCK_MODE, value)));
+        getProperty(properties, LOCK_TIMEOUT)
+                .ifPresent(value -> setLockTimeout(Duration.ofMillis(parseNonNegative(LOCK_TIMEOUT, value))));
+        getProperty(properties, MAX_RETRIES)
+                .ifPresent(value -> setMaxRetries((int) Math.min(parseNonNegative(MAX_RETRIES, value), Integer.MAX_VALUE)));
+    }
+
+    /**
+     * Registers a listener that is notified when a call of a port begins and ends, including each retry of a call.
+     *
+     * @param invocationListener that is notified. Must not be null
+     */
+    public static void addInvocationListener(InvocationListener invocationListener)
+    {
+        Objects.requireNonNull(invocationListener, "InvocationListener must not be null ");
+        INVOCATION_LISTENERS.add(invocationListener);
+    }
+
+    public static void removeInvocationListener(InvocationListener invocationListener)
+    {
+        INVOCATION_LISTENERS.remove(invocationListener);
+    }
+
+    /**
+     * Registers a port adapter, such as a JMS message listener, that forwards incoming calls to given port. Calls of the
+     * port adapter then use the same lock and mailbox as the port itself, and the port adapter inherits the
+     * {@link ConcurrencyPolicy} of the port unless it defines its own one. {@code JexxaMain} registers each port adapter
+     * that it creates. A port adapter must be registered before it is passed to a driving adapter.
+     *
+     * @param portAdapter that forwards its calls to given port. Must not be null
+     * @param port to which the calls are forwarded. Must not be null
+     * @throws IllegalArgumentException if the type of given port adapter is already registered for another type of port
+     */
+    public static void registerPortAdapter(Object portAdapter, Object port)
+    {
+        Objects.requireNonNull(portAdapter, "PortAdapter must not be null ");
+        Objects.requireNonNull(port, "Port must not be null ");
+
+        var portType = port.getClass();
+        var registeredPortType = PORT_TYPES.putIfAbsent(portAdapter.getClass(), portType);
+        if (registeredPortType != null && !registeredPortType.equals(portType))
+        {
+            throw new IllegalArgumentException("Port adapter " + portAdapter.getClass().getSimpleName() + " is already registered for port " + registeredPortType.getSimpleName());
+        }
+
+        // The policy of the port adapter might have been resolved before it was registered
+        PORT_POLICIES.remove(portAdapter.getClass());
+    }
+
+    public static void defaultSettings()
+    {
+        synchronizationMode = SynchronizationMode.GLOBAL;
+        lockMode = LockMode.EXCLUSIVE;
+        lockTimeout = Duration.ZERO;
+        maxRetries = DEFAULT_MAX_RETRIES;
+    }
+
+    private static Optional<String> getProperty(Properties properties, String key)
+    {
+        return Optional.ofNullable(properties.getProperty(key))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty());
+    }
+
+    private static <T extends Enum<T>> T parseEnum(Class<T> enumType, String key, String value)
+    {
+        try
+        {
+            return Enum.valueOf(enumType, value.toUpperCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new IllegalArgumentException("Invalid value '" + value + "' of property " + key + ". Supported values are " + Arrays.toString(enumType.getEnumConstants()), e);
+        }
+    }
+
+    private static long parseNonNegative(String key, String value)
+    {
+        try
+        {
+            var result = Long.parseLong(value);
+            if (result >= 0)
+            {
+                return result;
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Property " + key + " must be a non-negative number but is '" + value + "'");
+    }
+
+    Policy getPolicy(Object port, Method method)
+    {
+        var methodPolicy = METHOD_POLICIES.computeIfAbsent(method,
+                key -> Optional.ofNullable(key.getAnnotation(ConcurrencyPolicy.class)).map(ConcurrencyPolicy::value));
+
+        if (methodPolicy.isPresent())
+        {
+            return validateKeyed(methodPolicy.get(), method);
+        }
+
+        if (getKeyParameter(method) >= 0)
+        {
+            return Policy.KEYED;
+        }
+
+        var portPolicy = getPortPolicy(port);
+        if (portPolicy.isPresent())
+        {
+            return validateKeyed(portPolicy.get(), method);
+        }
+
+        if (isQuery(method) && lockMode == LockMode.READ_WRITE)
+        {
+            return Policy.SHARED;
+        }
+
+        return Policy.EXCLUSIVE;
+    }
+
+    Policy getPolicy(Object port)
+    {
+        var policy = getPortPolicy(port).orElse(Policy.EXCLUSIVE);
+
+        // Without a method, we cannot derive a key
+        if (policy == Policy.KEYED)
+        {
+            return Policy.EXCLUSIVE;
+        }
+
+        return policy;
+    }
 
-        synchronized (GLOBAL_SYNCHRONIZATION_OBJECT)
+    /**
+     * Returns the locks of a port that must be acquired in the returned order for given policy, excluding the lock of
+     * the key of a {@link Policy#KEYED} call. Shared and keyed calls hold the read lock of the port, so that they are
+     * excluded by exclusive calls, and a lock of their group, so that they exclude each other.
+     */
+    private List<Lock> getLocks(Object port, Policy policy)
+    {
+        var locks = new ArrayList<Lock>(3);
+        locks.add(getLock(port, policy));
+
+        if (policy == Policy.SHARED)
+        {
+            locks.add(getGroupLock(port).get(GroupLock.Group.SHARED));
+        }
+        else if (policy == Policy.KEYED)
+        {
+            locks.add(getGroupLock(port).get(GroupLock.Group.KEYED));
+        }
+
+        return locks;
+    }
+
+    Lock getLock(Object port, Policy policy)
+    {
+        var readWriteLock = getReadWriteLock(port);
+
+        if (policy == Policy.SHARED || policy == Policy.KEYED)
+        {
+            return readWriteLock.readLock();
+        }
+
+        return readWriteLock.writeLock();
+    }
+
+    ReentrantReadWriteLock getReadWriteLock(Object port)
+    {
+        if (synchronizationMode == SynchronizationMode.PER_PORT)
+        {
+            // Ports are managed as singletons by Jexxa. So using the class of a port as key results in a single lock per port
+            var portType = getPortType(port.getClass());
+            return PORT_LOCKS.computeIfAbsent(portType, key -> new ReentrantReadWriteLock());
+        }
+
+        return GLOBAL_LOCK;
+    }
+
+    GroupLock getGroupLock(Object port)
+    {
+        if (synchronizationMode == SynchronizationMode.PER_PORT)
         {
-            return method.invoke(object, args);
+            var portType = getPortType(port.getClass());
+            return PORT_GROUP_LOCKS.computeIfAbsent(portType, key -> new GroupLock());
         }
+
+        return GLOBAL_GROUP_LOCK;
+    }
+
+    private String getLockName(Object port)
+    {
+        if (synchronizationMode == SynchronizationMode.PER_PORT)
+        {
+            return getPortType(port.getClass()).getName();
+        }
+
+        return SynchronizationFacade.class.getName();
+    }
+
+    Mailbox getMailbox(Object port)
+    {
+        var portType = getPortType(port.getClass());
+        return MAILBOXES.computeIfAbsent(portType, key -> new Mailbox(key.getSimpleName()));
+    }
+
+    private static Object invokeOptimistic(MethodInvoker methodInvoker, Object object, Object[] args, UnaryOperator<Object> resultHandler, LockRecorder lockRecorder, long requestTime)
+            throws InvocationTargetException, IllegalAccessException
+    {
+        var acquireTime = System.nanoTime();
+        lockRecorder.acquired(requestTime, acquireTime);
+        try
+        {
+            for (int retry = 0; ; ++retry)
+            {
+                try
+                {
+                    return invokeInScope(methodInvoker, object, args, resultHandler);
+                }
+                catch (InvocationTargetException e)
+                {
+                    if (!(e.getTargetException() instanceof ConcurrentUpdateException))
+                    {
+                        throw e;
+                    }
+
+                    CONFLICTS.increment();
+                    if (retry >= maxRetries)
+                    {
+                        throw e;
+                    }
+                }
+            }
+        }
+        finally
+        {
+            lockRecorder.released(acquireTime);
+        }
+    }
+
+    private static void executeOptimistic(Runnable command, LockRecorder lockRecorder, long requestTime)
+    {
+        var acquireTime = System.nanoTime();
+        lockRecorder.acquired(requestTime, acquireTime);
+        try
+        {
+            for (int retry = 0; ; ++retry)
+            {
+                try
+                {
+                    runInScope(command);
+                    return;
+                }
+                catch (ConcurrentUpdateException e)
+                {
+                    CONFLICTS.increment();
+                    if (retry >= maxRetries)
+                    {
+                        throw e;
+                    }
+                }
+            }
+        }
+        finally
+        {
+            lockRecorder.released(acquireTime);
+        }
+    }
+
+    private static Object invokeInScope(MethodInvoker methodInvoker, Object object, Object[] args, UnaryOperator<Object> resultHandler)
+            throws InvocationTargetException, IllegalAccessException
+    {
+        var invocationDepth = beginInvocation();
+        try
+        {
+            return resultHandler.apply(methodInvoker.invoke(object, args));
+        }
+        finally
+        {
+            endInvocation(invocationDepth);
+        }
+    }
+
+    private static void runInScope(Runnable command)
+    {
+        var invocationDepth = beginInvocation();
+        try
+        {
+            command.run();
+        }
+        finally
+        {
+            endInvocation(invocationDepth);
+        }
+    }
+
+    private static int[] beginInvocation()
+    {
+        var invocationDepth = INVOCATION_DEPTH.get();
+        if (invocationDepth[0]++ == 0)
+        {
+            INVOCATION_LISTENERS.forEach(InvocationListener::beginInvocation);
+        }
+        return invocationDepth;
+    }
+
+    private static void endInvocation(int[] invocationDepth)
+    {
+        if (--invocationDepth[0] == 0)
+        {
+            INVOCATION_LISTENERS.forEach(InvocationListener::endInvocation);
+        }
+    }
+
+    private static Object await(Future<Object> future) throws InvocationTargetException, IllegalAccessException
+    {
+        try
+        {
+            return get(future);
+        }
+        catch (InterruptedException e)
+        {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the result of a port", e);
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof InvocationTargetException)
+            {
+                throw (InvocationTargetException) e.getCause();
+            }
+            if (e.getCause() instanceof IllegalAccessException)
+            {
+                throw (IllegalAccessException) e.getCause();
+            }
+            throw unchecked(e.getCause());
+        }
+    }
+
+    private static void awaitCommand(Future<Object> future)
+    {
+        try
+        {
+            get(future);
+        }
+        catch (InterruptedException e)
+        {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the result of a port", e);
+        }
+        catch (ExecutionException e)
+        {
+            throw unchecked(e.getCause());
+        }
+    }
+
+    /**
+     * Waits for the result of a call in a mailbox. If the call was not started within the lock timeout, it is
+     * removed from the mailbox.
+     */
+    private static Object get(Future<Object> future) throws InterruptedException, ExecutionException
+    {
+        var timeout = lockTimeout;
+        if (timeout.isZero())
+        {
+            return future.get();
+        }
+
+        try
+        {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        catch (TimeoutException e)
+        {
+            if (future.cancel(false))
+            {
+                SHED_REQUESTS.increment();
+                throw new LockTimeoutException("Call was not started within " + timeout.toMillis() + " ms", timeout);
+            }
+            // The call is already running so that we have to wait for its result
+            return future.get();
+        }
+    }
+
+    private static void acquire(Lock lock, Object port)
+    {
+        var timeout = lockTimeout;
+        if (timeout.isZero())
+        {
+            lock.lock();
+            return;
+        }
+
+        try
+        {
+            if (!lock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS))
+            {
+                SHED_REQUESTS.increment();
+                throw new LockTimeoutException("Could not acquire lock for " + port.getClass().getSimpleName() + " within " + timeout.toMillis() + " ms", timeout);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the lock of a port", e);
+        }
+    }
+
+    /**
+     * Acquires given locks in their order. If a lock cannot be acquired, the already acquired locks are released.
+     */
+    private static void acquire(List<Lock> locks, Object port)
+    {
+        for (int i = 0; i < locks.size(); ++i)
+        {
+            try
+            {
+                acquire(locks.get(i), port);
+            }
+            catch (RuntimeException e)
+            {
+                release(locks.subList(0, i));
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Releases given locks in reverse order
+     */
+    private static void release(List<Lock> locks)
+    {
+        for (int i = locks.size() - 1; i >= 0; --i)
+        {
+            locks.get(i).unlock();
+        }
+    }
+
+    private static RuntimeException unchecked(Throwable throwable)
+    {
+        if (throwable instanceof RuntimeException)
+        {
+            return (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error)
+        {
+            throw (Error) throwable;
+        }
+        return new IllegalStateException(throwable);
+    }
+
+    Lock getKeyLock(Object key)
+    {
+        var hash = (key == null) ? 0 : key.hashCode();
+        hash ^= (hash >>> 16); // Spread higher bits as done in java.util.HashMap
+        return KEY_LOCKS[hash & (KEY_LOCK_STRIPES - 1)];
+    }
+
+    private Lock getKeyLock(Method method, Object[] args)
+    {
+        var keyParameter = Math.max(getKeyParameter(method), 0);
+        if (keyParameter >= args.length)
+        {
+            throw new IllegalArgumentException("Invalid number of arguments for method " + method.getName());
+        }
+
+        return getKeyLock(args[keyParameter]);
+    }
+
+    /**
+     * Returns the index of the parameter annotated with {@link LockKey} or -1 if no such parameter exists
+     */
+    private static int getKeyParameter(Method method)
+    {
+        return KEY_PARAMETERS.computeIfAbsent(method, key -> {
+            var parameterAnnotations = key.getParameterAnnotations();
+            for (int i = 0; i < parameterAnnotations.length; ++i)
+            {
+                for (var annotation : parameterAnnotations[i])
+                {
+                    if (annotation.annotationType().equals(LockKey.class))
+                    {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        });
+    }
+
+    /**
+     * A method without parameters does not provide a key and is therefore executed exclusively
+     */
+    private static Policy validateKeyed(Policy policy, Method method)
+    {
+        if (policy == Policy.KEYED && method.getParameterCount() == 0)
+        {
+            return Policy.EXCLUSIVE;
+        }
+
+        return policy;
+    }
+
+    private static Lock[] createKeyLocks()
+    {
+        var keyLocks = new Lock[KEY_LOCK_STRIPES];
+        for (int i = 0; i < keyLocks.length; ++i)
+        {
+            keyLocks[i] = new ReentrantLock();
+        }
+        return keyLocks;
+    }
+
+    /**
+     * A port adapter can define its own policy. Otherwise, the policy of the port it forwards its calls to is used.
+     */
+    private static Optional<Policy> getPortPolicy(Object port)
+    {
+        return PORT_POLICIES.computeIfAbsent(port.getClass(),
+                key -> getTypePolicy(key).or(() -> getTypePolicy(getPortType(key))));
+    }
+
+    private static Optional<Policy> getTypePolicy(Class<?> clazz)
+    {
+        return Optional.ofNullable(clazz.getAnnotation(ConcurrencyPolicy.class)).map(ConcurrencyPolicy::value);
+    }
+
+    /**
+     * A query returns a value and has no arguments. This corresponds to the GET-mapping of RESTfulRPCAdapter.
+     */
+    static boolean isQuery(Method method)
+    {
+        return !method.getReturnType().equals(void.class) && method.getParameterCount() == 0;
     }
 
     /**
-     * If a driving adapter does not use {@link #invoke(Method, Object, Object[])} to call an
+     * Returns the type of the port that given type forwards its calls to if it is a registered port adapter, and
+     * otherwise the type itself.
      *
-     * @return Object that must be used in synchronized-block
+     * @see #registerPortAdapter(Object, Object)
      */
-    public Object getSynchronizationObject()
+    private static Class<?> getPortType(Class<?> clazz)
     {
-        return GLOBAL_SYNCHRONIZATION_OBJECT;
+        return PORT_TYPES.getOrDefault(clazz, clazz);
     }
 
     SynchronizationFacade()
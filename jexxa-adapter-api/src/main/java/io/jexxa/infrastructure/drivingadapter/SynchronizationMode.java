@@ -0,0 +1,45 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+/**
+ * Defines the scope of the lock that is used by {@link SynchronizationFacade} to synchronize incoming calls to ports.
+ */
+public enum SynchronizationMode
+{
+    /**
+     * All calls to all ports are synchronized using a single lock. So only a single thread is active within
+     * the application core. This is the default mode.
+     */
+    GLOBAL,
+
+    /**
+     * Calls to the same port are synchronized using a lock that belongs to this port. So calls to
+     * different ports can be executed concurrently.
+     *
+     * Note: Only use this mode if your ports do not share any state, such as an aggregate that is accessed via
+     * different application services.
+     */
+    PER_PORT,
+
+    /**
+     * Each port owns a mailbox which is processed by a single dedicated thread. Driving adapters enqueue their calls
+     * into the mailbox and wait for the result. So calls to different ports can be executed concurrently whereas calls
+     * to the same port are executed in the order they are received, without any lock contention between the threads
+     * of the driving adapters.
+     *
+     * Note: Only use this mode if your ports do not share any state. Calls with {@link ConcurrencyPolicy.Policy#UNSYNCHRONIZED}
+     * are still executed by the thread of the driving adapter.
+     */
+    MAILBOX,
+
+    /**
+     * Calls are executed without acquiring any lock. Instead, conflicting updates of an aggregate are detected by its
+     * repository which throws a {@link io.jexxa.infrastructure.synchronization.ConcurrentUpdateException}. In this
+     * case the entire call is retried up to {@link SynchronizationFacade#getMaxRetries()} times.
+     *
+     * Note: Only use this mode if all ports are safe to be retried. A retry executes the entire call again, so that
+     * side effects performed before the conflict, such as sending a message via JMS or calling another driven adapter,
+     * are performed again. So all changes should be performed via repositories that detect conflicting updates.
+     * {@link ConcurrencyPolicy} is not taken into account in this mode.
+     */
+    OPTIMISTIC
+}
@@ -0,0 +1,16 @@
+package io.jexxa.infrastructure.synchronization;
+
+/**
+ * Is thrown by a driven adapter, such as a repository, if an aggregate should be updated that was changed by another
+ * call since it was read. In {@link io.jexxa.infrastructure.drivingadapter.SynchronizationMode#OPTIMISTIC} the
+ * {@link io.jexxa.infrastructure.drivingadapter.SynchronizationFacade} retries the entire call in this case.
+ */
+public class ConcurrentUpdateException extends RuntimeException
+{
+    private static final long serialVersionUID = 1L;
+
+    public ConcurrentUpdateException(String message)
+    {
+        super(message);
+    }
+}
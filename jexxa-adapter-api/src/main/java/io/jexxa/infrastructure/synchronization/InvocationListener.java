@@ -0,0 +1,16 @@
+package io.jexxa.infrastructure.synchronization;
+
+/**
+ * Is notified by the {@link io.jexxa.infrastructure.drivingadapter.SynchronizationFacade} when a call of a port begins
+ * and ends, so that a driven adapter can manage state that belongs to a single call, such as the versions of
+ * aggregates read by this call. Both methods are called by the thread executing the call.
+ * <br>
+ * A retried call begins again for each attempt. A call of a port within another call, such as a call within a batch,
+ * does not begin a new call.
+ */
+public interface InvocationListener
+{
+    void beginInvocation();
+
+    void endInvocation();
+}
@@ -13,9 +13,11 @@ import io.jexxa.core.convention.PortConvention;
 import io.jexxa.core.factory.AdapterFactory;
 import io.jexxa.core.factory.PortFactory;
 import io.jexxa.infrastructure.drivingadapter.IDrivingAdapter;
+import io.jexxa.infrastructure.drivingadapter.SynchronizationFacade;
 import io.jexxa.utils.JexxaLogger;
 import io.jexxa.utils.annotations.CheckReturnValue;
 import io.jexxa.utils.function.ThrowingConsumer;
+import io.jexxa.utils.json.JSONManager;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 
@@ -82,6 +84,8 @@ public final class JexxaMain
         this.properties.putAll( properties );  //add/overwrite given properties
 
         this.properties.put(JEXXA_CONTEXT_NAME, contextName);
+        JSONManager.configure(this.properties);
+        SynchronizationFacade.configure(this.properties);
         this.addToInfrastructure("io.jexxa.infrastructure.drivingadapter");
 
         setExceptionHandler();
@@ -226,6 +230,9 @@ public final class JexxaMain
         var drivingAdapter = drivingAdapterFactory.newInstanceOf(adapter, properties);
 
         var portWrapperInstance = portFactory.getPortAdapterOf(portWrapper, properties);
+        // The port is managed as singleton, so that we get the instance passed to the port adapter
+        var port = portFactory.getInstanceOf(portFactory.getPort(portWrapper), properties);
+        SynchronizationFacade.registerPortAdapter(portWrapperInstance, port);
 
         drivingAdapter.register(portWrapperInstance);
 
@@ -217,7 +217,7 @@ public class PortFactory
      * @param <T> type of the portAdapter
      * @return Class information of the port that is used by this port-adapter which is by convention the first and only parameter of th constructor
      */
-    private <T> Class<?> getPort(Class<T> portAdapter)
+    public <T> Class<?> getPort(Class<T> portAdapter)
     {
         return Arrays.stream(portAdapter.getConstructors())
                 .filter(constructor -> constructor.getParameterCount() == 1)
@@ -36,7 +36,8 @@ public class IMDBRepository<T, K>  implements IRepository<T, K>
     @Override
     public void update(T aggregate)
     {
-        // Nothing to do here because operations are performed on the aggregate
+        // Operations are usually performed on the stored aggregate. Replacing it is only required if given aggregate is a copy
+        getOwnAggregateMap().replace(keyFunction.apply(aggregate), aggregate);
     }
 
     @Override
@@ -12,6 +12,8 @@ import com.google.gson.Gson;
 import io.jexxa.infrastructure.drivenadapterstrategy.persistence.IRepository;
 import io.jexxa.utils.JexxaLogger;
 import io.jexxa.utils.function.ThrowingConsumer;
+import io.jexxa.utils.json.GsonConverter;
+import io.jexxa.utils.json.JSONConverter;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 
@@ -27,6 +29,10 @@ public class JDBCKeyValueRepository<T, K> implements IRepository<T, K>, AutoClos
 
     private static final Logger LOGGER = JexxaLogger.getLogger(JDBCKeyValueRepository.class);
 
+    // Keys and values are stored in the format of a plain Gson instance, independent of the JSONConverter configured in
+    // JSONManager. Otherwise, changing the JSONConverter would change the stored keys so that existing rows no longer match.
+    private static final JSONConverter JSON_CONVERTER = new GsonConverter(new Gson());
+
     private final Function<T,K> keyFunction;
     private final Class<T> aggregateClazz;
     private final JDBCConnection jdbcConnection;
@@ -48,8 +54,7 @@ public class JDBCKeyValueRepository<T, K> implements IRepository<T, K>, AutoClos
     {
         Validate.notNull(key);
 
-        Gson gson = new Gson();
-        String jsonKey = gson.toJson(key);
+        String jsonKey = JSON_CONVERTER.toJson(key);
 
         try (var preparedStatement = getConnection().prepareStatement("delete from " + aggregateClazz.getSimpleName() + " where key= ?"))
         {
@@ -88,9 +93,8 @@ public class JDBCKeyValueRepository<T, K> implements IRepository<T, K>, AutoClos
     {
         Validate.notNull(aggregate);
 
-        Gson gson = new Gson();
-        String key = gson.toJson(keyFunction.apply(aggregate));
-        String value = gson.toJson(aggregate);
+        String key = JSON_CONVERTER.toJson(keyFunction.apply(aggregate));
+        String value = JSON_CONVERTER.toJson(aggregate);
 
         try (var preparedStatement = getConnection().prepareStatement("insert into " + aggregate.getClass().getSimpleName()+ " values(?,?)"))
         {
@@ -111,9 +115,8 @@ public class JDBCKeyValueRepository<T, K> implements IRepository<T, K>, AutoClos
     {
         Validate.notNull(aggregate);
 
-        Gson gson = new Gson();
-        String key = gson.toJson(keyFunction.apply(aggregate));
-        String value = gson.toJson(aggregate);
+        String key = JSON_CONVERTER.toJson(keyFunction.apply(aggregate));
+        String value = JSON_CONVERTER.toJson(aggregate);
 
         try (var preparedStatement = getConnection().prepareStatement("update " + aggregateClazz.getSimpleName() + " set value = ? where key = ?") )
         {
@@ -137,8 +140,7 @@ public class JDBCKeyValueRepository<T, K> implements IRepository<T, K>, AutoClos
     {
         Validate.notNull(primaryKey);
 
-        Gson gson = new Gson();
-        String key = gson.toJson(primaryKey);
+        String key = JSON_CONVERTER.toJson(primaryKey);
 
         try ( var preparedStatement = getConnection().prepareStatement("select value from " + aggregateClazz.getSimpleName() + " where key = ? ")  )
         {
@@ -147,7 +149,7 @@ public class JDBCKeyValueRepository<T, K> implements IRepository<T, K>, AutoClos
             {
                 if ( resultSet.next() )
                 {
-                    return Optional.ofNullable(gson.fromJson(resultSet.getString(1), aggregateClazz));
+                    return Optional.ofNullable(JSON_CONVERTER.fromJson(resultSet.getString(1), aggregateClazz));
                 }
                 else
                 {
@@ -166,7 +168,6 @@ public class JDBCKeyValueRepository<T, K> implements IRepository<T, K>, AutoClos
     public List<T> get()
     {
         var result = new ArrayList<T>();
-        Gson gson = new Gson();
         try (
                 var statement = getConnection().createStatement();
                 var resultSet = statement.executeQuery("select value from "+ aggregateClazz.getSimpleName())
@@ -174,7 +175,7 @@ public class JDBCKeyValueRepository<T, K> implements IRepository<T, K>, AutoClos
         {
             while (resultSet.next())
             {
-                T aggregate = gson.fromJson( resultSet.getString(1), aggregateClazz);
+                T aggregate = JSON_CONVERTER.fromJson( resultSet.getString(1), aggregateClazz);
                 result.add(aggregate);
             }
         }
@@ -0,0 +1,312 @@
+package io.jexxa.infrastructure.drivenadapterstrategy.persistence.versioned;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import io.jexxa.infrastructure.drivenadapterstrategy.persistence.IRepository;
+import io.jexxa.infrastructure.drivenadapterstrategy.persistence.imdb.IMDBRepository;
+import io.jexxa.infrastructure.drivenadapterstrategy.persistence.jdbc.JDBCKeyValueRepository;
+import io.jexxa.infrastructure.drivingadapter.SynchronizationFacade;
+import io.jexxa.infrastructure.synchronization.ConcurrentUpdateException;
+import io.jexxa.infrastructure.synchronization.InvocationListener;
+import io.jexxa.utils.json.JSONManager;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * This repository tracks a version of each aggregate and rejects an update of an aggregate that was changed since
+ * the current call has read it. In this case a {@link ConcurrentUpdateException} is thrown, so that the
+ * {@link SynchronizationFacade} can retry the entire call in
+ * {@link io.jexxa.infrastructure.drivingadapter.SynchronizationMode#OPTIMISTIC}. Note that a retry also repeats all
+ * other side effects of the call, such as sending a message.
+ * <br>
+ * The read versions belong to the call of a port executed by the current thread. They are discarded when a call begins
+ * or ends, which includes each retry. An update of an aggregate that was not read by the current call, e.g., outside of
+ * a call of a port or after its read version was discarded, is applied to the current version without a conflict check.
+ * <br>
+ * All operations are forwarded to a decorated repository. When used as strategy via {@link io.jexxa.infrastructure.drivenadapterstrategy.persistence.RepositoryManager},
+ * a {@link JDBCKeyValueRepository} is decorated if a JDBC driver is configured, otherwise an {@link IMDBRepository}.
+ * <br>
+ * Notes:
+ * <ul>
+ * <li> Versions are managed in memory. So conflicts are only detected between calls within the same application. </li>
+ * <li> A rejected call must not change the stored aggregate. So each read must return a separate instance of an aggregate
+ * as {@link JDBCKeyValueRepository} does. Because {@link IMDBRepository} stores the given instances, aggregates are
+ * copied via the JSONConverter of {@link JSONManager} when they are stored in or read from an {@link IMDBRepository}. </li>
+ * </ul>
+ */
+public class VersionedRepository<T, K> implements IRepository<T, K>
+{
+    // Maximum number of read versions that are stored per thread and aggregate type
+    private static final int MAX_READ_VERSIONS = 1024;
+
+    private static final Map<Class<?>, VersionTable<?>> VERSION_MAP = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<Class<?>, Map<?, Long>>> READ_VERSIONS = ThreadLocal.withInitial(HashMap::new);
+
+    static
+    {
+        SynchronizationFacade.addInvocationListener(new ReadVersionsListener());
+    }
+
+    private final IRepository<T, K> repository;
+    private final Function<T, K> keyFunction;
+    private final Class<T> aggregateClazz;
+    private final VersionTable<K> versionTable;
+    private final UnaryOperator<T> copyFunction;
+
+    public VersionedRepository(Class<T> aggregateClazz, Function<T, K> keyFunction, Properties properties)
+    {
+        this(aggregateClazz, keyFunction, createRepository(aggregateClazz, keyFunction, properties));
+    }
+
+    public VersionedRepository(Class<T> aggregateClazz, Function<T, K> keyFunction, IRepository<T, K> repository)
+    {
+        Validate.notNull(aggregateClazz);
+        Validate.notNull(keyFunction);
+        Validate.notNull(repository);
+
+        this.aggregateClazz = aggregateClazz;
+        this.keyFunction = keyFunction;
+        this.repository = repository;
+        this.versionTable = getVersionTable(aggregateClazz);
+        this.copyFunction = (repository instanceof IMDBRepository) ? this::copy : UnaryOperator.identity();
+    }
+
+    @Override
+    public void update(T aggregate)
+    {
+        Validate.notNull(aggregate);
+
+        var key = keyFunction.apply(aggregate);
+        var readVersion = getReadVersions().get(key);
+
+        var newVersion = versionTable.modify(key, currentVersion -> {
+            // Without a read version, the aggregate was not read by this call so that the current version is updated
+            if (readVersion != null && readVersion.longValue() != currentVersion)
+            {
+                throw new ConcurrentUpdateException(aggregateClazz.getSimpleName() + " with key " + key + " was changed concurrently");
+            }
+
+            repository.update(copyFunction.apply(aggregate));
+            return currentVersion + 1;
+        });
+
+        getReadVersions().put(key, newVersion);
+    }
+
+    @Override
+    public void remove(K key)
+    {
+        Validate.notNull(key);
+
+        // The version is incremented instead of removed so that a stale instance cannot be updated after the aggregate is added again
+        versionTable.modify(key, currentVersion -> {
+            repository.remove(key);
+            return currentVersion + 1;
+        });
+        getReadVersions().remove(key);
+    }
+
+    @Override
+    public void removeAll()
+    {
+        versionTable.modifyAll(repository::removeAll);
+        getReadVersions().clear();
+    }
+
+    @Override
+    public void add(T aggregate)
+    {
+        Validate.notNull(aggregate);
+
+        var key = keyFunction.apply(aggregate);
+        var newVersion = versionTable.modify(key, currentVersion -> {
+            repository.add(copyFunction.apply(aggregate));
+            return versionTable.contains(key) ? currentVersion + 1 : currentVersion;
+        });
+
+        getReadVersions().put(key, newVersion);
+    }
+
+    @Override
+    public Optional<T> get(K primaryKey)
+    {
+        Validate.notNull(primaryKey);
+
+        // The version is read before the aggregate. So a concurrent update results in a conflict instead of a lost update
+        var version = versionTable.get(primaryKey);
+        var result = repository.get(primaryKey).map(copyFunction);
+
+        result.ifPresent(aggregate -> getReadVersions().put(primaryKey, version));
+        return result;
+    }
+
+    @Override
+    public List<T> get()
+    {
+        var currentVersions = versionTable.snapshot();
+        var result = repository.get()
+                .stream()
+                .map(copyFunction)
+                .collect(Collectors.toList());
+
+        var readVersions = getReadVersions();
+        result.forEach(aggregate -> {
+            var key = keyFunction.apply(aggregate);
+            readVersions.put(key, currentVersions.getOrDefault(key, 0L));
+        });
+
+        return result;
+    }
+
+    private T copy(T aggregate)
+    {
+        var jsonConverter = JSONManager.getJSONConverter();
+        return jsonConverter.fromJson(jsonConverter.toJson(aggregate), aggregateClazz);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> VersionTable<K> getVersionTable(Class<?> aggregateClazz)
+    {
+        return (VersionTable<K>) VERSION_MAP.computeIfAbsent(aggregateClazz, key -> new VersionTable<K>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<K, Long> getReadVersions()
+    {
+        return (Map<K, Long>) READ_VERSIONS.get().computeIfAbsent(aggregateClazz, key -> new LinkedHashMap<K, Long>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Long> eldest)
+            {
+                return size() > MAX_READ_VERSIONS;
+            }
+        });
+    }
+
+    /**
+     * Discards all versions read by the current thread
+     */
+    private static void clearReadVersions()
+    {
+        READ_VERSIONS.get().values().forEach(Map::clear);
+    }
+
+    private static <T, K> IRepository<T, K> createRepository(Class<T> aggregateClazz, Function<T, K> keyFunction, Properties properties)
+    {
+        Validate.notNull(properties);
+
+        if (properties.containsKey(JDBCKeyValueRepository.JDBC_DRIVER))
+        {
+            return new JDBCKeyValueRepository<>(aggregateClazz, keyFunction, properties);
+        }
+
+        return new IMDBRepository<>(aggregateClazz, keyFunction, properties);
+    }
+
+    /**
+     * Discards the read versions of a thread at the beginning and end of each call, so that a call on a pooled
+     * thread does not use versions read by a previous call
+     */
+    private static class ReadVersionsListener implements InvocationListener
+    {
+        @Override
+        public void beginInvocation()
+        {
+            clearReadVersions();
+        }
+
+        @Override
+        public void endInvocation()
+        {
+            clearReadVersions();
+        }
+    }
+
+    /**
+     * Versions of all aggregates of a type. A modification of an aggregate is performed while holding a lock for its
+     * key. Locks are used instead of ConcurrentHashMap.compute so that a blocking repository call does not block other
+     * keys and does not pin the carrier of a virtual thread.
+     */
+    private static class VersionTable<K>
+    {
+        // Number of locks used for keys. Must be a power of two
+        private static final int KEY_LOCK_STRIPES = 64;
+
+        private final Map<K, Long> versions = new ConcurrentHashMap<>();
+        private final ReentrantReadWriteLock tableLock = new ReentrantReadWriteLock();
+        private final Lock[] keyLocks = new Lock[KEY_LOCK_STRIPES];
+
+        VersionTable()
+        {
+            for (int i = 0; i < keyLocks.length; ++i)
+            {
+                keyLocks[i] = new ReentrantLock();
+            }
+        }
+
+        long get(K key)
+        {
+            return versions.getOrDefault(key, 0L);
+        }
+
+        boolean contains(K key)
+        {
+            return versions.containsKey(key);
+        }
+
+        Map<K, Long> snapshot()
+        {
+            return new HashMap<>(versions);
+        }
+
+        /**
+         * @param modification gets the current version and returns the new version
+         */
+        long modify(K key, LongUnaryOperator modification)
+        {
+            var keyLock = keyLocks[key.hashCode() & (KEY_LOCK_STRIPES - 1)];
+
+            tableLock.readLock().lock();
+            keyLock.lock();
+            try
+            {
+                var newVersion = modification.applyAsLong(get(key));
+                versions.put(key, newVersion);
+                return newVersion;
+            }
+            finally
+            {
+                keyLock.unlock();
+                tableLock.readLock().unlock();
+            }
+        }
+
+        void modifyAll(Runnable modification)
+        {
+            tableLock.writeLock().lock();
+            try
+            {
+                modification.run();
+                versions.replaceAll((key, version) -> version + 1);
+            }
+            finally
+            {
+                tableLock.writeLock().unlock();
+            }
+        }
+    }
+}
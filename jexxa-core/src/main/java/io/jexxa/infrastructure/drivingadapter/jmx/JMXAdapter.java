@@ -1,5 +1,7 @@
 package io.jexxa.infrastructure.drivingadapter.jmx;
 
+import static io.jexxa.infrastructure.drivingadapter.jmx.MBeanConvention.JEXXA_CONTEXT_NAME;
+
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,8 +11,10 @@ import javax.management.InstanceAlreadyExistsException;
 import javax.management.MBeanRegistrationException;
 import javax.management.MBeanServer;
 import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
 
 import io.jexxa.infrastructure.drivingadapter.IDrivingAdapter;
+import io.jexxa.utils.JexxaLogger;
 import io.jexxa.utils.function.ThrowingConsumer;
 import org.apache.commons.lang3.Validate;
 
@@ -18,12 +22,16 @@ public class JMXAdapter implements IDrivingAdapter
 {
     private final List<MBeanConvention> registeredMBeans = new ArrayList<>();
     private final Properties properties;
+    private final SynchronizationStatistics synchronizationStatistics;
+    private final RequestStatistics requestStatistics;
 
 
     public JMXAdapter(Properties properties)
     {
         Validate.notNull(properties);
         this.properties = properties;
+        this.synchronizationStatistics = new SynchronizationStatistics(properties.getProperty(JEXXA_CONTEXT_NAME, "UnknownContext"));
+        this.requestStatistics = new RequestStatistics(properties.getProperty(JEXXA_CONTEXT_NAME, "UnknownContext"));
     }
 
     public void register(Object object)
@@ -56,8 +64,10 @@ public class JMXAdapter implements IDrivingAdapter
     public void start()
     {
         /*
-         * No special action needed because objects are already registered at registerObject
+         * Objects are already registered at registerObject. So we only have to offer the synchronization and request statistics
          */
+        registerStatistics(synchronizationStatistics, synchronizationStatistics.getObjectName());
+        registerStatistics(requestStatistics, requestStatistics.getObjectName());
     }
 
     @Override
@@ -68,6 +78,33 @@ public class JMXAdapter implements IDrivingAdapter
         registeredMBeans.stream()
                 .filter(element -> mbs.isRegistered(element.getObjectName()))
                 .forEach(ThrowingConsumer.exceptionLogger(element ->  mbs.unregisterMBean(element.getObjectName())));
+
+        if (mbs.isRegistered(synchronizationStatistics.getObjectName()))
+        {
+            ThrowingConsumer.exceptionLogger(mbs::unregisterMBean).accept(synchronizationStatistics.getObjectName());
+        }
+
+        if (mbs.isRegistered(requestStatistics.getObjectName()))
+        {
+            ThrowingConsumer.exceptionLogger(mbs::unregisterMBean).accept(requestStatistics.getObjectName());
+        }
+    }
+
+    private static void registerStatistics(Object statistics, ObjectName objectName)
+    {
+        MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+
+        if (!mbs.isRegistered(objectName))
+        {
+            try
+            {
+                mbs.registerMBean(statistics, objectName);
+            }
+            catch (InstanceAlreadyExistsException | MBeanRegistrationException | NotCompliantMBeanException e)
+            {
+                JexxaLogger.getLogger(JMXAdapter.class).warn("Could not register {} : {}", statistics.getClass().getSimpleName(), e.getMessage());
+            }
+        }
     }
 
 }
@@ -1,6 +1,7 @@
 package io.jexxa.infrastructure.drivingadapter.jmx;
 
 
+import static io.jexxa.utils.json.JSONManager.getJSONConverter;
 import static java.util.stream.Collectors.toList;
 import static javax.management.MBeanOperationInfo.UNKNOWN;
 
@@ -9,6 +10,8 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 
@@ -21,19 +24,19 @@ import javax.management.MBeanParameterInfo;
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import io.jexxa.infrastructure.drivingadapter.IDrivingAdapter;
+import io.jexxa.infrastructure.drivingadapter.MethodInvoker;
 import io.jexxa.utils.JexxaLogger;
 import org.apache.commons.lang3.Validate;
 
 public class MBeanConvention implements DynamicMBean
 {
     public static final String JEXXA_CONTEXT_NAME = "io.jexxa.context.name";
-    private final Gson gson = new Gson();
 
     private final Object object;
     private final String contextName;
+    private final Map<String, MethodInvoker> methodInvokers;
 
     MBeanConvention(Object object, Properties properties)
     {
@@ -42,6 +45,7 @@ public class MBeanConvention implements DynamicMBean
 
         this.object = object;
         contextName = properties.getProperty(JEXXA_CONTEXT_NAME, "UnknownContext");
+        methodInvokers = createMethodInvokers(object);
     }
 
 
@@ -73,15 +77,15 @@ public class MBeanConvention implements DynamicMBean
     @SuppressWarnings({"java:S112", "java:S2139"})
     public Object invoke(String actionName, Object[] params, String[] signature)
     {
-        var method = getMethod(actionName).
+        var methodInvoker = getMethodInvoker(actionName).
                 orElseThrow(UnsupportedOperationException::new);
 
         try
         {
-            Object[] parameter = deserializeObjects(method.getParameterTypes(), params);
+            Object[] parameter = deserializeObjects(methodInvoker.getMethod().getParameterTypes(), params);
             Object result = IDrivingAdapter
                     .acquireLock()
-                    .invoke(method, object, parameter);
+                    .invoke(methodInvoker, object, parameter);
 
             return serializeComplexReturnValue(result);
         }
@@ -108,7 +112,7 @@ public class MBeanConvention implements DynamicMBean
 
         for (int i = 0; i < parameters.length; ++i)
         {
-            result[i] = gson.fromJson((String) parameters[i], parameterTypes[i]);
+            result[i] = getJSONConverter().fromJson((String) parameters[i], parameterTypes[i]);
         }
 
         return result;
@@ -238,7 +242,7 @@ public class MBeanConvention implements DynamicMBean
             return object;
         }
 
-        return gson.toJson(object);
+        return getJSONConverter().toJson(object);
     }
 
     private Field[] filterFieldsForJson(Class<?> clazz)
@@ -273,12 +277,23 @@ public class MBeanConvention implements DynamicMBean
     }
 
 
-    private Optional<Method> getMethod(String name)
+    private Optional<MethodInvoker> getMethodInvoker(String name)
     {
-        return Arrays.stream(object.getClass().getMethods())
+        return Optional.ofNullable(methodInvokers.get(name));
+    }
+
+    /**
+     * Resolves all methods that can be invoked via JMX once, so that an incoming call does not have to search them
+     */
+    private static Map<String, MethodInvoker> createMethodInvokers(Object object)
+    {
+        var result = new HashMap<String, MethodInvoker>();
+
+        Arrays.stream(object.getClass().getMethods())
                 .filter( method -> !Modifier.isStatic(method.getModifiers()))
-                .filter(method -> method.getName().equals(name))
-                .findFirst();
+                .forEach( method -> result.putIfAbsent(method.getName(), MethodInvoker.of(method)));
+
+        return result;
     }
 
     private Optional<Annotation> getFirstAnnotation()
@@ -0,0 +1,41 @@
+package io.jexxa.infrastructure.drivingadapter.jmx;
+
+import static io.jexxa.utils.json.JSONManager.getJSONConverter;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import io.jexxa.infrastructure.drivingadapter.EndpointRecorder;
+
+/**
+ * Offers the statistics of all endpoints recorded by an {@link EndpointRecorder}, such as the latency of each
+ * resource path of a RESTfulRPCAdapter, via JMX. The statistics are grouped in the same context as the ports of
+ * an application.
+ */
+public class RequestStatistics implements RequestStatisticsMBean
+{
+    private final String contextName;
+
+    RequestStatistics(String contextName)
+    {
+        this.contextName = contextName;
+    }
+
+    @Override
+    public String getEndpointStatistics()
+    {
+        return getJSONConverter().toJson(EndpointRecorder.getEndpointStatistics());
+    }
+
+    ObjectName getObjectName()
+    {
+        try
+        {
+            return new ObjectName(contextName + ":type=Jexxa,name=" + getClass().getSimpleName());
+        }
+        catch (MalformedObjectNameException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
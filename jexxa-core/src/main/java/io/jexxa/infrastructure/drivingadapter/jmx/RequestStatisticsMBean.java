@@ -0,0 +1,10 @@
+package io.jexxa.infrastructure.drivingadapter.jmx;
+
+/**
+ * Management interface to access the request statistics of all endpoints of driving adapters. All values are
+ * provided as JSON.
+ */
+public interface RequestStatisticsMBean
+{
+    String getEndpointStatistics();
+}
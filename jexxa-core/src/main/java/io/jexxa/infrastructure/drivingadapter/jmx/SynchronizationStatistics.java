@@ -0,0 +1,58 @@
+package io.jexxa.infrastructure.drivingadapter.jmx;
+
+import static io.jexxa.utils.json.JSONManager.getJSONConverter;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import io.jexxa.infrastructure.drivingadapter.SynchronizationFacade;
+
+/**
+ * Offers the statistics of {@link SynchronizationFacade} via JMX. The statistics are grouped in the same
+ * context as the ports of an application.
+ */
+public class SynchronizationStatistics implements SynchronizationStatisticsMBean
+{
+    private final String contextName;
+
+    SynchronizationStatistics(String contextName)
+    {
+        this.contextName = contextName;
+    }
+
+    @Override
+    public String getLockStatistics()
+    {
+        return getJSONConverter().toJson(SynchronizationFacade.getLockStatistics());
+    }
+
+    @Override
+    public String getLongestLockHolder()
+    {
+        return getJSONConverter().toJson(SynchronizationFacade.getLongestLockHolder().orElse(null));
+    }
+
+    @Override
+    public long getShedRequests()
+    {
+        return SynchronizationFacade.getShedRequests();
+    }
+
+    @Override
+    public long getConflicts()
+    {
+        return SynchronizationFacade.getConflicts();
+    }
+
+    ObjectName getObjectName()
+    {
+        try
+        {
+            return new ObjectName(contextName + ":type=Jexxa,name=" + getClass().getSimpleName());
+        }
+        catch (MalformedObjectNameException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.jexxa.infrastructure.drivingadapter.jmx;
+
+/**
+ * Management interface to access the synchronization statistics of all ports. All values are provided as JSON.
+ */
+public interface SynchronizationStatisticsMBean
+{
+    String getLockStatistics();
+
+    String getLongestLockHolder();
+
+    long getShedRequests();
+
+    long getConflicts();
+}
@@ -22,6 +22,7 @@ import javax.naming.InitialContext;
 import javax.naming.NamingException;
 
 import io.jexxa.infrastructure.drivingadapter.IDrivingAdapter;
+import io.jexxa.infrastructure.drivingadapter.LockTimeoutException;
 import io.jexxa.utils.JexxaLogger;
 import io.jexxa.utils.function.ThrowingConsumer;
 import org.apache.commons.lang3.Validate;
@@ -216,9 +217,18 @@ public class JMSAdapter implements AutoCloseable, IDrivingAdapter
         @Override
         public void onMessage(Message message)
         {
-            synchronized (IDrivingAdapter.acquireLock().getSynchronizationObject())
+            try
+            {
+                IDrivingAdapter
+                        .acquireLock()
+                        .execute(jmsListener, () -> jmsListener.onMessage(message));
+            }
+            catch (LockTimeoutException e)
             {
-                jmsListener.onMessage(message);
+                // The message was not processed. Rethrowing the exception ensures that it is not acknowledged so that the
+                // messaging system redelivers it (see JMS specification for AUTO_ACKNOWLEDGE)
+                JexxaLogger.getLogger(JMSAdapter.class).warn("Message is not acknowledged for redelivery: {}", e.getMessage());
+                throw e;
             }
         }
     }
@@ -1,15 +1,15 @@
 package io.jexxa.infrastructure.drivingadapter.messaging.listener;
 
+import static io.jexxa.utils.json.JSONManager.getJSONConverter;
+
 import javax.jms.JMSException;
 import javax.jms.TextMessage;
 
-import com.google.gson.Gson;
 import io.jexxa.utils.JexxaLogger;
 
 @SuppressWarnings("unused")
 public abstract class TypedMessageListener<T> extends JSONMessageListener
 {
-    private static final Gson gson = new Gson();
     private final Class<T> clazz;
 
     protected TypedMessageListener(Class<T> clazz)
@@ -37,7 +37,7 @@ public abstract class TypedMessageListener<T> extends JSONMessageListener
 
     protected static <U> U fromJson( String message, Class<U> clazz)
     {
-        return gson.fromJson( message, clazz);
+        return getJSONConverter().fromJson( message, clazz);
     }
 
 }
@@ -0,0 +1,135 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+/**
+ * Limits the number of requests that are handled concurrently, similar to Jetty's QoSFilter. In contrast to the
+ * QoSFilter, a request exceeding the limit is not queued but immediately answered with status code 503 including
+ * header `Retry-After`. So an overloaded server rejects requests quickly instead of increasing the latency of all
+ * requests.
+ * <br>
+ * An asynchronous request counts until it is completed. Requests of an event stream are not limited, because they
+ * are kept open as long as a client is connected.
+ */
+class AdmissionControlHandler extends HandlerWrapper
+{
+    private final Semaphore permits;
+    private final LongAdder rejectedRequests = new LongAdder();
+    private final Set<String> eventStreams = ConcurrentHashMap.newKeySet();
+
+    AdmissionControlHandler(int maxConcurrentRequests)
+    {
+        this.permits = new Semaphore(maxConcurrentRequests);
+    }
+
+    void registerEventStream(String path)
+    {
+        eventStreams.add(path);
+    }
+
+    long getRejectedRequests()
+    {
+        return rejectedRequests.sum();
+    }
+
+    /**
+     * Admits a call that is not dispatched as separate HTTP request, such as a call via WebSocket. Such a call counts
+     * as concurrent request until {@link #release()} is called.
+     *
+     * @return true if the call is admitted. Otherwise, the call is counted as rejected request
+     */
+    boolean tryAcquire()
+    {
+        if (!permits.tryAcquire())
+        {
+            rejectedRequests.increment();
+            return false;
+        }
+        return true;
+    }
+
+    void release()
+    {
+        permits.release();
+    }
+
+    @Override
+    public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException
+    {
+        // An asynchronous request is dispatched again after completion. In this case, it already holds its permit
+        if (request.getDispatcherType() == DispatcherType.ASYNC || eventStreams.contains(target))
+        {
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+
+        if (!permits.tryAcquire())
+        {
+            rejectedRequests.increment();
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            baseRequest.setHandled(true);
+            return;
+        }
+
+        var releasePermit = true;
+        try
+        {
+            super.handle(target, baseRequest, request, response);
+
+            if (request.isAsyncStarted())
+            {
+                request.getAsyncContext().addListener(new PermitReleaser());
+                releasePermit = false;
+            }
+        }
+        finally
+        {
+            if (releasePermit)
+            {
+                permits.release();
+            }
+        }
+    }
+
+    private class PermitReleaser implements AsyncListener
+    {
+        @Override
+        public void onComplete(AsyncEvent event)
+        {
+            permits.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event)
+        {
+            // Permit is released when the request is completed
+        }
+
+        @Override
+        public void onError(AsyncEvent event)
+        {
+            // Permit is released when the request is completed
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event)
+        {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.time.Duration;
+
+/**
+ * Immutable snapshot of the response compression performed by a {@link RESTfulRPCAdapter}.
+ *
+ * <ul>
+ * <li> compressedResponses: Number of responses that were compressed </li>
+ * <li> uncompressedBytes: Size of these responses before compression </li>
+ * <li> compressedBytes: Size of these responses after compression </li>
+ * <li> compressionRatio: uncompressedBytes / compressedBytes, or 0 if no response was compressed </li>
+ * <li> cpuTime: CPU time spent for writing these responses, including their serialization </li>
+ * </ul>
+ */
+public final class CompressionStatistics
+{
+    private final long compressedResponses;
+    private final long uncompressedBytes;
+    private final long compressedBytes;
+    private final double compressionRatio;
+    private final long cpuTimeNanos;
+
+    CompressionStatistics(long compressedResponses, long uncompressedBytes, long compressedBytes, long cpuTimeNanos)
+    {
+        this.compressedResponses = compressedResponses;
+        this.uncompressedBytes = uncompressedBytes;
+        this.compressedBytes = compressedBytes;
+        this.compressionRatio = (compressedBytes == 0) ? 0 : (double) uncompressedBytes / compressedBytes;
+        this.cpuTimeNanos = cpuTimeNanos;
+    }
+
+    public long getCompressedResponses()
+    {
+        return compressedResponses;
+    }
+
+    public long getUncompressedBytes()
+    {
+        return uncompressedBytes;
+    }
+
+    public long getCompressedBytes()
+    {
+        return compressedBytes;
+    }
+
+    public double getCompressionRatio()
+    {
+        return compressionRatio;
+    }
+
+    public Duration getCpuTime()
+    {
+        return Duration.ofNanos(cpuTimeNanos);
+    }
+}
@@ -0,0 +1,110 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import io.javalin.http.Context;
+
+/**
+ * Selects the {@link PayloadFormat} of a request by its header `Content-Type` and the format of the response by
+ * header `Accept`. JSON is used if a request or response does not explicitly ask for an available binary format, so
+ * that browsers and existing clients are not affected.
+ */
+class ContentNegotiation
+{
+    private final Map<String, PayloadFormat> binaryFormats = new HashMap<>();
+
+    ContentNegotiation(Collection<PayloadFormat> binaryFormats)
+    {
+        binaryFormats.forEach(format -> this.binaryFormats.put(format.getMediaType(), format));
+    }
+
+    boolean isBinaryFormatAvailable()
+    {
+        return !binaryFormats.isEmpty();
+    }
+
+    PayloadFormat getRequestFormat(Context httpContext)
+    {
+        var contentType = httpContext.header("Content-Type");
+        if (contentType == null || binaryFormats.isEmpty())
+        {
+            return PayloadFormat.JSON_FORMAT;
+        }
+
+        return binaryFormats.getOrDefault(getMediaType(contentType), PayloadFormat.JSON_FORMAT);
+    }
+
+    /**
+     * Returns the available format with the highest quality value in header `Accept`. If several formats have the
+     * same quality value, the first one is used.
+     */
+    PayloadFormat getResponseFormat(Context httpContext)
+    {
+        var accept = httpContext.header("Accept");
+        if (accept == null || binaryFormats.isEmpty())
+        {
+            return PayloadFormat.JSON_FORMAT;
+        }
+
+        var result = PayloadFormat.JSON_FORMAT;
+        var resultQuality = 0.0;
+
+        for (var acceptedType : accept.split(","))
+        {
+            var mediaType = getMediaType(acceptedType);
+            var quality = getQuality(acceptedType);
+
+            if (quality > resultQuality)
+            {
+                if (binaryFormats.containsKey(mediaType))
+                {
+                    result = binaryFormats.get(mediaType);
+                    resultQuality = quality;
+                }
+                else if (isJSONAccepted(mediaType))
+                {
+                    result = PayloadFormat.JSON_FORMAT;
+                    resultQuality = quality;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean isJSONAccepted(String mediaType)
+    {
+        return mediaType.equals(PayloadFormat.JSON) || mediaType.equals("application/*") || mediaType.equals("*/*");
+    }
+
+    private static String getMediaType(String headerValue)
+    {
+        var separator = headerValue.indexOf(';');
+        var mediaType = (separator < 0) ? headerValue : headerValue.substring(0, separator);
+        return mediaType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static double getQuality(String headerValue)
+    {
+        for (var parameter : headerValue.split(";"))
+        {
+            var trimmedParameter = parameter.trim();
+            if (trimmedParameter.startsWith("q="))
+            {
+                try
+                {
+                    return Double.parseDouble(trimmedParameter.substring(2));
+                }
+                catch (NumberFormatException e)
+                {
+                    return 0;
+                }
+            }
+        }
+
+        return 1;
+    }
+}
@@ -0,0 +1,511 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import io.jexxa.utils.JexxaLogger;
+
+/**
+ * Offers the items of a {@link Flow.Publisher} as server-sent events (see
+ * https://html.spec.whatwg.org/multipage/server-sent-events.html) to any number of clients.
+ * <br>
+ * The publisher is requested once when the first client connects, and its subscription is cancelled when the last
+ * client disconnects. Each item is serialized only once into an event of the form {@code data: <item as JSON>},
+ * which is then written to all connected clients. An error of the publisher is sent as event {@code error} including
+ * the exception before all clients are disconnected.
+ * <br>
+ * Each client has a bounded queue of pending events, which is written by the given executor. So a slow client does
+ * not delay other clients or the publisher. If its queue is full, the client is disconnected. A disconnected client is
+ * detected when the next event is written to it.
+ * <br>
+ * The lock of an EventStream only guards its subscription and the set of its clients. The publisher is created,
+ * subscribed and cancelled, and the response is written, without holding this lock. So a slow publisher or client
+ * does not block other clients from connecting or disconnecting.
+ */
+class EventStream
+{
+    static final String CONTENT_TYPE = "text/event-stream";
+
+    private static final byte[] DATA_FIELD = "data: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ERROR_FIELDS = "event: error\ndata: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END_OF_EVENT = "\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final PublisherFactory publisherFactory;
+    private final EventSerializer eventSerializer;
+    private final EventSerializer errorSerializer;
+    private final Executor executor;
+    private final int maxPendingEvents;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    // Guarded by lock. Read without lock to check if a signal belongs to the current subscription
+    private volatile Upstream upstream;
+    // Number of clients that are connecting but not yet included in clients. Guarded by lock
+    private int connectingClients;
+
+    /**
+     * @param publisherFactory is called when the first client connects
+     * @param eventSerializer serializes an item of the publisher into JSON
+     * @param errorSerializer serializes an exception of the publisher into JSON
+     * @param executor writes the pending events of the clients
+     * @param maxPendingEvents maximum number of events that are not yet written to a client
+     */
+    EventStream(PublisherFactory publisherFactory, EventSerializer eventSerializer, EventSerializer errorSerializer, Executor executor, int maxPendingEvents)
+    {
+        this.publisherFactory = publisherFactory;
+        this.eventSerializer = eventSerializer;
+        this.errorSerializer = errorSerializer;
+        this.executor = executor;
+        this.maxPendingEvents = maxPendingEvents;
+    }
+
+    /**
+     * Sends the header of an event stream and keeps the request open until the client or this stream disconnects.
+     * If the publisher cannot be created, the exception is thrown before anything is written into the response.
+     */
+    void connect(HttpServletRequest request, HttpServletResponse response) throws Exception
+    {
+        Upstream newUpstream = null;
+
+        lock.lock();
+        try
+        {
+            ++connectingClients;
+            if (upstream == null)
+            {
+                newUpstream = new Upstream();
+                upstream = newUpstream;
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        Client client = null;
+        try
+        {
+            if (newUpstream != null)
+            {
+                subscribe(newUpstream);
+            }
+
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(CONTENT_TYPE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader("Cache-Control", "no-cache");
+
+            var asyncContext = request.startAsync(request, response);
+            asyncContext.setTimeout(0);
+
+            client = new Client(asyncContext, response.getOutputStream());
+            asyncContext.addListener(client);
+        }
+        finally
+        {
+            addClient(client);
+        }
+    }
+
+    int getClients()
+    {
+        return clients.size();
+    }
+
+    /**
+     * Disconnects all clients and cancels the subscription of the publisher
+     */
+    void close()
+    {
+        Upstream cancelledUpstream;
+        List<Client> closedClients;
+
+        lock.lock();
+        try
+        {
+            cancelledUpstream = detachUpstream();
+            closedClients = List.copyOf(clients);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        closedClients.forEach(Client::close);
+        cancel(cancelledUpstream);
+    }
+
+    /**
+     * Subscribes a new subscription of the publisher. If the publisher cannot be created, all clients of this
+     * subscription are disconnected
+     */
+    private void subscribe(Upstream newUpstream) throws Exception
+    {
+        Flow.Publisher<?> publisher;
+        try
+        {
+            publisher = publisherFactory.create();
+        }
+        catch (Exception e)
+        {
+            complete(newUpstream);
+            throw e;
+        }
+
+        publisher.subscribe(newUpstream);
+    }
+
+    /**
+     * Finishes a call of {@link #connect(HttpServletRequest, HttpServletResponse)}
+     *
+     * @param client the connected client, or null if connecting failed
+     */
+    private void addClient(Client client)
+    {
+        Upstream cancelledUpstream = null;
+        var closeClient = false;
+
+        lock.lock();
+        try
+        {
+            --connectingClients;
+            if (client != null && upstream != null)
+            {
+                clients.add(client);
+            }
+            else
+            {
+                // Either connecting failed, or the subscription completed while connecting so that the client is
+                // disconnected as all other clients
+                closeClient = (client != null);
+                cancelledUpstream = clients.isEmpty() && connectingClients == 0 ? detachUpstream() : null;
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        if (closeClient)
+        {
+            client.close();
+        }
+        else if (client != null)
+        {
+            // The header is sent after the client is added, so that it receives all events published after connecting
+            client.start();
+        }
+        cancel(cancelledUpstream);
+    }
+
+    private void disconnect(Client client)
+    {
+        Upstream cancelledUpstream = null;
+
+        lock.lock();
+        try
+        {
+            if (clients.remove(client) && clients.isEmpty() && connectingClients == 0)
+            {
+                cancelledUpstream = detachUpstream();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        cancel(cancelledUpstream);
+    }
+
+    // Must be called while holding the lock
+    private Upstream detachUpstream()
+    {
+        var result = upstream;
+        upstream = null;
+        return result;
+    }
+
+    private static void cancel(Upstream cancelledUpstream)
+    {
+        if (cancelledUpstream != null)
+        {
+            cancelledUpstream.cancel();
+        }
+    }
+
+    private boolean isCurrent(Upstream subscriber)
+    {
+        return upstream == subscriber;
+    }
+
+    private void send(Upstream subscriber, byte[] eventFields, EventSerializer serializer, Object value)
+    {
+        if (!isCurrent(subscriber))
+        {
+            return;
+        }
+
+        byte[] event;
+        try
+        {
+            event = toEvent(eventFields, serializer.toJson(value));
+        }
+        catch (IOException | RuntimeException e)
+        {
+            JexxaLogger.getLogger(EventStream.class).warn("Could not serialize event of type {}: {}", value.getClass().getName(), e.getMessage());
+            return;
+        }
+
+        clients.forEach(client -> client.send(event));
+    }
+
+    private void complete(Upstream subscriber)
+    {
+        List<Client> closedClients = List.of();
+
+        lock.lock();
+        try
+        {
+            if (upstream == subscriber)
+            {
+                upstream = null;
+                closedClients = List.copyOf(clients);
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        closedClients.forEach(Client::close);
+    }
+
+    static byte[] toEvent(byte[] eventFields, byte[] json)
+    {
+        var event = new byte[eventFields.length + json.length + END_OF_EVENT.length];
+        System.arraycopy(eventFields, 0, event, 0, eventFields.length);
+        System.arraycopy(json, 0, event, eventFields.length, json.length);
+        System.arraycopy(END_OF_EVENT, 0, event, eventFields.length + json.length, END_OF_EVENT.length);
+        return event;
+    }
+
+    @FunctionalInterface
+    interface PublisherFactory
+    {
+        Flow.Publisher<?> create() throws Exception;
+    }
+
+    @FunctionalInterface
+    interface EventSerializer
+    {
+        byte[] toJson(Object value) throws IOException;
+    }
+
+    /**
+     * The subscriber of a single subscription of the publisher. Signals of a cancelled subscription are ignored.
+     */
+    private class Upstream implements Flow.Subscriber<Object>
+    {
+        // Both fields are volatile, so that either cancel() sees the subscription or onSubscribe sees isCancelled
+        private volatile Flow.Subscription subscription;
+        private volatile boolean isCancelled;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription)
+        {
+            this.subscription = subscription;
+            if (isCancelled)
+            {
+                subscription.cancel();
+                return;
+            }
+
+            // Slow clients are handled by the queue of each client, so that the publisher is never throttled
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Object item)
+        {
+            send(this, DATA_FIELD, eventSerializer, item);
+        }
+
+        @Override
+        public void onError(Throwable throwable)
+        {
+            send(this, ERROR_FIELDS, errorSerializer, throwable);
+            complete(this);
+        }
+
+        @Override
+        public void onComplete()
+        {
+            complete(this);
+        }
+
+        // Cancelling a subscription twice has no effect, see Reactive Streams rule 3.7
+        void cancel()
+        {
+            isCancelled = true;
+            var currentSubscription = subscription;
+            if (currentSubscription != null)
+            {
+                currentSubscription.cancel();
+            }
+        }
+    }
+
+    private class Client implements AsyncListener
+    {
+        private final AsyncContext asyncContext;
+        private final ServletOutputStream outputStream;
+        private final Queue<byte[]> pendingEvents = new ArrayBlockingQueue<>(maxPendingEvents);
+        private final AtomicBoolean isWriting = new AtomicBoolean();
+        private final AtomicBoolean isCompleted = new AtomicBoolean();
+        private volatile boolean isClosed;
+
+        Client(AsyncContext asyncContext, ServletOutputStream outputStream)
+        {
+            this.asyncContext = asyncContext;
+            this.outputStream = outputStream;
+        }
+
+        void send(byte[] event)
+        {
+            if (!pendingEvents.offer(event))
+            {
+                JexxaLogger.getLogger(EventStream.class).warn("Disconnect client of event stream because {} events are pending", maxPendingEvents);
+                pendingEvents.clear();
+                isClosed = true;
+            }
+
+            scheduleWrite();
+        }
+
+        /**
+         * Sends the header of the event stream, which is written with the first flush
+         */
+        void start()
+        {
+            scheduleWrite();
+        }
+
+        /**
+         * Disconnects the client after all pending events are written
+         */
+        void close()
+        {
+            isClosed = true;
+            scheduleWrite();
+        }
+
+        private void scheduleWrite()
+        {
+            if (isWriting.compareAndSet(false, true))
+            {
+                try
+                {
+                    executor.execute(this::write);
+                }
+                catch (RejectedExecutionException e)
+                {
+                    isClosed = true;
+                    complete();
+                }
+            }
+        }
+
+        /**
+         * Writes all pending events with a single flush. Only one thread writes to a client at a time.
+         */
+        private void write()
+        {
+            try
+            {
+                byte[] event;
+                while ((event = pendingEvents.poll()) != null)
+                {
+                    outputStream.write(event);
+                }
+                outputStream.flush();
+            }
+            catch (IOException e)
+            {
+                pendingEvents.clear();
+                isClosed = true;
+            }
+
+            if (isClosed)
+            {
+                complete();
+                return;
+            }
+
+            isWriting.set(false);
+
+            // Events added after the loop above must be written by a new task
+            if (!pendingEvents.isEmpty())
+            {
+                scheduleWrite();
+            }
+        }
+
+        private void complete()
+        {
+            if (isCompleted.compareAndSet(false, true))
+            {
+                disconnect(this);
+                try
+                {
+                    asyncContext.complete();
+                }
+                catch (IllegalStateException e)
+                {
+                    // Request is already completed, e.g. because the connection was closed
+                }
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event)
+        {
+            isCompleted.set(true);
+            disconnect(this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event)
+        {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event)
+        {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event)
+        {
+            // Asynchronous processing is started only once
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import io.jexxa.utils.JexxaLogger;
+import io.jexxa.utils.StacklessException;
+
+/**
+ * Maps an exception thrown by a port method to the JSON object included in the response.
+ * <br>
+ * In {@link #FULL} format, the exception including its stack trace is serialized by Gson, as done by previous
+ * versions of Jexxa:
+ * <pre>
+ * {@code
+ *   {
+ *     "Exception": "<exception as json>",
+ *     "ExceptionType": "<Type of the exception>",
+ *     "ApplicationType": "application/json"
+ *   }
+ * }
+ * </pre>
+ *
+ * In {@link #COMPACT} format, only type and message of the exception are included. The stack trace is only included
+ * if enabled and if the exception provides one, so that exceptions such as {@link StacklessException} that do not
+ * capture a stack trace are not affected:
+ * <pre>
+ * {@code
+ *   {
+ *     "ExceptionType": "<Type of the exception>",
+ *     "Message": "<message of the exception, if any>",
+ *     "StackTrace": ["<stack trace element>", ...],
+ *     "ApplicationType": "application/json"
+ *   }
+ * }
+ * </pre>
+ *
+ * The serializer of each exception type is created only once. If an exception cannot be serialized in {@link #FULL}
+ * format, e.g. because Java 17 or later denies reflective access to the fields of {@link Throwable}, the
+ * {@link #COMPACT} format including the stack trace is used.
+ */
+class ExceptionWriter
+{
+    static final String FULL = "full";
+    static final String COMPACT = "compact";
+
+    private static final String APPLICATION_TYPE = "application/json";
+
+    private final Gson gson;
+    private final boolean compact;
+    private final boolean includeStackTrace;
+    private final Map<Class<?>, ExceptionSerializer> serializers = new ConcurrentHashMap<>();
+
+    ExceptionWriter(Gson gson, boolean compact, boolean includeStackTrace)
+    {
+        this.gson = gson;
+        this.compact = compact;
+        this.includeStackTrace = includeStackTrace;
+    }
+
+    JsonObject toJson(Throwable exception)
+    {
+        return serializers
+                .computeIfAbsent(exception.getClass(), this::createSerializer)
+                .toJson(exception);
+    }
+
+    private ExceptionSerializer createSerializer(Class<?> exceptionType)
+    {
+        if (compact)
+        {
+            var withStackTrace = includeStackTrace && !StacklessException.class.isAssignableFrom(exceptionType);
+            return new CompactSerializer(exceptionType.getName(), withStackTrace);
+        }
+
+        return new FullSerializer(exceptionType.getName(), gson, new CompactSerializer(exceptionType.getName(), true));
+    }
+
+    private interface ExceptionSerializer
+    {
+        JsonObject toJson(Throwable exception);
+    }
+
+    private static class CompactSerializer implements ExceptionSerializer
+    {
+        private final String exceptionType;
+        private final boolean includeStackTrace;
+
+        CompactSerializer(String exceptionType, boolean includeStackTrace)
+        {
+            this.exceptionType = exceptionType;
+            this.includeStackTrace = includeStackTrace;
+        }
+
+        @Override
+        public JsonObject toJson(Throwable exception)
+        {
+            var exceptionWrapper = new JsonObject();
+            exceptionWrapper.addProperty("ExceptionType", exceptionType);
+            exceptionWrapper.addProperty("Message", exception.getMessage());
+
+            if (includeStackTrace)
+            {
+                var stackTrace = exception.getStackTrace();
+                if (stackTrace.length > 0)
+                {
+                    var stackTraceElements = new JsonArray(stackTrace.length);
+                    for (var stackTraceElement : stackTrace)
+                    {
+                        stackTraceElements.add(stackTraceElement.toString());
+                    }
+                    exceptionWrapper.add("StackTrace", stackTraceElements);
+                }
+            }
+
+            exceptionWrapper.addProperty("ApplicationType", APPLICATION_TYPE);
+            return exceptionWrapper;
+        }
+    }
+
+    private static class FullSerializer implements ExceptionSerializer
+    {
+        private static final String APPLICATION_TYPE_JSON = new Gson().toJson(APPLICATION_TYPE);
+
+        private final String exceptionType;
+        private final Gson gson;
+        private final CompactSerializer fallback;
+        private volatile TypeAdapter<Throwable> typeAdapter;
+        private volatile boolean useFallback = false;
+
+        FullSerializer(String exceptionType, Gson gson, CompactSerializer fallback)
+        {
+            this.exceptionType = exceptionType;
+            this.gson = gson;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public JsonObject toJson(Throwable exception)
+        {
+            if (!useFallback)
+            {
+                try
+                {
+                    exception.getStackTrace(); // Ensures that stack trace is filled in
+
+                    var exceptionWrapper = new JsonObject();
+                    exceptionWrapper.addProperty("ExceptionType", exceptionType);
+                    exceptionWrapper.addProperty("Exception", getTypeAdapter(exception).toJson(exception));
+                    exceptionWrapper.addProperty("ApplicationType", APPLICATION_TYPE_JSON);
+                    return exceptionWrapper;
+                }
+                catch (RuntimeException e)
+                {
+                    useFallback = true;
+                    JexxaLogger.getLogger(RESTfulRPCAdapter.class).warn("Could not serialize exception {} => Use compact format instead: {}", exceptionType, e.toString());
+                }
+            }
+
+            return fallback.toJson(exception);
+        }
+
+        @SuppressWarnings("unchecked")
+        private TypeAdapter<Throwable> getTypeAdapter(Throwable exception)
+        {
+            var result = typeAdapter;
+            if (result == null)
+            {
+                result = (TypeAdapter<Throwable>) gson.getAdapter(exception.getClass());
+                typeAdapter = result;
+            }
+            return result;
+        }
+    }
+}
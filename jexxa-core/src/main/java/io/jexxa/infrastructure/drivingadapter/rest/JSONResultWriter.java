@@ -0,0 +1,362 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.BaseStream;
+
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.gson.stream.JsonWriter;
+import io.javalin.http.Context;
+import io.jexxa.utils.JexxaLogger;
+import io.jexxa.utils.json.JSONConverter;
+import org.eclipse.jetty.server.Request;
+
+/**
+ * Writes the result of a method as JSON directly into the output stream of the response, instead of creating a
+ * single String that contains the entire result. If the result does not fit into the buffer of the response,
+ * it is sent with chunked transfer encoding.
+ * <br>
+ * Each value is written by the streaming methods of the {@link JSONConverter}.
+ * <br>
+ * A result of type {@link java.util.stream.Stream} or {@link Iterable} is written as JSON array while it is consumed, so
+ * that its elements are never materialized. A stream is closed after it is written. Such a result can read the state of
+ * its port lazily, so that it must be consumed while the lock of the port is held (see {@link #isLazy(Object)}).
+ * Therefore, it is serialized into a bounded buffer by {@link #buffer(Context, Object, int)} while the lock is held,
+ * and written after the lock is released, so that a slow client does not delay other calls of the port. If writing
+ * fails after the response is committed, the connection is aborted so that the client does not receive a truncated
+ * result with status 200.
+ * <br>
+ * The format of the result is selected by {@link ContentNegotiation}, and the result is compressed as defined by
+ * {@link ResponseCompression}.
+ */
+class JSONResultWriter
+{
+    private static final int BUFFER_SIZE = 8192;
+
+    private final JSONConverter jsonConverter;
+    private final ResponseCompression responseCompression;
+    private final ContentNegotiation contentNegotiation;
+
+    JSONResultWriter(JSONConverter jsonConverter, ResponseCompression responseCompression, ContentNegotiation contentNegotiation)
+    {
+        this.jsonConverter = jsonConverter;
+        this.responseCompression = responseCompression;
+        this.contentNegotiation = contentNegotiation;
+    }
+
+    void write(Context httpContext, Object result) throws IOException
+    {
+        var payloadFormat = contentNegotiation.getResponseFormat(httpContext);
+        try
+        {
+            serialize(payloadFormat, createOutputStream(httpContext, payloadFormat), result);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            if (!httpContext.res.isCommitted())
+            {
+                // Nothing is sent yet, so that the exception is reported instead of the result
+                httpContext.res.reset();
+                throw e;
+            }
+
+            JexxaLogger.getLogger(JSONResultWriter.class).warn("Abort response because writing the result failed: {}", e.getMessage());
+            Request.getBaseRequest(httpContext.req).getHttpChannel().abort(e);
+        }
+    }
+
+    /**
+     * Returns true if given result reads its elements when it is written, such as a {@link java.util.stream.Stream} or
+     * an {@link Iterable} that is not a {@link Collection}
+     */
+    static boolean isLazy(Object result)
+    {
+        return result instanceof BaseStream || (result instanceof Iterable && !(result instanceof Collection));
+    }
+
+    /**
+     * Collects the elements of a lazy result (see {@link #isLazy(Object)}) into a list, so that it can be written after
+     * the lock of its port is released. A stream is closed afterwards. All other results are returned unchanged.
+     */
+    static Object materialize(Object result)
+    {
+        if (!isLazy(result))
+        {
+            return result;
+        }
+
+        var elements = new ArrayList<>();
+        if (result instanceof BaseStream)
+        {
+            try (var stream = (BaseStream<?, ?>) result)
+            {
+                stream.iterator().forEachRemaining(elements::add);
+            }
+        }
+        else
+        {
+            ((Iterable<?>) result).forEach(elements::add);
+        }
+        return elements;
+    }
+
+    /**
+     * Serializes a lazy result (see {@link #isLazy(Object)}) in the format of the response, so that it can be written
+     * after the lock of its port is released. A stream is closed afterwards. All other results are returned unchanged.
+     *
+     * @param maxSize maximum size of the serialized result in bytes
+     * @return the serialized result, which is written as is by this class
+     * @throws ResultTooLargeException if the serialized result exceeds maxSize
+     */
+    Object buffer(Context httpContext, Object result, int maxSize) throws IOException
+    {
+        if (!isLazy(result))
+        {
+            return result;
+        }
+
+        var outputStream = new BoundedOutputStream(maxSize);
+        serialize(contentNegotiation.getResponseFormat(httpContext), outputStream, result);
+        return new SerializedResult(outputStream.toByteArray());
+    }
+
+    /**
+     * Writes an already serialized result into the response
+     */
+    void write(Context httpContext, PayloadFormat payloadFormat, byte[] serializedResult) throws IOException
+    {
+        try (var outputStream = createOutputStream(httpContext, payloadFormat))
+        {
+            outputStream.write(serializedResult, 0, serializedResult.length);
+        }
+    }
+
+    byte[] toByteArray(PayloadFormat payloadFormat, Object result) throws IOException
+    {
+        if (result instanceof SerializedResult)
+        {
+            return ((SerializedResult) result).body;
+        }
+
+        var outputStream = new ByteArrayOutputStream();
+        serialize(payloadFormat, outputStream, result);
+        return outputStream.toByteArray();
+    }
+
+    private void serialize(PayloadFormat payloadFormat, OutputStream outputStream, Object result) throws IOException
+    {
+        if (result instanceof SerializedResult)
+        {
+            var body = ((SerializedResult) result).body;
+            try (outputStream)
+            {
+                outputStream.write(body, 0, body.length);
+            }
+            return;
+        }
+
+        try (var jsonWriter = payloadFormat.newJsonWriter(jsonConverter, outputStream))
+        {
+            writeValue(jsonWriter, result);
+        }
+    }
+
+    private OutputStream createOutputStream(Context httpContext, PayloadFormat payloadFormat)
+    {
+        httpContext.contentType(payloadFormat.getMediaType());
+        if (contentNegotiation.isBinaryFormatAvailable())
+        {
+            httpContext.res.addHeader("Vary", "Accept");
+        }
+
+        return new DynamicCompressionOutputStream(
+                httpContext.res,
+                responseCompression,
+                responseCompression.getContentEncoding(httpContext, payloadFormat.getMediaType())
+        );
+    }
+
+    private void writeValue(JsonWriter jsonWriter, Object value) throws IOException
+    {
+        if (value instanceof BaseStream)
+        {
+            try (var stream = (BaseStream<?, ?>) value)
+            {
+                writeArray(jsonWriter, stream.iterator());
+            }
+        }
+        else if (value instanceof Iterable)
+        {
+            writeArray(jsonWriter, ((Iterable<?>) value).iterator());
+        }
+        else
+        {
+            jsonConverter.toJson(value, jsonWriter);
+        }
+    }
+
+    private void writeArray(JsonWriter jsonWriter, Iterator<?> iterator) throws IOException
+    {
+        jsonWriter.beginArray();
+        while (iterator.hasNext())
+        {
+            jsonConverter.toJson(iterator.next(), jsonWriter);
+        }
+        jsonWriter.endArray();
+    }
+
+    /**
+     * Signals that a lazy result exceeds the size of the buffer used to write it after the lock of its port is released
+     */
+    static class ResultTooLargeException extends RuntimeException
+    {
+        private static final long serialVersionUID = 1L;
+
+        ResultTooLargeException(String message)
+        {
+            super(message);
+        }
+    }
+
+    /**
+     * Result that is already serialized in the format of the response
+     */
+    private static class SerializedResult
+    {
+        private final byte[] body;
+
+        SerializedResult(byte[] body)
+        {
+            this.body = body;
+        }
+    }
+
+    private static class BoundedOutputStream extends ByteArrayOutputStream
+    {
+        private final int maxSize;
+
+        BoundedOutputStream(int maxSize)
+        {
+            super(Math.min(maxSize, BUFFER_SIZE));
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public synchronized void write(int b)
+        {
+            ensureSize(1);
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] data, int offset, int length)
+        {
+            ensureSize(length);
+            super.write(data, offset, length);
+        }
+
+        private void ensureSize(int length)
+        {
+            if (count + length > maxSize)
+            {
+                throw new ResultTooLargeException("Result exceeds maximum size of " + maxSize + " bytes");
+            }
+        }
+    }
+
+    /**
+     * Buffers the first bytes of a result to decide if it is compressed. Afterwards, all data is directly written
+     * to the output stream of the response.
+     */
+    private static class DynamicCompressionOutputStream extends OutputStream
+    {
+        private final HttpServletResponse response;
+        private final ResponseCompression responseCompression;
+        private final String contentEncoding;
+        private byte[] buffer;
+        private int count = 0;
+        private OutputStream outputStream;
+
+        DynamicCompressionOutputStream(HttpServletResponse response, ResponseCompression responseCompression, String contentEncoding)
+        {
+            this.response = response;
+            this.responseCompression = responseCompression;
+            this.contentEncoding = contentEncoding;
+            this.buffer = new byte[Math.min(responseCompression.getMinSize(), BUFFER_SIZE)];
+        }
+
+        @Override
+        public void write(int b) throws IOException
+        {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] data, int offset, int length) throws IOException
+        {
+            if (outputStream == null)
+            {
+                if (count + length <= responseCompression.getMinSize())
+                {
+                    ensureCapacity(count + length);
+                    System.arraycopy(data, offset, buffer, count, length);
+                    count += length;
+                    return;
+                }
+                openOutputStream();
+            }
+
+            outputStream.write(data, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException
+        {
+            // Data is only flushed after we decided about compression
+            if (outputStream != null)
+            {
+                outputStream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if (outputStream == null)
+            {
+                response.setContentLength(count);
+                outputStream = response.getOutputStream();
+                outputStream.write(buffer, 0, count);
+            }
+            outputStream.close();
+        }
+
+        private void ensureCapacity(int capacity)
+        {
+            if (capacity > buffer.length)
+            {
+                buffer = Arrays.copyOf(buffer, Math.min(Math.max(capacity, 2 * buffer.length), responseCompression.getMinSize()));
+            }
+        }
+
+        private void openOutputStream() throws IOException
+        {
+            if (contentEncoding != null)
+            {
+                response.setHeader("Content-Encoding", contentEncoding);
+                outputStream = responseCompression.compress(response.getOutputStream(), contentEncoding);
+            }
+            else
+            {
+                outputStream = response.getOutputStream();
+            }
+            outputStream.write(buffer, 0, count);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.jexxa.utils.JexxaLogger;
+import io.jexxa.utils.json.JSONConverter;
+import io.jexxa.utils.json.JacksonJsonReader;
+import io.jexxa.utils.json.JacksonJsonWriter;
+
+/**
+ * Format of the parameters and the result of a method. The default format is JSON which is processed by the
+ * streaming reader and writer of the {@link JSONConverter}.
+ * <br>
+ * Binary formats are based on the data model of JSON and processed by the streaming API of Jackson, so that the
+ * same JSONConverter is used for all formats. A binary format is only available if the corresponding
+ * Jackson module is included in the classpath:
+ * <ul>
+ *   <li>{@value #CBOR}: com.fasterxml.jackson.dataformat:jackson-dataformat-cbor</li>
+ *   <li>{@value #SMILE}: com.fasterxml.jackson.dataformat:jackson-dataformat-smile</li>
+ *   <li>{@value #MESSAGE_PACK}: org.msgpack:jackson-dataformat-msgpack</li>
+ * </ul>
+ */
+class PayloadFormat
+{
+    static final String JSON = "application/json";
+    static final String CBOR = "application/cbor";
+    static final String SMILE = "application/x-jackson-smile";
+    static final String MESSAGE_PACK = "application/x-msgpack";
+
+    static final PayloadFormat JSON_FORMAT = new PayloadFormat(JSON, null);
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final Map<String, String> BINARY_FORMATS = new LinkedHashMap<>();
+
+    static
+    {
+        BINARY_FORMATS.put(CBOR, "com.fasterxml.jackson.dataformat.cbor.CBORFactory");
+        BINARY_FORMATS.put(SMILE, "com.fasterxml.jackson.dataformat.smile.SmileFactory");
+        BINARY_FORMATS.put(MESSAGE_PACK, "org.msgpack.jackson.dataformat.MessagePackFactory");
+    }
+
+    private final String mediaType;
+    private final JsonFactory jsonFactory;
+
+    private PayloadFormat(String mediaType, JsonFactory jsonFactory)
+    {
+        this.mediaType = mediaType;
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * @return all binary formats whose Jackson module is included in the classpath
+     */
+    static List<PayloadFormat> getAvailableBinaryFormats()
+    {
+        var result = new ArrayList<PayloadFormat>();
+
+        BINARY_FORMATS.forEach((mediaType, factoryClass) -> {
+            try
+            {
+                var jsonFactory = (JsonFactory) Class.forName(factoryClass).getConstructor().newInstance();
+                result.add(new PayloadFormat(mediaType, jsonFactory));
+            }
+            catch (ClassNotFoundException e)
+            {
+                // Format is not available
+            }
+            catch (ReflectiveOperationException | LinkageError e)
+            {
+                JexxaLogger.getLogger(PayloadFormat.class).warn("Format {} is not available because {} could not be created: {}", mediaType, factoryClass, e.toString());
+            }
+        });
+
+        return result;
+    }
+
+    String getMediaType()
+    {
+        return mediaType;
+    }
+
+    boolean isBinary()
+    {
+        return jsonFactory != null;
+    }
+
+    JsonReader newJsonReader(JSONConverter jsonConverter, InputStream inputStream, Charset charset) throws IOException
+    {
+        if (!isBinary())
+        {
+            return jsonConverter.newJsonReader(new InputStreamReader(inputStream, charset));
+        }
+
+        return new JacksonJsonReader(jsonFactory.createParser(inputStream));
+    }
+
+    JsonWriter newJsonWriter(JSONConverter jsonConverter, OutputStream outputStream) throws IOException
+    {
+        if (!isBinary())
+        {
+            return jsonConverter.newJsonWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE));
+        }
+
+        // Null values are only written if the JSONConverter writes them
+        return new JacksonJsonWriter(jsonFactory.createGenerator(outputStream), false);
+    }
+}
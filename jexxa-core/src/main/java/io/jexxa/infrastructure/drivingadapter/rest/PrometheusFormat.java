@@ -0,0 +1,144 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.util.Collection;
+import java.util.function.ToDoubleFunction;
+
+import io.jexxa.infrastructure.drivingadapter.EndpointStatistics;
+
+/**
+ * Writes {@link EndpointStatistics} in the text-based exposition format of Prometheus
+ * (see https://prometheus.io/docs/instrumenting/exposition_formats/). Each endpoint is identified by labels
+ * {@code method} and {@code path}:
+ * <pre>
+ * {@code
+ *   jexxa_rest_request_duration_seconds_bucket{method="GET",path="/MyApplicationService/myMethod",le="1.31072E-4"} 9990
+ *   ...
+ *   jexxa_rest_request_duration_seconds_bucket{method="GET",path="/MyApplicationService/myMethod",le="+Inf"} 10000
+ *   jexxa_rest_request_duration_seconds_sum{method="GET",path="/MyApplicationService/myMethod"} 1.52
+ *   jexxa_rest_request_duration_seconds_count{method="GET",path="/MyApplicationService/myMethod"} 10000
+ *   jexxa_rest_request_errors_total{method="GET",path="/MyApplicationService/myMethod"} 3
+ *   ...
+ *   jexxa_rest_compression_ratio 4.2
+ *   jexxa_rest_compression_cpu_seconds_total 0.35
+ * }
+ * </pre>
+ *
+ * The request duration is written as histogram whose bucket boundaries are the powers of two from 2^10 ns
+ * (about 1 microsecond) to 2^36 ns (about 69 s), as recorded by the underlying {@link io.jexxa.infrastructure.drivingadapter.EndpointRecorder}.
+ * So percentiles can be calculated and aggregated across instances by {@code histogram_quantile}. The throughput of an
+ * endpoint is given by the rate of {@code jexxa_rest_request_duration_seconds_count}. The statistics of response
+ * compression are not recorded per endpoint and are therefore written without labels.
+ */
+final class PrometheusFormat
+{
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String REQUEST_DURATION = "jexxa_rest_request_duration_seconds";
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final int MIN_BUCKET_EXPONENT = 10;
+    private static final int MAX_BUCKET_EXPONENT = 36;
+
+    static String toPrometheusFormat(Collection<EndpointStatistics> endpointStatistics, CompressionStatistics compressionStatistics)
+    {
+        var result = new StringBuilder();
+
+        writeHeader(result, REQUEST_DURATION, "histogram", "Time between receiving a request and completing its response");
+        endpointStatistics.forEach(element -> {
+            var latency = element.getLatency();
+            for (int exponent = MIN_BUCKET_EXPONENT; exponent <= MAX_BUCKET_EXPONENT; ++exponent)
+            {
+                writeBucket(result, element, formatValue((1L << exponent) / NANOS_PER_SECOND), latency.getCountBelow(exponent));
+            }
+            writeBucket(result, element, "+Inf", latency.getCount());
+            writeSample(result, REQUEST_DURATION + "_sum", element, element.getTotalLatencyNanos() / NANOS_PER_SECOND);
+            writeSample(result, REQUEST_DURATION + "_count", element, latency.getCount());
+        });
+
+        writeCounter(result, "jexxa_rest_request_errors_total", "Number of requests answered with status code 400 or above",
+                endpointStatistics, EndpointStatistics::getErrors);
+        writeCounter(result, "jexxa_rest_request_bytes_total", "Number of bytes of all request bodies",
+                endpointStatistics, EndpointStatistics::getRequestBytes);
+        writeCounter(result, "jexxa_rest_response_bytes_total", "Number of bytes of all response bodies",
+                endpointStatistics, EndpointStatistics::getResponseBytes);
+
+        writeMetric(result, "jexxa_rest_compressed_responses_total", "counter", "Number of compressed responses",
+                compressionStatistics.getCompressedResponses());
+        writeMetric(result, "jexxa_rest_compression_uncompressed_bytes_total", "counter", "Number of bytes of compressed responses before compression",
+                compressionStatistics.getUncompressedBytes());
+        writeMetric(result, "jexxa_rest_compression_compressed_bytes_total", "counter", "Number of bytes of compressed responses after compression",
+                compressionStatistics.getCompressedBytes());
+        writeMetric(result, "jexxa_rest_compression_ratio", "gauge", "Number of bytes before compression divided by number of bytes after compression",
+                compressionStatistics.getCompressionRatio());
+        writeMetric(result, "jexxa_rest_compression_cpu_seconds_total", "counter", "CPU time spent for writing compressed responses",
+                compressionStatistics.getCpuTime().toNanos() / NANOS_PER_SECOND);
+
+        return result.toString();
+    }
+
+    private static void writeMetric(StringBuilder result, String name, String type, String help, double value)
+    {
+        writeHeader(result, name, type, help);
+        result.append(name).append(' ').append(formatValue(value)).append('\n');
+    }
+
+    private static void writeCounter(StringBuilder result, String name, String help, Collection<EndpointStatistics> endpointStatistics, ToDoubleFunction<EndpointStatistics> value)
+    {
+        writeHeader(result, name, "counter", help);
+        endpointStatistics.forEach(element -> writeSample(result, name, element, value.applyAsDouble(element)));
+    }
+
+    private static void writeHeader(StringBuilder result, String name, String type, String help)
+    {
+        result.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        result.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void writeBucket(StringBuilder result, EndpointStatistics endpointStatistics, String upperBound, long count)
+    {
+        result.append(REQUEST_DURATION).append("_bucket");
+        writeLabels(result, endpointStatistics, upperBound);
+        result.append(' ').append(count).append('\n');
+    }
+
+    private static void writeSample(StringBuilder result, String name, EndpointStatistics endpointStatistics, double value)
+    {
+        result.append(name);
+        writeLabels(result, endpointStatistics, null);
+        result.append(' ').append(formatValue(value)).append('\n');
+    }
+
+    private static void writeLabels(StringBuilder result, EndpointStatistics endpointStatistics, String upperBound)
+    {
+        result.append("{method=\"").append(escapeLabelValue(endpointStatistics.getMethod()))
+                .append("\",path=\"").append(escapeLabelValue(endpointStatistics.getPath())).append('"');
+
+        if (upperBound != null)
+        {
+            result.append(",le=\"").append(upperBound).append('"');
+        }
+
+        result.append('}');
+    }
+
+    private static String escapeLabelValue(String value)
+    {
+        return value.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n");
+    }
+
+    private static String formatValue(double value)
+    {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15)
+        {
+            return Long.toString((long) value);
+        }
+
+        return Double.toString(value);
+    }
+
+    private PrometheusFormat()
+    {
+        //Private constructor
+    }
+}
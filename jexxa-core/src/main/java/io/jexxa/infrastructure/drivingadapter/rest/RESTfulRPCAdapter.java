@@ -1,38 +1,79 @@
 package io.jexxa.infrastructure.drivingadapter.rest;
 
 import static io.jexxa.infrastructure.drivingadapter.rest.RESTfulRPCConvention.createRPCConvention;
+import static io.jexxa.utils.json.JSONManager.getJSONConverter;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
-
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializer;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 import io.javalin.Javalin;
 import io.javalin.core.JavalinConfig;
 import io.javalin.http.Context;
 import io.javalin.plugin.json.JavalinJson;
+import io.jexxa.infrastructure.drivingadapter.EndpointRecorder;
 import io.jexxa.infrastructure.drivingadapter.IDrivingAdapter;
+import io.jexxa.infrastructure.drivingadapter.LockTimeoutException;
+import io.jexxa.infrastructure.drivingadapter.SynchronizationFacade;
 import io.jexxa.infrastructure.drivingadapter.rest.openapi.OpenAPIConvention;
+import io.jexxa.infrastructure.synchronization.ConcurrentUpdateException;
 import io.jexxa.utils.JexxaLogger;
+import io.jexxa.utils.VirtualThreads;
+import io.jexxa.utils.json.GsonConverter;
+import io.jexxa.utils.json.JSONConverter;
 import org.apache.commons.lang3.Validate;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.server.AbstractConnectionFactory;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.SecureRequestCustomizer;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.SslConnectionFactory;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.util.BlockingArrayQueue;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
 
 
 public class RESTfulRPCAdapter implements IDrivingAdapter
@@ -43,8 +84,55 @@ public class RESTfulRPCAdapter implements IDrivingAdapter
     public static final String KEYSTORE = "io.jexxa.rest.keystore";
     public static final String KEYSTORE_PASSWORD = "io.jexxa.rest.keystore_password";
     public static final String OPEN_API_PATH = "io.jexxa.rest.open_api_path";
-
-    private static final Gson GSON = getGsonBuilder().create();
+    public static final String LOCK_STATISTICS_PATH = "io.jexxa.rest.lock_statistics_path";
+    public static final String BATCH_PATH = "io.jexxa.rest.batch_path";
+    public static final String RESPONSE_CACHE_TTL = "io.jexxa.rest.response_cache_ttl";
+    public static final String RESPONSE_CACHE_SIZE = "io.jexxa.rest.response_cache_size";
+    public static final String COMPRESSION = "io.jexxa.rest.compression";
+    public static final String COMPRESSION_MIN_SIZE = "io.jexxa.rest.compression_min_size";
+    public static final String COMPRESSION_MIME_TYPES = "io.jexxa.rest.compression_mime_types";
+    public static final String COMPRESSION_LEVEL = "io.jexxa.rest.compression_level";
+    public static final String EXECUTOR_THREADS = "io.jexxa.rest.executor_threads";
+    public static final String EXECUTOR_QUEUE_SIZE = "io.jexxa.rest.executor_queue_size";
+    public static final String VIRTUAL_THREADS = "io.jexxa.rest.virtual_threads";
+    public static final String MIN_THREADS = "io.jexxa.rest.min_threads";
+    public static final String MAX_THREADS = "io.jexxa.rest.max_threads";
+    public static final String MAX_QUEUED_REQUESTS = "io.jexxa.rest.max_queued_requests";
+    public static final String IDLE_TIMEOUT = "io.jexxa.rest.idle_timeout";
+    public static final String ACCEPTORS = "io.jexxa.rest.acceptors";
+    public static final String SELECTORS = "io.jexxa.rest.selectors";
+    public static final String MAX_CONCURRENT_REQUESTS = "io.jexxa.rest.max_concurrent_requests";
+    public static final String HTTP2 = "io.jexxa.rest.http2";
+    public static final String HTTP2_MAX_CONCURRENT_STREAMS = "io.jexxa.rest.http2_max_concurrent_streams";
+    public static final String EXCEPTION_FORMAT = "io.jexxa.rest.exception_format";
+    public static final String EXCEPTION_STACK_TRACE = "io.jexxa.rest.exception_stack_trace";
+    public static final String METRICS_PATH = "io.jexxa.rest.metrics_path";
+    public static final String RATE_LIMIT = "io.jexxa.rest.rate_limit";
+    public static final String CLIENT_RATE_LIMIT = "io.jexxa.rest.client_rate_limit";
+    public static final String CLIENT_ID_HEADER = "io.jexxa.rest.client_id_header";
+    public static final String EVENT_STREAM_BUFFER_SIZE = "io.jexxa.rest.event_stream_buffer_size";
+    public static final String WEBSOCKET_PATH = "io.jexxa.rest.websocket_path";
+    public static final String WEBSOCKET_MAX_PENDING_CALLS = "io.jexxa.rest.websocket_max_pending_calls";
+    public static final String LAZY_RESULT_BUFFER_SIZE = "io.jexxa.rest.lazy_result_buffer_size";
+
+    private static final long DEFAULT_RESPONSE_CACHE_SIZE = 16L * 1024 * 1024;
+    private static final String DEFAULT_COMPRESSION_MIN_SIZE = "1500";
+    private static final String DEFAULT_COMPRESSION_MIME_TYPES = "application/json";
+    private static final String DEFAULT_COMPRESSION_LEVEL = "6";
+    private static final String DEFAULT_EXECUTOR_QUEUE_SIZE = "1000";
+    private static final String DEFAULT_MIN_THREADS = "8";
+    private static final String DEFAULT_MAX_THREADS = "200";
+    private static final String DEFAULT_IDLE_TIMEOUT = "30000";
+    private static final String DEFAULT_ACCEPTORS = "-1";
+    private static final String DEFAULT_SELECTORS = "-1";
+    private static final String DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS = "128";
+    private static final String DEFAULT_EVENT_STREAM_BUFFER_SIZE = "1000";
+    private static final String DEFAULT_WEBSOCKET_MAX_PENDING_CALLS = "1000";
+    private static final String DEFAULT_LAZY_RESULT_BUFFER_SIZE = Integer.toString(16 * 1024 * 1024);
+
+    private static final int THREAD_IDLE_TIMEOUT = 60000;
+
+    private static final Type[] NO_PARAMETERS = new Type[0];
 
     private final Properties properties;
     private Javalin javalin;
@@ -52,12 +140,42 @@ public class RESTfulRPCAdapter implements IDrivingAdapter
     private ServerConnector sslConnector;
     private ServerConnector httpConnector;
     private OpenAPIConvention openAPIConvention;
+    private final JSONConverter jsonConverter;
+    private final ResponseCompression responseCompression;
+    private final ContentNegotiation contentNegotiation;
+    private final JSONResultWriter resultWriter;
+    private final int lazyResultBufferSize;
+    private final ExceptionWriter exceptionWriter;
+    private final ResponseCache responseCache;
+    private final ExecutorService executor;
+    private final RESTfulRPCBatch batch;
+    private final AdmissionControlHandler admissionControlHandler;
+    private final RequestMetricsHandler requestMetricsHandler;
+    private final RateLimitHandler rateLimitHandler;
+    private final List<EventStream> eventStreams = new CopyOnWriteArrayList<>();
+    private RESTfulRPCWebSocket webSocket;
 
     private static final Map<Properties, RESTfulRPCAdapter> rpcAdapterMap = new HashMap<>();
 
     private RESTfulRPCAdapter(Properties properties)
     {
         this.properties = properties;
+        this.jsonConverter = getJSONConverter();
+        this.responseCompression = createResponseCompression(properties);
+        this.contentNegotiation = new ContentNegotiation(PayloadFormat.getAvailableBinaryFormats());
+        this.resultWriter = new JSONResultWriter(jsonConverter, responseCompression, contentNegotiation);
+        this.lazyResultBufferSize = Integer.parseInt(properties.getProperty(LAZY_RESULT_BUFFER_SIZE, DEFAULT_LAZY_RESULT_BUFFER_SIZE));
+        Validate.isTrue(lazyResultBufferSize > 0, LAZY_RESULT_BUFFER_SIZE + " must be positive");
+        this.exceptionWriter = createExceptionWriter(properties);
+        this.responseCache = new ResponseCache(
+                Duration.ofSeconds(Long.parseLong(properties.getProperty(RESPONSE_CACHE_TTL, "0"))),
+                Long.parseLong(properties.getProperty(RESPONSE_CACHE_SIZE, Long.toString(DEFAULT_RESPONSE_CACHE_SIZE)))
+        );
+        this.executor = createExecutor(properties);
+        this.rateLimitHandler = createRateLimitHandler(properties);
+        this.batch = new RESTfulRPCBatch(jsonConverter, contentNegotiation, resultWriter, exceptionWriter, responseCache, rateLimitHandler);
+        this.admissionControlHandler = createAdmissionControlHandler(properties);
+        this.requestMetricsHandler = properties.containsKey(METRICS_PATH) ? new RequestMetricsHandler() : null;
 
         Validate.isTrue(isHTTPEnabled() || isHTTPSEnabled(), "Neither HTTP (" + HTTP_PORT_PROPERTY + ") nor HTTPS (" + HTTPS_PORT_PROPERTY + ") is enabled!");
 
@@ -70,6 +188,10 @@ public class RESTfulRPCAdapter implements IDrivingAdapter
         setupJavalin();
 
         registerExceptionHandler();
+        registerLockStatistics();
+        registerMetrics();
+        registerBatch();
+        registerWebSocket();
     }
 
     public static RESTfulRPCAdapter createAdapter(Properties properties)
@@ -89,6 +211,7 @@ public class RESTfulRPCAdapter implements IDrivingAdapter
         Validate.notNull(object);
         registerGETMethods(object);
         registerPOSTMethods(object);
+        registerEventStreams(object);
     }
 
 
@@ -127,7 +250,9 @@ public class RESTfulRPCAdapter implements IDrivingAdapter
     {
         rpcAdapterMap.remove(properties);
 
+        eventStreams.forEach(EventStream::close);
         javalin.stop();
+        Optional.ofNullable(executor).ifPresent(ExecutorService::shutdown);
         Optional.ofNullable(httpConnector).ifPresent(ServerConnector::close);
         Optional.ofNullable(sslConnector).ifPresent(ServerConnector::close);
     }
@@ -153,6 +278,27 @@ public class RESTfulRPCAdapter implements IDrivingAdapter
         return getHTTPPortFromProperties();
     }
 
+    public CompressionStatistics getCompressionStatistics()
+    {
+        return responseCompression.getStatistics();
+    }
+
+    /**
+     * @return number of requests rejected because {@link #MAX_CONCURRENT_REQUESTS} was exceeded
+     */
+    public long getRejectedRequests()
+    {
+        return admissionControlHandler == null ? 0 : admissionControlHandler.getRejectedRequests();
+    }
+
+    /**
+     * @return number of requests rejected because {@link #RATE_LIMIT} or {@link #CLIENT_RATE_LIMIT} was exceeded
+     */
+    public long getRateLimitedRequests()
+    {
+        return rateLimitHandler == null ? 0 : rateLimitHandler.getLimitedRequests();
+    }
+
     boolean isHTTPEnabled()
     {
         return properties.containsKey(HTTP_PORT_PROPERTY);
@@ -163,6 +309,31 @@ public class RESTfulRPCAdapter implements IDrivingAdapter
         return properties.containsKey(HTTPS_PORT_PROPERTY);
     }
 
+    /**
+     * Virtual threads are only used if they are enabled and supported by the JVM. Otherwise, Jetty's
+     * QueuedThreadPool is used.
+     */
+    boolean isVirtualThreadsEnabled()
+    {
+        if (!Boolean.parseBoolean(properties.getProperty(VIRTUAL_THREADS, "false")))
+        {
+            return false;
+        }
+
+        if (!VirtualThreads.isAvailable())
+        {
+            JexxaLogger.getLogger(RESTfulRPCAdapter.class).warn("{} is ignored because virtual threads require Java 21 or later.", VIRTUAL_THREADS);
+            return false;
+        }
+
+        return true;
+    }
+
+    boolean isHTTP2Enabled()
+    {
+        return Boolean.parseBoolean(properties.getProperty(HTTP2, "false"));
+    }
+
     String getHostname()
     {
         return properties.getProperty(HOST_PROPERTY, "0.0.0.0");
@@ -190,35 +361,146 @@ public class RESTfulRPCAdapter implements IDrivingAdapter
     }
 
     /**
-     * Mapping of exception is done as follows
-     * <pre>
-     * {@code
-     *   {
-     *     "Exception": "<exception as json>",
-     *     "ExceptionType": "<Type of the exception>",
-     *     "ApplicationType": "application/json"
-     *   }
-     * }
-     * </pre>
+     * If a call is rejected because it could not acquire the lock of a port in time, or because the queue of the executor
+     * is full, status code 503 including header `Retry-After` is returned.
      *
+     * Mapping of exception is done by {@link ExceptionWriter} in the format given by {@value #EXCEPTION_FORMAT}.
      */
     private void registerExceptionHandler()
     {
         //Exception Handler for thrown Exception from methods
         javalin.exception(InvocationTargetException.class, (e, ctx) -> {
             var targetException = e.getTargetException();
-            targetException.getStackTrace(); // Ensures that stack trace is filled in
 
-            JsonObject exceptionWrapper = new JsonObject();
-            exceptionWrapper.addProperty("ExceptionType", targetException.getClass().getName());
-            exceptionWrapper.addProperty("Exception", GSON.toJson(targetException));
-            exceptionWrapper.addProperty("ApplicationType", GSON.toJson("application/json"));
+            ctx.result(exceptionWriter.toJson(targetException).toString());
+            ctx.status(getStatusCode(targetException));
+        });
+
+        //Exception Handler for lazy results which cannot be buffered until the lock of the port is released
+        javalin.exception(JSONResultWriter.ResultTooLargeException.class, (e, ctx) -> {
+            ctx.result(exceptionWriter.toJson(e).toString());
+            ctx.status(getStatusCode(e));
+        });
+
+        //Exception Handler for calls which are rejected because the port is overloaded
+        javalin.exception(LockTimeoutException.class, (e, ctx) -> {
+            var retryAfter = Math.max(1, (e.getLockTimeout().toMillis() + 999) / 1000);
+
+            ctx.header("Retry-After", Long.toString(retryAfter));
+            ctx.status(503);
+        });
 
-            ctx.result(exceptionWrapper.toString());
-            ctx.status(400);
+        //Exception Handler for calls which are rejected because the queue of the executor is full
+        javalin.exception(RejectedExecutionException.class, (e, ctx) -> {
+            ctx.header("Retry-After", "1");
+            ctx.status(503);
         });
     }
 
+    static int getStatusCode(Throwable exception)
+    {
+        // A conflicting update is only reported if retrying the call failed in SynchronizationMode.OPTIMISTIC
+        if (exception instanceof ConcurrentUpdateException)
+        {
+            return 409;
+        }
+
+        if (exception instanceof LockTimeoutException)
+        {
+            return 503;
+        }
+
+        if (exception instanceof RejectedCallException)
+        {
+            return ((RejectedCallException) exception).getStatusCode();
+        }
+
+        if (exception instanceof JSONResultWriter.ResultTooLargeException)
+        {
+            return 500;
+        }
+
+        return 400;
+    }
+
+    /**
+     * Offers the statistics of {@link SynchronizationFacade} as follows
+     * <pre>
+     * {@code
+     *   {
+     *     "lockStatistics": [<statistics of each port method>],
+     *     "longestLockHolder": <longest current lock holder or null>,
+     *     "shedRequests": <number of calls rejected due to lock timeout>,
+     *     "conflicts": <number of conflicting updates in optimistic mode>,
+     *     "compressionStatistics": <statistics of response compression of this adapter>,
+     *     "rejectedRequests": <number of requests rejected due to io.jexxa.rest.max_concurrent_requests>,
+     *     "rateLimitedRequests": <number of requests rejected due to rate limits>
+     *   }
+     * }
+     * </pre>
+     */
+    private void registerLockStatistics()
+    {
+        if (properties.containsKey(LOCK_STATISTICS_PATH))
+        {
+            javalin.get("/" + properties.getProperty(LOCK_STATISTICS_PATH), httpContext -> {
+                var result = new HashMap<String, Object>();
+                result.put("lockStatistics", SynchronizationFacade.getLockStatistics());
+                result.put("longestLockHolder", SynchronizationFacade.getLongestLockHolder().orElse(null));
+                result.put("shedRequests", SynchronizationFacade.getShedRequests());
+                result.put("conflicts", SynchronizationFacade.getConflicts());
+                result.put("compressionStatistics", getCompressionStatistics());
+                result.put("rejectedRequests", getRejectedRequests());
+                result.put("rateLimitedRequests", getRateLimitedRequests());
+                httpContext.json(result);
+            });
+        }
+    }
+
+    /**
+     * Offers the metrics of all endpoints recorded by {@link RequestMetricsHandler} and the statistics of response
+     * compression in the text format of Prometheus as described in {@link PrometheusFormat}
+     */
+    private void registerMetrics()
+    {
+        if (requestMetricsHandler != null)
+        {
+            javalin.get("/" + properties.getProperty(METRICS_PATH), httpContext -> {
+                httpContext.contentType(PrometheusFormat.CONTENT_TYPE);
+                httpContext.result(PrometheusFormat.toPrometheusFormat(EndpointRecorder.getEndpointStatistics(), getCompressionStatistics()));
+            });
+        }
+    }
+
+    /**
+     * Offers an endpoint that executes several methods with a single request as described in {@link RESTfulRPCBatch}
+     */
+    private void registerBatch()
+    {
+        if (properties.containsKey(BATCH_PATH))
+        {
+            javalin.post("/" + properties.getProperty(BATCH_PATH), batch::handle);
+        }
+    }
+
+    /**
+     * Offers a WebSocket endpoint that executes calls of all methods concurrently as described in {@link RESTfulRPCWebSocket}
+     */
+    private void registerWebSocket()
+    {
+        if (properties.containsKey(WEBSOCKET_PATH))
+        {
+            var maxPendingCalls = Integer.parseInt(properties.getProperty(WEBSOCKET_MAX_PENDING_CALLS, DEFAULT_WEBSOCKET_MAX_PENDING_CALLS));
+            Validate.isTrue(maxPendingCalls > 0, WEBSOCKET_MAX_PENDING_CALLS + " must be positive");
+
+            // Calls are invoked by the executor of this adapter if configured. Otherwise, they are invoked by the thread pool of Jetty
+            Executor webSocketExecutor = (executor != null) ? executor : getServer().getThreadPool();
+
+            webSocket = new RESTfulRPCWebSocket(jsonConverter, resultWriter, exceptionWriter, responseCache, rateLimitHandler, admissionControlHandler, requestMetricsHandler, webSocketExecutor, maxPendingCalls);
+            javalin.ws("/" + properties.getProperty(WEBSOCKET_PATH), webSocket::configure);
+        }
+    }
+
     private void registerGETMethods(Object object)
     {
         var getCommands = createRPCConvention(object).getGETCommands();
@@ -226,10 +508,15 @@ public class RESTfulRPCAdapter implements IDrivingAdapter
         getCommands.forEach(
                 method -> javalin.get(
                         method.getResourcePath(),
-                        httpCtx -> invokeMethod(object, method, httpCtx)
+                        httpCtx -> invokeGETMethod(object, method, httpCtx)
                 )
         );
 
+        getCommands.forEach( method -> batch.register(object, method, NO_PARAMETERS));
+        Optional.ofNullable(webSocket).ifPresent(rpcWebSocket -> getCommands.forEach( method -> rpcWebSocket.register(object, method, NO_PARAMETERS)));
+        Optional.ofNullable(requestMetricsHandler).ifPresent(handler -> getCommands.forEach( method -> handler.registerGET(method.getResourcePath())));
+        Optional.ofNullable(rateLimitHandler).ifPresent(handler -> getCommands.forEach( method -> handler.registerGET(
+                method.getResourcePath(), getRateLimit(RATE_LIMIT, method.getResourcePath()), getRateLimit(CLIENT_RATE_LIMIT, method.getResourcePath()))));
         getCommands.forEach( method -> openAPIConvention.documentGET(method.getMethod(), method.getResourcePath()));
     }
 
@@ -237,86 +524,357 @@ public class RESTfulRPCAdapter implements IDrivingAdapter
     {
         var postCommands = createRPCConvention(object).getPOSTCommands();
 
-        postCommands.forEach(
-                method -> javalin.post(
-                        method.getResourcePath(),
-                        httpCtx -> invokeMethod(object, method, httpCtx)
-                )
-        );
+        postCommands.forEach( method -> {
+            // Resolve the type of each parameter once during registration
+            var parameterTypes = method.getMethod().getGenericParameterTypes();
+            batch.register(object, method, parameterTypes);
+            Optional.ofNullable(webSocket).ifPresent(rpcWebSocket -> rpcWebSocket.register(object, method, parameterTypes));
+            javalin.post(
+                    method.getResourcePath(),
+                    httpCtx -> invokePOSTMethod(object, method, parameterTypes, httpCtx)
+            );
+        });
 
+        Optional.ofNullable(requestMetricsHandler).ifPresent(handler -> postCommands.forEach( method -> handler.registerPOST(method.getResourcePath())));
+        Optional.ofNullable(rateLimitHandler).ifPresent(handler -> postCommands.forEach( method -> handler.registerPOST(
+                method.getResourcePath(), getRateLimit(RATE_LIMIT, method.getResourcePath()), getRateLimit(CLIENT_RATE_LIMIT, method.getResourcePath()))));
         postCommands.forEach( method -> openAPIConvention.documentPOST(method.getMethod(), method.getResourcePath()));
     }
 
+    /**
+     * Offers each method returning a {@link Flow.Publisher} as server-sent events via GET, as described in
+     * {@link EventStream}. The method is invoked when the first client connects, so that all clients share the same
+     * publisher and each item is serialized only once.
+     */
+    private void registerEventStreams(Object object)
+    {
+        var eventStreamCommands = createRPCConvention(object).getEventStreamCommands();
+        var eventStreamBufferSize = Integer.parseInt(properties.getProperty(EVENT_STREAM_BUFFER_SIZE, DEFAULT_EVENT_STREAM_BUFFER_SIZE));
+        Validate.isTrue(eventStreamBufferSize > 0, EVENT_STREAM_BUFFER_SIZE + " must be positive");
+
+        eventStreamCommands.forEach( method -> {
+            var eventStream = new EventStream(
+                    () -> (Flow.Publisher<?>) Objects.requireNonNull(
+                            IDrivingAdapter.acquireLock().invoke(method.getMethodInvoker(), object, new Object[]{}),
+                            method.getResourcePath() + " returned no publisher"),
+                    value -> resultWriter.toByteArray(PayloadFormat.JSON_FORMAT, value),
+                    exception -> exceptionWriter.toJson((Throwable) exception).toString().getBytes(StandardCharsets.UTF_8),
+                    getServer().getThreadPool(),
+                    eventStreamBufferSize
+            );
+            eventStreams.add(eventStream);
+            javalin.get(
+                    method.getResourcePath(),
+                    httpCtx -> {
+                        setAccessControlHeader(httpCtx);
+                        eventStream.connect(httpCtx.req, httpCtx.res);
+                    }
+            );
+        });
 
+        Optional.ofNullable(rateLimitHandler).ifPresent(handler -> eventStreamCommands.forEach( method -> handler.registerGET(
+                method.getResourcePath(), getRateLimit(RATE_LIMIT, method.getResourcePath()), getRateLimit(CLIENT_RATE_LIMIT, method.getResourcePath()))));
+        Optional.ofNullable(admissionControlHandler).ifPresent(handler -> eventStreamCommands.forEach( method -> handler.registerEventStream(method.getResourcePath())));
+    }
 
-    private void invokeMethod(Object object, RESTfulRPCConvention.RESTfulRPCMethod method, Context httpContext ) throws InvocationTargetException, IllegalAccessException
+    /**
+     * If the response cache is enabled, the serialized result of a GET method is cached. Each response includes
+     * an ETag, so that a client can use header If-None-Match to get status code 304 if the result is unchanged.
+     */
+    private void invokeGETMethod(Object object, RESTfulRPCConvention.RESTfulRPCMethod method, Context httpContext) throws InvocationTargetException, IllegalAccessException, IOException
     {
-        Object[] methodParameters = deserializeParameters(httpContext.body(), method.getMethod());
+        if (!responseCache.isEnabled())
+        {
+            invokeMethod(httpContext, object, method, new Object[]{}, () -> {}, this::writeResult);
+            return;
+        }
 
-        var result = Optional.ofNullable(
-                IDrivingAdapter
-                        .acquireLock()
-                        .invoke(method.getMethod(), object, methodParameters)
-        );
+        // Each format of a result is cached separately
+        var payloadFormat = contentNegotiation.getResponseFormat(httpContext);
+        var cacheKey = method.getResourcePath() + ";" + payloadFormat.getMediaType();
+
+        var cachedResponse = responseCache.get(cacheKey, object);
+        if (cachedResponse.isPresent())
+        {
+            writeCachedResponse(httpContext, payloadFormat, cachedResponse.get());
+            return;
+        }
+
+        var generation = responseCache.getGeneration(object);
+        invokeMethod(httpContext, object, method, new Object[]{}, () -> {}, (context, result) -> {
+            var body = (result == null) ? new byte[0] : resultWriter.toByteArray(payloadFormat, result);
+            writeCachedResponse(context, payloadFormat, responseCache.put(cacheKey, object, generation, body));
+        });
+    }
+
+    private void invokePOSTMethod(Object object, RESTfulRPCConvention.RESTfulRPCMethod method, Type[] parameterTypes, Context httpContext) throws InvocationTargetException, IllegalAccessException, IOException
+    {
+        Object[] methodParameters = deserializeParameters(httpContext, method.getMethod(), parameterTypes);
+
+        // A POST method can change the state of the port, even if it fails
+        invokeMethod(httpContext, object, method, methodParameters, () -> responseCache.invalidate(object), this::writeResult);
+    }
+
+    /**
+     * Invokes a method and writes its result into the response.
+     * <br>
+     * A lazy result such as a Stream is serialized into a buffer of at most {@link #LAZY_RESULT_BUFFER_SIZE} bytes
+     * while the lock of the port is held, because it reads the state of the port while it is consumed. All results
+     * are written after the lock is released, so that a slow client does not hold the lock.
+     * <br>
+     * If the method returns a {@link CompletionStage}, the lock of the port is released as soon as the method returns,
+     * and the response is written asynchronously when the CompletionStage completes. If an executor is configured
+     * via {@link #EXECUTOR_THREADS}, the method is invoked by this executor instead of the thread handling the request.
+     *
+     * @param afterInvocation is executed when the method has completed, before the response is written
+     */
+    private void invokeMethod(Context httpContext, Object object, RESTfulRPCConvention.RESTfulRPCMethod method, Object[] methodParameters, Runnable afterInvocation, ResponseWriter responseWriter) throws InvocationTargetException, IllegalAccessException, IOException
+    {
+        if (executor != null)
+        {
+            httpContext.result(CompletableFuture
+                    .supplyAsync(() -> invokeAsync(httpContext, object, method, methodParameters, afterInvocation), executor)
+                    .thenCompose(result -> toCompletionStage(result, afterInvocation))
+                    .thenAccept(result -> writeAsync(httpContext, result, responseWriter))
+            );
+            return;
+        }
+
+        Object result;
+        try
+        {
+            result = IDrivingAdapter
+                    .acquireLock()
+                    .invoke(method.getMethodInvoker(), object, methodParameters, value -> bufferLazyResult(httpContext, value));
+        }
+        finally
+        {
+            afterInvocation.run();
+        }
+
+        if (result instanceof CompletionStage)
+        {
+            httpContext.result(toCompletionStage(result, afterInvocation)
+                    .thenAccept(value -> writeAsync(httpContext, value, responseWriter))
+                    .toCompletableFuture()
+            );
+            return;
+        }
+
+        responseWriter.write(httpContext, result);
+    }
+
+    private Object invokeAsync(Context httpContext, Object object, RESTfulRPCConvention.RESTfulRPCMethod method, Object[] methodParameters, Runnable afterInvocation)
+    {
+        try
+        {
+            return IDrivingAdapter
+                    .acquireLock()
+                    .invoke(method.getMethodInvoker(), object, methodParameters, value -> bufferLazyResult(httpContext, value));
+        }
+        catch (InvocationTargetException | IllegalAccessException e)
+        {
+            throw new CompletionException(e);
+        }
+        finally
+        {
+            afterInvocation.run();
+        }
+    }
+
+    /**
+     * An exception of a returned CompletionStage is reported as {@link InvocationTargetException}, as if the method
+     * had thrown it, so that the same exception handler is used.
+     */
+    private static CompletionStage<Object> toCompletionStage(Object result, Runnable afterInvocation)
+    {
+        if (!(result instanceof CompletionStage))
+        {
+            return CompletableFuture.completedFuture(result);
+        }
+
+        return ((CompletionStage<?>) result).<Object>handle((value, exception) -> {
+            afterInvocation.run();
+
+            if (exception != null)
+            {
+                var targetException = (exception instanceof CompletionException && exception.getCause() != null) ? exception.getCause() : exception;
+                throw new CompletionException(new InvocationTargetException(targetException));
+            }
+            return value;
+        });
+    }
+
+    /**
+     * Serializes a lazy result so that it can be written after the lock of the port is released. This method is
+     * called while the lock of the port is held.
+     *
+     * @return the serialized result if the result is lazy, otherwise the result itself
+     */
+    private Object bufferLazyResult(Context httpContext, Object result)
+    {
+        try
+        {
+            return resultWriter.buffer(httpContext, result, lazyResultBufferSize);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
 
+    private static void writeAsync(Context httpContext, Object result, ResponseWriter responseWriter)
+    {
+        try
+        {
+            responseWriter.write(httpContext, result);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeResult(Context httpContext, Object result) throws IOException
+    {
+        setAccessControlHeader(httpContext);
+
+        if (result != null)
+        {
+            resultWriter.write(httpContext, result);
+        }
+    }
+
+    private void writeCachedResponse(Context httpContext, PayloadFormat payloadFormat, ResponseCache.CachedResponse cachedResponse) throws IOException
+    {
+        setAccessControlHeader(httpContext);
+        httpContext.header("ETag", cachedResponse.getETag());
+
+        if (cachedResponse.matches(httpContext.header("If-None-Match")))
+        {
+            httpContext.status(304);
+        }
+        else if (cachedResponse.getBody().length > 0)
+        {
+            resultWriter.write(httpContext, payloadFormat, cachedResponse.getBody());
+        }
+    }
+
+    private static void setAccessControlHeader(Context httpContext)
+    {
         //At the moment we do not handle any credentials
         httpContext.header("Access-Control-Allow-Origin", "*");
         httpContext.header("Access-Control-Allow-Headers", "Origin, X-Requested-With, Content-Type, Accept");
-
-        result.ifPresent(httpContext::json);
     }
 
-    private Object[] deserializeParameters(String jsonString, Method method)
+    /**
+     * Deserializes the parameters of a method in a single pass directly from the body of the request by the
+     * streaming methods of the {@link JSONConverter}.
+     */
+    private Object[] deserializeParameters(Context httpContext, Method method, Type[] parameterTypes)
     {
-        if (jsonString == null ||
-                jsonString.isEmpty() ||
-                method.getParameterCount() == 0)
+        if (parameterTypes.length == 0)
         {
             return new Object[]{};
         }
 
-        JsonElement jsonElement = JsonParser.parseString(jsonString);
-
-        // In case we have more than one attribute, we assume a JSonArray
-        if ( method.getParameterCount() > 1)
+        try
         {
-            if ( !jsonElement.isJsonArray() )
+            var jsonReader = contentNegotiation
+                    .getRequestFormat(httpContext)
+                    .newJsonReader(jsonConverter, httpContext.req.getInputStream(), getCharset(httpContext));
+            jsonReader.setLenient(true); // Same behavior as Gson.fromJson
+
+            if (isEmpty(jsonReader))
+            {
+                return new Object[]{};
+            }
+
+            Object[] result;
+
+            // In case we have more than one attribute, we assume a JSonArray
+            if (parameterTypes.length > 1)
+            {
+                result = readArray(jsonReader, method, parameterTypes);
+            }
+            else
             {
-                throw new IllegalArgumentException("Multiple method attributes musst be passed inside a JSonArray");
+                result = new Object[]{ jsonConverter.fromJson(jsonReader, parameterTypes[0]) };
             }
-            return readArray(jsonElement.getAsJsonArray(), method);
+
+            if (jsonReader.peek() != JsonToken.END_DOCUMENT)
+            {
+                throw new JsonSyntaxException("JSON document was not fully consumed.");
+            }
+
+            return result;
         }
-        else
+        catch (MalformedJsonException | IllegalStateException e)
         {
-            Object[] result = new Object[1];
-            result[0] = GSON.fromJson(jsonString, method.getParameterTypes()[0]);
-            return result;
+            throw new JsonSyntaxException(e);
+        }
+        catch (IOException e)
+        {
+            throw new JsonIOException(e);
         }
     }
 
-    private Object[] readArray(JsonArray jsonArray, Method method)
+    private Object[] readArray(JsonReader jsonReader, Method method, Type[] parameterTypes) throws IOException
     {
-        if (jsonArray.size() != method.getParameterCount())
+        if (jsonReader.peek() != JsonToken.BEGIN_ARRAY)
         {
-            throw new IllegalArgumentException("Invalid Number of parameters for method " + method.getName());
+            throw new IllegalArgumentException("Multiple method attributes musst be passed inside a JSonArray");
         }
 
-        Class<?>[] parameterTypes = method.getParameterTypes();
         Object[] paramArray = new Object[parameterTypes.length];
 
+        jsonReader.beginArray();
         for (int i = 0; i < parameterTypes.length; ++i)
         {
-            paramArray[i] = GSON.fromJson(jsonArray.get(i), parameterTypes[i]);
+            if (!jsonReader.hasNext())
+            {
+                throw new IllegalArgumentException("Invalid Number of parameters for method " + method.getName());
+            }
+            paramArray[i] = jsonConverter.fromJson(jsonReader, parameterTypes[i]);
+        }
+
+        if (jsonReader.hasNext())
+        {
+            throw new IllegalArgumentException("Invalid Number of parameters for method " + method.getName());
         }
+        jsonReader.endArray();
 
         return paramArray;
     }
 
-    @SuppressWarnings("NullableProblems") // setToJsonMapper(GSON::toJson) causes this warning because toJson is not annotated
+    private static boolean isEmpty(JsonReader jsonReader) throws IOException
+    {
+        try
+        {
+            return jsonReader.peek() == JsonToken.END_DOCUMENT;
+        }
+        catch (EOFException e)
+        {
+            return true;
+        }
+    }
+
+    static Charset getCharset(Context httpContext)
+    {
+        var characterEncoding = httpContext.req.getCharacterEncoding();
+        if (characterEncoding == null)
+        {
+            return StandardCharsets.UTF_8;
+        }
+
+        return Charset.forName(characterEncoding);
+    }
+
     private void setupJavalin()
     {
-        JavalinJson.setFromJsonMapper(GSON::fromJson);
-        JavalinJson.setToJsonMapper(GSON::toJson);
+        // Port methods are (de)serialized via the streaming methods of the JSONConverter. All other JSON handled by Javalin uses its String based methods
+        JavalinJson.setFromJsonMapper(jsonConverter::fromJson);
+        JavalinJson.setToJsonMapper(jsonConverter::toJson);
 
         this.javalin = Javalin.create(this::getJavalinConfig);
     }
@@ -325,6 +883,7 @@ public class RESTfulRPCAdapter implements IDrivingAdapter
     {
         javalinConfig.server(this::getServer);
         javalinConfig.showJavalinBanner = false;
+        javalinConfig.compressionStrategy(responseCompression.getCompressionStrategy());
 
         this.openAPIConvention = new OpenAPIConvention(properties, javalinConfig );
     }
@@ -333,20 +892,28 @@ public class RESTfulRPCAdapter implements IDrivingAdapter
     {
         if ( server == null )
         {
-            server = new Server();
+            server = new Server(createThreadPool());
+            setHandlers(server);
+
+            var acceptors = Integer.parseInt(properties.getProperty(ACCEPTORS, DEFAULT_ACCEPTORS));
+            var selectors = Integer.parseInt(properties.getProperty(SELECTORS, DEFAULT_SELECTORS));
+            var idleTimeout = Long.parseLong(properties.getProperty(IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT));
+
             if (isHTTPEnabled())
             {
-                httpConnector = new ServerConnector(server);
+                httpConnector = new ServerConnector(server, acceptors, selectors, getHttpConnectionFactories());
                 httpConnector.setHost(getHostname());
                 httpConnector.setPort(getHTTPPortFromProperties());
+                httpConnector.setIdleTimeout(idleTimeout);
                 server.addConnector(httpConnector);
             }
 
             if (isHTTPSEnabled())
             {
-                sslConnector = new ServerConnector(server, getSslContextFactory());
+                sslConnector = new ServerConnector(server, acceptors, selectors, getSslConnectionFactories());
                 sslConnector.setHost(getHostname());
                 sslConnector.setPort(getHTTPSPortFromProperties());
+                sslConnector.setIdleTimeout(idleTimeout);
                 server.addConnector(sslConnector);
             }
         }
@@ -354,49 +921,206 @@ public class RESTfulRPCAdapter implements IDrivingAdapter
         return server;
     }
 
-    private SslContextFactory getSslContextFactory() {
-        var sslContextFactory = new SslContextFactory.Server();
-        sslContextFactory.setKeyStorePath(RESTfulRPCAdapter.class.getResource("/"+ getKeystore() ).toExternalForm());
-        sslContextFactory.setKeyStorePassword(getKeystorePassword());
-        return sslContextFactory;
+    /**
+     * Creates the thread pool of Jetty. If {@link #MAX_QUEUED_REQUESTS} is set, the job queue is bounded so that
+     * Jetty rejects new jobs instead of queuing them without limit.
+     */
+    private ThreadPool createThreadPool()
+    {
+        if (isVirtualThreadsEnabled())
+        {
+            return new VirtualThreadPool(RESTfulRPCAdapter.class.getSimpleName() + "-");
+        }
+
+        var minThreads = Integer.parseInt(properties.getProperty(MIN_THREADS, DEFAULT_MIN_THREADS));
+        var maxThreads = Integer.parseInt(properties.getProperty(MAX_THREADS, DEFAULT_MAX_THREADS));
+        Validate.isTrue(minThreads > 0 && minThreads <= maxThreads, MIN_THREADS + " must be positive and not greater than " + MAX_THREADS);
+
+        BlockingQueue<Runnable> jobQueue = null;
+        if (properties.containsKey(MAX_QUEUED_REQUESTS))
+        {
+            var capacity = Integer.parseInt(properties.getProperty(MAX_QUEUED_REQUESTS));
+            jobQueue = new BlockingArrayQueue<>(capacity, capacity, capacity);
+        }
+
+        var threadPool = new QueuedThreadPool(maxThreads, minThreads, THREAD_IDLE_TIMEOUT, jobQueue);
+        threadPool.setName(RESTfulRPCAdapter.class.getSimpleName());
+        return threadPool;
     }
 
-    private static GsonBuilder getGsonBuilder()
+    private static ResponseCompression createResponseCompression(Properties properties)
     {
-        var gsonBuilder = new GsonBuilder();
-        registerTypeAdapter(gsonBuilder);
-        return gsonBuilder;
+        var encoding = ResponseCompression.Encoding.valueOf(
+                properties.getProperty(COMPRESSION, ResponseCompression.GZIP).trim().toUpperCase(Locale.ROOT)
+        );
+
+        var mimeTypes = Arrays.stream(properties.getProperty(COMPRESSION_MIME_TYPES, DEFAULT_COMPRESSION_MIME_TYPES).split(","))
+                .map(String::trim)
+                .filter(mimeType -> !mimeType.isEmpty())
+                .collect(Collectors.toSet());
+
+        return new ResponseCompression(
+                encoding,
+                Integer.parseInt(properties.getProperty(COMPRESSION_MIN_SIZE, DEFAULT_COMPRESSION_MIN_SIZE)),
+                mimeTypes,
+                Integer.parseInt(properties.getProperty(COMPRESSION_LEVEL, DEFAULT_COMPRESSION_LEVEL))
+        );
     }
 
-    private static void registerTypeAdapter(GsonBuilder gsonBuilder)
+    /**
+     * Installs the handlers of this adapter in front of the handlers of Javalin. Metrics are recorded first, so that
+     * rejected requests are included. Rate limits are checked before admission control, so that requests exceeding
+     * their rate limit do not occupy a permit.
+     */
+    private void setHandlers(Server server)
     {
-        gsonBuilder.registerTypeAdapter(LocalDate.class,
-            (JsonDeserializer<LocalDate>) (json, type, jsonDeserializationContext) -> {
-                if (json.isJsonPrimitive())
-                {
-                    return LocalDate.parse(json.getAsJsonPrimitive().getAsString());
-                }
-                return LocalDate.of(json.getAsJsonObject().get("year").getAsInt(), json.getAsJsonObject().get("month").getAsInt(), json.getAsJsonObject().get("day").getAsInt());
-            });
+        HandlerWrapper outerHandler = server;
+        for (var handler : new HandlerWrapper[]{requestMetricsHandler, rateLimitHandler, admissionControlHandler})
+        {
+            if (handler != null)
+            {
+                outerHandler.setHandler(handler);
+                outerHandler = handler;
+            }
+        }
+    }
+
+    /**
+     * Returns the rate limit of a resource path. A rate limit for a specific resource path is defined by the
+     * property name followed by the resource path, e.g. io.jexxa.rest.rate_limit./MyApplicationService/myMethod.
+     * Otherwise, the rate limit defined by the property itself is used for all resource paths.
+     *
+     * @return maximum number of requests per second or 0 if not limited
+     */
+    private double getRateLimit(String property, String resourcePath)
+    {
+        var rateLimit = properties.getProperty(property + "." + resourcePath, properties.getProperty(property, "0"));
+        return Double.parseDouble(rateLimit);
+    }
+
+    private static ExceptionWriter createExceptionWriter(Properties properties)
+    {
+        var exceptionFormat = properties.getProperty(EXCEPTION_FORMAT, ExceptionWriter.FULL).trim().toLowerCase(Locale.ROOT);
+        Validate.isTrue(exceptionFormat.equals(ExceptionWriter.FULL) || exceptionFormat.equals(ExceptionWriter.COMPACT),
+                EXCEPTION_FORMAT + " must be " + ExceptionWriter.FULL + " or " + ExceptionWriter.COMPACT);
+
+        return new ExceptionWriter(
+                GsonConverter.createGsonBuilder().create(),
+                exceptionFormat.equals(ExceptionWriter.COMPACT),
+                Boolean.parseBoolean(properties.getProperty(EXCEPTION_STACK_TRACE, "false"))
+        );
+    }
+
+    private static RateLimitHandler createRateLimitHandler(Properties properties)
+    {
+        var isRateLimited = properties.stringPropertyNames().stream()
+                .anyMatch(key -> key.equals(RATE_LIMIT) || key.startsWith(RATE_LIMIT + ".")
+                        || key.equals(CLIENT_RATE_LIMIT) || key.startsWith(CLIENT_RATE_LIMIT + "."));
 
-        gsonBuilder.registerTypeAdapter(LocalDate.class,
-                (JsonSerializer<LocalDate>) (src, typeOfSrc, serializationContext) -> new JsonPrimitive(src.toString()));
+        return isRateLimited ? new RateLimitHandler(properties.getProperty(CLIENT_ID_HEADER)) : null;
+    }
 
+    private static AdmissionControlHandler createAdmissionControlHandler(Properties properties)
+    {
+        if (!properties.containsKey(MAX_CONCURRENT_REQUESTS))
+        {
+            return null;
+        }
 
-        gsonBuilder.registerTypeAdapter(LocalDateTime.class,
-                (JsonDeserializer<LocalDateTime>) (json, type, jsonDeserializationContext) -> LocalDateTime.parse(json.getAsJsonPrimitive().getAsString()));
+        var maxConcurrentRequests = Integer.parseInt(properties.getProperty(MAX_CONCURRENT_REQUESTS));
+        Validate.isTrue(maxConcurrentRequests > 0, MAX_CONCURRENT_REQUESTS + " must be positive");
+        return new AdmissionControlHandler(maxConcurrentRequests);
+    }
 
-        gsonBuilder.registerTypeAdapter(LocalDateTime.class,
-                (JsonSerializer<LocalDateTime>) (src, typeOfSrc, serializationContext) -> new JsonPrimitive(src.toString()));
+    private static ExecutorService createExecutor(Properties properties)
+    {
+        if (!properties.containsKey(EXECUTOR_THREADS))
+        {
+            return null;
+        }
 
-        gsonBuilder.registerTypeAdapter(ZonedDateTime.class,
-                (JsonDeserializer<ZonedDateTime>) (json, type, jsonDeserializationContext) -> ZonedDateTime.parse(json.getAsJsonPrimitive().getAsString()));
+        var threads = Integer.parseInt(properties.getProperty(EXECUTOR_THREADS));
+        var queueSize = Integer.parseInt(properties.getProperty(EXECUTOR_QUEUE_SIZE, DEFAULT_EXECUTOR_QUEUE_SIZE));
+        var threadCounter = new AtomicInteger();
+
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    var thread = new Thread(runnable, RESTfulRPCAdapter.class.getSimpleName() + "-executor-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
 
-        gsonBuilder.registerTypeAdapter(ZonedDateTime.class,
-                (JsonSerializer<ZonedDateTime>) (src, typeOfSrc, serializationContext) ->
+    /**
+     * If {@link #HTTP2} is enabled, the HTTP connector additionally accepts HTTP/2 without TLS (h2c), either via
+     * prior knowledge or via an upgrade of an HTTP/1.1 connection.
+     */
+    private ConnectionFactory[] getHttpConnectionFactories()
+    {
+        var httpConfiguration = new HttpConfiguration();
+        if (!isHTTP2Enabled())
+        {
+            return new ConnectionFactory[]{new HttpConnectionFactory(httpConfiguration)};
+        }
 
-             new JsonPrimitive( DateTimeFormatter.ISO_OFFSET_DATE_TIME.
-                    format(src.withZoneSameInstant(src.getZone())) ));
+        return new ConnectionFactory[]{
+                new HttpConnectionFactory(httpConfiguration),
+                createHTTP2ConnectionFactory(new HTTP2CServerConnectionFactory(httpConfiguration))
+        };
+    }
 
+    /**
+     * If {@link #HTTP2} is enabled, the HTTPS connector negotiates HTTP/2 (h2) via ALPN and falls back to
+     * HTTP/1.1 for clients that do not support HTTP/2.
+     */
+    private ConnectionFactory[] getSslConnectionFactories()
+    {
+        var sslContextFactory = getSslContextFactory();
+        if (!isHTTP2Enabled())
+        {
+            return AbstractConnectionFactory.getFactories(sslContextFactory, new HttpConnectionFactory());
+        }
+
+        var httpsConfiguration = new HttpConfiguration();
+        httpsConfiguration.addCustomizer(new SecureRequestCustomizer());
+
+        var http1ConnectionFactory = new HttpConnectionFactory(httpsConfiguration);
+        var alpnConnectionFactory = new ALPNServerConnectionFactory();
+        alpnConnectionFactory.setDefaultProtocol(http1ConnectionFactory.getProtocol());
+
+        return new ConnectionFactory[]{
+                new SslConnectionFactory(sslContextFactory, alpnConnectionFactory.getProtocol()),
+                alpnConnectionFactory,
+                createHTTP2ConnectionFactory(new HTTP2ServerConnectionFactory(httpsConfiguration)),
+                http1ConnectionFactory
+        };
+    }
+
+    private AbstractHTTP2ServerConnectionFactory createHTTP2ConnectionFactory(AbstractHTTP2ServerConnectionFactory connectionFactory)
+    {
+        var maxConcurrentStreams = Integer.parseInt(properties.getProperty(HTTP2_MAX_CONCURRENT_STREAMS, DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS));
+        Validate.isTrue(maxConcurrentStreams > 0, HTTP2_MAX_CONCURRENT_STREAMS + " must be positive");
+
+        connectionFactory.setMaxConcurrentStreams(maxConcurrentStreams);
+        return connectionFactory;
+    }
+
+    private SslContextFactory.Server getSslContextFactory() {
+        var sslContextFactory = new SslContextFactory.Server();
+        sslContextFactory.setKeyStorePath(RESTfulRPCAdapter.class.getResource("/"+ getKeystore() ).toExternalForm());
+        sslContextFactory.setKeyStorePassword(getKeystorePassword());
+        if (isHTTP2Enabled())
+        {
+            // HTTP/2 requires TLS 1.2 or later with a cipher that is not blacklisted by RFC 7540
+            sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+        }
+        return sslContextFactory;
+    }
+
+    @FunctionalInterface
+    private interface ResponseWriter
+    {
+        void write(Context httpContext, Object result) throws IOException;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,344 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.javalin.http.Context;
+import io.jexxa.infrastructure.drivingadapter.IDrivingAdapter;
+import io.jexxa.utils.json.JSONConverter;
+
+/**
+ * Executes several registered {@link RESTfulRPCConvention.RESTfulRPCMethod}s with a single request. The request is a
+ * JSON array of calls which are executed in the given order:
+ * <pre>
+ * {@code
+ *   [
+ *     { "resourcePath": "/MyApplicationService/myMethod", "arguments": <attributes as in a single request> },
+ *     ...
+ *   ]
+ * }
+ * </pre>
+ *
+ * Each call acquires the lock selected by its {@link io.jexxa.infrastructure.drivingadapter.ConcurrencyPolicy} as a
+ * single request, so that a query within a batch only holds a shared lock and an unsynchronized method no lock at
+ * all. Therefore, the calls of a batch are not executed atomically.
+ * <br>
+ * The response is a JSON array including the result of each call in the same order. If a method returns a
+ * {@link CompletionStage}, its result is awaited after all locks are released. A result of type
+ * {@link java.util.stream.Stream} or {@link Iterable} is collected while the lock of the call is held. An exception
+ * or an entry without a {@value #RESOURCE_PATH} only fails the corresponding call:
+ * <pre>
+ * {@code
+ *   [
+ *     { "status": 200, "result": <return value, if any> },
+ *     { "status": 400, "error": <exception as in a single request> },
+ *     ...
+ *   ]
+ * }
+ * </pre>
+ *
+ * Each call is subject to the rate limits of its method as a single request, using the same client id. A call
+ * exceeding a limit is answered with status 429 without being executed, and its port is not locked. The rate limits
+ * are only applied after the entire request has been read, so that a malformed request does not consume any tokens.
+ *
+ * The arguments of each call are deserialized by the {@link JSONConverter} before the calls are executed. They are
+ * buffered as {@link JsonElement}, so that invalid arguments only fail the corresponding call.
+ */
+class RESTfulRPCBatch
+{
+    private static final String RESOURCE_PATH = "resourcePath";
+    private static final String ARGUMENTS = "arguments";
+
+    private final Map<String, BatchTarget> batchTargets = new ConcurrentHashMap<>();
+    private final JSONConverter jsonConverter;
+    private final ContentNegotiation contentNegotiation;
+    private final JSONResultWriter resultWriter;
+    private final ExceptionWriter exceptionWriter;
+    private final ResponseCache responseCache;
+    private final RateLimitHandler rateLimitHandler;
+
+    /**
+     * @param rateLimitHandler limits the calls of a batch, or null if no rate limit is configured
+     */
+    RESTfulRPCBatch(JSONConverter jsonConverter, ContentNegotiation contentNegotiation, JSONResultWriter resultWriter, ExceptionWriter exceptionWriter, ResponseCache responseCache, RateLimitHandler rateLimitHandler)
+    {
+        this.jsonConverter = jsonConverter;
+        this.contentNegotiation = contentNegotiation;
+        this.resultWriter = resultWriter;
+        this.exceptionWriter = exceptionWriter;
+        this.responseCache = responseCache;
+        this.rateLimitHandler = rateLimitHandler;
+    }
+
+    void register(Object object, RESTfulRPCConvention.RESTfulRPCMethod method, Type[] parameterTypes)
+    {
+        batchTargets.put(method.getResourcePath(), new BatchTarget(object, method, parameterTypes));
+    }
+
+    void handle(Context httpContext) throws IOException
+    {
+        var batchEntries = readBatchEntries(httpContext);
+
+        var results = new ArrayList<Map<String, Object>>(batchEntries.size());
+        batchEntries.forEach(batchEntry -> results.add(invoke(batchEntry)));
+
+        // Results of type CompletionStage are awaited after the locks are released
+        for (int i = 0; i < results.size(); ++i)
+        {
+            awaitResult(batchEntries.get(i), results.get(i));
+        }
+
+        resultWriter.write(httpContext, results);
+    }
+
+    private Map<String, Object> invoke(BatchEntry batchEntry)
+    {
+        var result = new LinkedHashMap<String, Object>();
+
+        if (batchEntry.batchTarget == null)
+        {
+            result.put("status", batchEntry.status);
+            if (batchEntry.error != null)
+            {
+                result.put("error", exceptionWriter.toJson(batchEntry.error));
+            }
+            return result;
+        }
+
+        try
+        {
+            if (batchEntry.error != null)
+            {
+                throw batchEntry.error;
+            }
+
+            var returnValue = IDrivingAdapter
+                    .acquireLock()
+                    .invoke(batchEntry.batchTarget.method.getMethodInvoker(), batchEntry.batchTarget.object, batchEntry.parameters, JSONResultWriter::materialize);
+
+            result.put("status", 200);
+            if (returnValue != null)
+            {
+                result.put("result", returnValue);
+            }
+        }
+        catch (InvocationTargetException e)
+        {
+            result.put("status", RESTfulRPCAdapter.getStatusCode(e.getTargetException()));
+            result.put("error", exceptionWriter.toJson(e.getTargetException()));
+        }
+        catch (IllegalAccessException | RuntimeException e)
+        {
+            result.put("status", RESTfulRPCAdapter.getStatusCode(e));
+            result.put("error", exceptionWriter.toJson(e));
+        }
+        finally
+        {
+            invalidateResponseCache(batchEntry);
+        }
+
+        return result;
+    }
+
+    private void awaitResult(BatchEntry batchEntry, Map<String, Object> result)
+    {
+        if (!(result.get("result") instanceof CompletionStage))
+        {
+            return;
+        }
+
+        try
+        {
+            var returnValue = JSONResultWriter.materialize(((CompletionStage<?>) result.remove("result")).toCompletableFuture().join());
+            if (returnValue != null)
+            {
+                result.put("result", returnValue);
+            }
+        }
+        catch (CompletionException | CancellationException e)
+        {
+            var targetException = (e.getCause() != null) ? e.getCause() : e;
+            result.put("status", RESTfulRPCAdapter.getStatusCode(targetException));
+            result.put("error", exceptionWriter.toJson(targetException));
+        }
+        finally
+        {
+            invalidateResponseCache(batchEntry);
+        }
+    }
+
+    private void invalidateResponseCache(BatchEntry batchEntry)
+    {
+        if (batchEntry.batchTarget.method.getHTTPCommand() == RESTfulRPCConvention.RESTfulRPCMethod.HTTPCommand.POST)
+        {
+            responseCache.invalidate(batchEntry.batchTarget.object);
+        }
+    }
+
+    /**
+     * Reads all calls of the batch before they are executed, so that no lock is held while parsing the request
+     */
+    private List<BatchEntry> readBatchEntries(Context httpContext) throws IOException
+    {
+        var jsonElements = new ArrayList<JsonElement>();
+
+        var jsonReader = contentNegotiation
+                .getRequestFormat(httpContext)
+                .newJsonReader(jsonConverter, httpContext.req.getInputStream(), RESTfulRPCAdapter.getCharset(httpContext));
+        jsonReader.setLenient(true);
+
+        jsonReader.beginArray();
+        while (jsonReader.hasNext())
+        {
+            jsonElements.add(JsonParser.parseReader(jsonReader));
+        }
+        jsonReader.endArray();
+
+        return jsonElements.stream()
+                .map(jsonElement -> createBatchEntry(httpContext, jsonElement))
+                .collect(Collectors.toList());
+    }
+
+    private BatchEntry createBatchEntry(Context httpContext, JsonElement jsonElement)
+    {
+        var resourcePath = getResourcePath(jsonElement);
+        if (resourcePath == null)
+        {
+            var error = new IllegalArgumentException("Each entry of a batch must be a JSonObject including a " + RESOURCE_PATH);
+            return new BatchEntry(null, null, error, 400);
+        }
+
+        var batchTarget = batchTargets.get(resourcePath);
+        if (batchTarget != null && isRateLimited(httpContext, batchTarget))
+        {
+            return new BatchEntry(null, null, null, RateLimitHandler.TOO_MANY_REQUESTS);
+        }
+
+        return createBatchEntry(batchTarget, jsonElement.getAsJsonObject().get(ARGUMENTS));
+    }
+
+    /**
+     * @return the resource path of given entry or null if the entry does not include a resource path as string
+     */
+    private static String getResourcePath(JsonElement jsonElement)
+    {
+        if (!jsonElement.isJsonObject())
+        {
+            return null;
+        }
+
+        var resourcePath = jsonElement.getAsJsonObject().get(RESOURCE_PATH);
+        if (resourcePath == null || !resourcePath.isJsonPrimitive() || !resourcePath.getAsJsonPrimitive().isString())
+        {
+            return null;
+        }
+
+        return resourcePath.getAsString();
+    }
+
+    private boolean isRateLimited(Context httpContext, BatchTarget batchTarget)
+    {
+        if (rateLimitHandler == null)
+        {
+            return false;
+        }
+
+        var clientId = rateLimitHandler.getClientId(httpContext.req::getHeader, httpContext.req.getRemoteAddr());
+        return rateLimitHandler.tryTake(batchTarget.method.getHTTPCommand().name(), batchTarget.method.getResourcePath(), clientId) > 0;
+    }
+
+    private BatchEntry createBatchEntry(BatchTarget batchTarget, JsonElement arguments)
+    {
+        if (batchTarget == null)
+        {
+            return new BatchEntry(null, null, null, 404);
+        }
+
+        try
+        {
+            return new BatchEntry(batchTarget, deserializeParameters(jsonConverter, arguments, batchTarget.method.getMethod(), batchTarget.parameterTypes), null, 200);
+        }
+        catch (JsonParseException | IllegalArgumentException e)
+        {
+            return new BatchEntry(batchTarget, null, e, 200);
+        }
+    }
+
+    static Object[] deserializeParameters(JSONConverter jsonConverter, JsonElement arguments, Method method, Type[] parameterTypes)
+    {
+        if (arguments == null || parameterTypes.length == 0)
+        {
+            return new Object[]{};
+        }
+
+        // In case we have more than one attribute, we assume a JSonArray
+        if (parameterTypes.length == 1)
+        {
+            return new Object[]{ jsonConverter.fromJson(arguments.toString(), parameterTypes[0]) };
+        }
+
+        if (!arguments.isJsonArray())
+        {
+            throw new IllegalArgumentException("Multiple method attributes musst be passed inside a JSonArray");
+        }
+
+        var jsonArray = arguments.getAsJsonArray();
+        if (jsonArray.size() != parameterTypes.length)
+        {
+            throw new IllegalArgumentException("Invalid Number of parameters for method " + method.getName());
+        }
+
+        Object[] paramArray = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; ++i)
+        {
+            paramArray[i] = jsonConverter.fromJson(jsonArray.get(i).toString(), parameterTypes[i]);
+        }
+
+        return paramArray;
+    }
+
+    private static class BatchTarget
+    {
+        private final Object object;
+        private final RESTfulRPCConvention.RESTfulRPCMethod method;
+        private final Type[] parameterTypes;
+
+        BatchTarget(Object object, RESTfulRPCConvention.RESTfulRPCMethod method, Type[] parameterTypes)
+        {
+            this.object = object;
+            this.method = method;
+            this.parameterTypes = parameterTypes;
+        }
+    }
+
+    private static class BatchEntry
+    {
+        private final BatchTarget batchTarget;
+        private final Object[] parameters;
+        private final RuntimeException error;
+        // Status of a call that is rejected without a batchTarget. Its error is reported if available
+        private final int status;
+
+        BatchEntry(BatchTarget batchTarget, Object[] parameters, RuntimeException error, int status)
+        {
+            this.batchTarget = batchTarget;
+            this.parameters = parameters;
+            this.error = error;
+            this.status = status;
+        }
+    }
+}
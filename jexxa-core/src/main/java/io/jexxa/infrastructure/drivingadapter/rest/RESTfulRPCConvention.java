@@ -6,8 +6,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.Flow;
 import java.util.stream.Collectors;
 
+import io.jexxa.infrastructure.drivingadapter.MethodInvoker;
+
 
 /**
  * This class generates uniform IDs (URIs) for resources to be offered via REST
@@ -29,6 +32,7 @@ import java.util.stream.Collectors;
  *  <br>
  *  <ul>
  *  <li> If a method returns a type != 'void' and has no arguments then it is mapped to a GET method </li>
+ *  <li> If such a method returns a {@link Flow.Publisher} then it is mapped to a GET method offering server-sent events </li>
  *  </ul>
  * <br>
  *  POST - mapping:
@@ -53,12 +57,14 @@ class RESTfulRPCConvention
 
         private final String resourcePath;
         private final Method method;
+        private final MethodInvoker methodInvoker;
         private final HTTPCommand httpCommand;
 
         RESTfulRPCMethod(HTTPCommand httpCommand, String resourcePath, Method method) {
             this.httpCommand = httpCommand;
             this.resourcePath = resourcePath;
             this.method = method;
+            this.methodInvoker = MethodInvoker.of(method); // Resolve the method once during registration
         }
 
         String getResourcePath()
@@ -71,6 +77,11 @@ class RESTfulRPCConvention
             return method;
         }
 
+        MethodInvoker getMethodInvoker()
+        {
+            return methodInvoker;
+        }
+
         HTTPCommand getHTTPCommand()
         {
             return httpCommand;
@@ -84,6 +95,22 @@ class RESTfulRPCConvention
                .filter( element -> !Modifier.isStatic( element.getModifiers() )) //Convention for all exposed methods
                .filter( element -> !(element.getReturnType().equals(void.class)) &&
                                      element.getParameterCount() == 0) // Convention for GET method
+               .filter( element -> !isEventStream(element))
+               .map( element ->
+                       new RESTfulRPCMethod(
+                               RESTfulRPCMethod.HTTPCommand.GET,
+                               generateURI(element),
+                               element))
+               .collect(Collectors.toUnmodifiableList());
+    }
+
+
+    List<RESTfulRPCMethod> getEventStreamCommands() {
+
+        return getPublicMethods(object.getClass())
+               .stream()
+               .filter( element -> !Modifier.isStatic( element.getModifiers() )) //Convention for all exposed methods
+               .filter( element -> element.getParameterCount() == 0 && isEventStream(element)) // Convention for server-sent events
                .map( element ->
                        new RESTfulRPCMethod(
                                RESTfulRPCMethod.HTTPCommand.GET,
@@ -109,6 +136,11 @@ class RESTfulRPCConvention
     }
 
 
+    private static boolean isEventStream(Method method)
+    {
+        return Flow.Publisher.class.isAssignableFrom(method.getReturnType());
+    }
+
     private String generateURI(Method method) {
         return "/" + method.getDeclaringClass().getSimpleName() + "/" + method.getName();
     }
@@ -0,0 +1,398 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.javalin.websocket.WsHandler;
+import io.jexxa.infrastructure.drivingadapter.IDrivingAdapter;
+import io.jexxa.utils.json.JSONConverter;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+
+/**
+ * Executes registered {@link RESTfulRPCConvention.RESTfulRPCMethod}s that are called via a WebSocket, so that a
+ * client can send many calls over a single connection without the overhead of an HTTP request for each call. Each
+ * text message is a single call:
+ * <pre>
+ * {@code
+ *   { "id": <Json value identifying the call>, "resourcePath": "/MyApplicationService/myMethod", "arguments": <attributes as in a single request> }
+ * }
+ * </pre>
+ *
+ * Calls are executed concurrently by the given executor, and the response of a call is sent as soon as it is
+ * available. So responses can arrive in a different order than their calls and must be correlated by their id:
+ * <pre>
+ * {@code
+ *   { "id": <id of the call>, "status": 200, "result": <return value, if any> }
+ *   { "id": <id of the call>, "status": 400, "error": <exception as in a single request> }
+ * }
+ * </pre>
+ *
+ * Arguments and results are (de)serialized by the {@link JSONConverter} as in a batch.
+ * <br>
+ * A call is pending until its response is sent. If a client exceeds the maximum number of pending calls, further
+ * calls are answered with status 503 without being executed.
+ * <br>
+ * Each call passes the same hooks as a single request of its method: It is subject to the rate limits of its method,
+ * where the client is identified when it connects by the configured header of the upgrade request or by its IP
+ * address. It counts as concurrent request of the admission control until its response is sent, and it is recorded
+ * by the metrics of its method. A rejected call is answered with an error response including status 429 or 503
+ * without being executed:
+ * <pre>
+ * {@code
+ *   { "id": <id of the call>, "status": 429, "error": { "ExceptionType": "...RejectedCallException", "Message": "...", ... } }
+ * }
+ * </pre>
+ *
+ * A result of type {@link java.util.stream.Stream} or {@link Iterable} is collected while the lock of the port is held.
+ */
+class RESTfulRPCWebSocket
+{
+    private static final String ID = "id";
+    private static final String RESOURCE_PATH = "resourcePath";
+    private static final String ARGUMENTS = "arguments";
+    private static final String STATUS = "status";
+
+    private final Map<String, WebSocketTarget> webSocketTargets = new ConcurrentHashMap<>();
+    private final Map<Session, AtomicInteger> pendingCalls = new ConcurrentHashMap<>();
+    private final Map<Session, String> clientIds = new ConcurrentHashMap<>();
+    private final JSONConverter jsonConverter;
+    private final JSONResultWriter resultWriter;
+    private final ExceptionWriter exceptionWriter;
+    private final ResponseCache responseCache;
+    private final RateLimitHandler rateLimitHandler;
+    private final AdmissionControlHandler admissionControlHandler;
+    private final RequestMetricsHandler requestMetricsHandler;
+    private final Executor executor;
+    private final int maxPendingCalls;
+
+    /**
+     * @param rateLimitHandler limits the calls of a client, or null if no rate limit is configured
+     * @param admissionControlHandler limits the number of concurrent calls, or null if not configured
+     * @param requestMetricsHandler records the metrics of each method, or null if not configured
+     */
+    @SuppressWarnings("java:S107") // All collaborators are shared with the RESTfulRPCAdapter
+    RESTfulRPCWebSocket(JSONConverter jsonConverter,
+                        JSONResultWriter resultWriter,
+                        ExceptionWriter exceptionWriter,
+                        ResponseCache responseCache,
+                        RateLimitHandler rateLimitHandler,
+                        AdmissionControlHandler admissionControlHandler,
+                        RequestMetricsHandler requestMetricsHandler,
+                        Executor executor,
+                        int maxPendingCalls)
+    {
+        this.jsonConverter = jsonConverter;
+        this.resultWriter = resultWriter;
+        this.exceptionWriter = exceptionWriter;
+        this.responseCache = responseCache;
+        this.rateLimitHandler = rateLimitHandler;
+        this.admissionControlHandler = admissionControlHandler;
+        this.requestMetricsHandler = requestMetricsHandler;
+        this.executor = executor;
+        this.maxPendingCalls = maxPendingCalls;
+    }
+
+    void register(Object object, RESTfulRPCConvention.RESTfulRPCMethod method, Type[] parameterTypes)
+    {
+        webSocketTargets.put(method.getResourcePath(), new WebSocketTarget(object, method, parameterTypes));
+    }
+
+    void configure(WsHandler wsHandler)
+    {
+        wsHandler.onConnect(wsContext -> {
+            pendingCalls.put(wsContext.session, new AtomicInteger());
+            if (rateLimitHandler != null)
+            {
+                clientIds.put(wsContext.session, rateLimitHandler.getClientId(wsContext::header, getRemoteAddress(wsContext.session)));
+            }
+        });
+        wsHandler.onClose(wsContext -> {
+            pendingCalls.remove(wsContext.session);
+            clientIds.remove(wsContext.session);
+        });
+        wsHandler.onMessage(wsContext -> handle(wsContext.session, wsContext.message()));
+    }
+
+    /**
+     * Parses a call by the thread receiving the message, so that the executor only invokes the method
+     */
+    private void handle(Session session, String message)
+    {
+        // Each message is answered by exactly one response and is pending until this response is written
+        var sessionCalls = pendingCalls.computeIfAbsent(session, key -> new AtomicInteger());
+        var isOverloaded = sessionCalls.incrementAndGet() > maxPendingCalls;
+        var webSocketCall = new WebSocketCall(session, sessionCalls, message);
+
+        try
+        {
+            var call = readCall(message);
+            webSocketCall.id = call.has(ID) ? call.get(ID) : JsonNull.INSTANCE;
+
+            var webSocketTarget = webSocketTargets.get(call.get(RESOURCE_PATH).getAsString());
+            if (webSocketTarget == null)
+            {
+                throw new RejectedCallException(404, "Unknown resource path " + call.get(RESOURCE_PATH).getAsString());
+            }
+            webSocketCall.webSocketTarget = webSocketTarget;
+
+            if (isOverloaded)
+            {
+                throw new RejectedCallException(503, "Too many pending calls of this connection");
+            }
+
+            if (isRateLimited(session, webSocketTarget))
+            {
+                throw new RejectedCallException(RateLimitHandler.TOO_MANY_REQUESTS, "Rate limit of " + webSocketTarget.method.getResourcePath() + " exceeded");
+            }
+
+            if (admissionControlHandler != null && !admissionControlHandler.tryAcquire())
+            {
+                throw new RejectedCallException(503, "Too many concurrent requests");
+            }
+            webSocketCall.hasPermit.set(admissionControlHandler != null);
+
+            var parameters = RESTfulRPCBatch.deserializeParameters(jsonConverter, call.get(ARGUMENTS), webSocketTarget.method.getMethod(), webSocketTarget.parameterTypes);
+            executor.execute(() -> invoke(webSocketCall, parameters));
+        }
+        catch (RejectedExecutionException e)
+        {
+            send(webSocketCall, createErrorResponse(webSocketCall.id, new RejectedCallException(503, "Too many concurrent calls")));
+        }
+        catch (RuntimeException e)
+        {
+            // An invalid or rejected call only fails this call, so that the connection remains open
+            send(webSocketCall, createErrorResponse(webSocketCall.id, e));
+        }
+    }
+
+    private boolean isRateLimited(Session session, WebSocketTarget webSocketTarget)
+    {
+        if (rateLimitHandler == null)
+        {
+            return false;
+        }
+
+        var clientId = clientIds.computeIfAbsent(session, RESTfulRPCWebSocket::getRemoteAddress);
+        return rateLimitHandler.tryTake(webSocketTarget.method.getHTTPCommand().name(), webSocketTarget.method.getResourcePath(), clientId) > 0;
+    }
+
+    private static String getRemoteAddress(Session session)
+    {
+        var remoteAddress = session.getRemoteAddress();
+        return (remoteAddress != null && remoteAddress.getAddress() != null) ? remoteAddress.getAddress().getHostAddress() : "";
+    }
+
+    private static JsonObject readCall(String message)
+    {
+        var jsonElement = JsonParser.parseString(message);
+        if (jsonElement == null
+                || !jsonElement.isJsonObject()
+                || !jsonElement.getAsJsonObject().has(RESOURCE_PATH)
+                || !jsonElement.getAsJsonObject().get(RESOURCE_PATH).isJsonPrimitive())
+        {
+            throw new IllegalArgumentException("Each call must be a JSonObject including a " + RESOURCE_PATH);
+        }
+
+        return jsonElement.getAsJsonObject();
+    }
+
+    private void invoke(WebSocketCall webSocketCall, Object[] parameters)
+    {
+        var webSocketTarget = webSocketCall.webSocketTarget;
+        Map<String, Object> response;
+
+        try
+        {
+            var returnValue = IDrivingAdapter
+                    .acquireLock()
+                    .invoke(webSocketTarget.method.getMethodInvoker(), webSocketTarget.object, parameters, JSONResultWriter::materialize);
+
+            // The response of a CompletionStage is sent when it completes
+            if (returnValue instanceof CompletionStage)
+            {
+                ((CompletionStage<?>) returnValue).whenComplete((value, exception) -> {
+                    invalidateResponseCache(webSocketTarget);
+                    if (exception != null)
+                    {
+                        var targetException = (exception instanceof CompletionException && exception.getCause() != null) ? exception.getCause() : exception;
+                        send(webSocketCall, createErrorResponse(webSocketCall.id, targetException));
+                    }
+                    else
+                    {
+                        send(webSocketCall, createResultResponse(webSocketCall.id, JSONResultWriter.materialize(value)));
+                    }
+                });
+                return;
+            }
+
+            response = createResultResponse(webSocketCall.id, returnValue);
+        }
+        catch (InvocationTargetException e)
+        {
+            response = createErrorResponse(webSocketCall.id, e.getTargetException());
+        }
+        catch (IllegalAccessException | RuntimeException e)
+        {
+            response = createErrorResponse(webSocketCall.id, e);
+        }
+        finally
+        {
+            invalidateResponseCache(webSocketTarget);
+        }
+
+        send(webSocketCall, response);
+    }
+
+    /**
+     * Sends the response of a pending call. The call is no longer pending when its response is written
+     */
+    private void send(WebSocketCall webSocketCall, Map<String, Object> response)
+    {
+        byte[] message;
+        try
+        {
+            message = resultWriter.toByteArray(PayloadFormat.JSON_FORMAT, response);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            send(webSocketCall, createErrorResponse(webSocketCall.id, e));
+            return;
+        }
+
+        complete(webSocketCall, (int) response.get(STATUS), message.length);
+
+        try
+        {
+            webSocketCall.session.getRemote().sendString(new String(message, StandardCharsets.UTF_8), new WriteCallback()
+            {
+                @Override
+                public void writeFailed(Throwable throwable)
+                {
+                    webSocketCall.sessionCalls.decrementAndGet();
+                }
+
+                @Override
+                public void writeSuccess()
+                {
+                    webSocketCall.sessionCalls.decrementAndGet();
+                }
+            });
+        }
+        catch (RuntimeException e)
+        {
+            // Connection is already closed
+            webSocketCall.sessionCalls.decrementAndGet();
+        }
+    }
+
+    /**
+     * Releases the admission of a call and records its metrics as soon as its response is available
+     */
+    private void complete(WebSocketCall webSocketCall, int status, int responseBytes)
+    {
+        if (webSocketCall.hasPermit.compareAndSet(true, false))
+        {
+            admissionControlHandler.release();
+        }
+
+        if (requestMetricsHandler != null && webSocketCall.webSocketTarget != null)
+        {
+            var method = webSocketCall.webSocketTarget.method;
+            var endpointRecorder = requestMetricsHandler.getEndpointRecorder(method.getHTTPCommand().name(), method.getResourcePath());
+            if (endpointRecorder != null)
+            {
+                endpointRecorder.record(
+                        System.nanoTime() - webSocketCall.startTime,
+                        status >= 400,
+                        webSocketCall.message.getBytes(StandardCharsets.UTF_8).length,
+                        responseBytes
+                );
+            }
+        }
+    }
+
+    private void invalidateResponseCache(WebSocketTarget webSocketTarget)
+    {
+        if (webSocketTarget.method.getHTTPCommand() == RESTfulRPCConvention.RESTfulRPCMethod.HTTPCommand.POST)
+        {
+            responseCache.invalidate(webSocketTarget.object);
+        }
+    }
+
+    private static Map<String, Object> createStatusResponse(JsonElement id, int status)
+    {
+        var response = new LinkedHashMap<String, Object>();
+        response.put(ID, id);
+        response.put(STATUS, status);
+        return response;
+    }
+
+    private static Map<String, Object> createResultResponse(JsonElement id, Object returnValue)
+    {
+        var response = createStatusResponse(id, 200);
+        if (returnValue != null)
+        {
+            response.put("result", returnValue);
+        }
+        return response;
+    }
+
+    private Map<String, Object> createErrorResponse(JsonElement id, Throwable exception)
+    {
+        var response = createStatusResponse(id, RESTfulRPCAdapter.getStatusCode(exception));
+        response.put("error", exceptionWriter.toJson(exception));
+        return response;
+    }
+
+    private static class WebSocketTarget
+    {
+        private final Object object;
+        private final RESTfulRPCConvention.RESTfulRPCMethod method;
+        private final Type[] parameterTypes;
+
+        WebSocketTarget(Object object, RESTfulRPCConvention.RESTfulRPCMethod method, Type[] parameterTypes)
+        {
+            this.object = object;
+            this.method = method;
+            this.parameterTypes = parameterTypes;
+        }
+    }
+
+    /**
+     * State of a single call from receiving its message until its response is sent
+     */
+    private static class WebSocketCall
+    {
+        private final Session session;
+        private final AtomicInteger sessionCalls;
+        private final String message;
+        private final long startTime = System.nanoTime();
+        private final AtomicBoolean hasPermit = new AtomicBoolean();
+        // Set while parsing the call by the thread receiving the message, before the call is passed to the executor
+        private JsonElement id = JsonNull.INSTANCE;
+        private WebSocketTarget webSocketTarget;
+
+        WebSocketCall(Session session, AtomicInteger sessionCalls, String message)
+        {
+            this.session = session;
+            this.sessionCalls = sessionCalls;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+/**
+ * Limits the rate of requests to each registered endpoint by {@link TokenBucket}s. An endpoint can be limited in
+ * total and per client. A client is identified by a configured request header such as an API key or, if not
+ * configured or not included in a request, by its IP address.
+ * <br>
+ * A request exceeding a limit is answered with status code 429 including header `Retry-After` before its
+ * parameters are deserialized and before a lock of its port is requested. So a single client calling an expensive
+ * method cannot starve other clients.
+ * <br>
+ * Calls that are not dispatched as separate HTTP request, such as the entries of a batch or the calls via WebSocket,
+ * are limited by {@link #tryTake(String, String, String)} using the same buckets.
+ * <br>
+ * The number of client buckets of an endpoint is limited. If a new client exceeds this limit, the bucket of the least
+ * recently seen client is removed, so that rotating client ids cannot exhaust the memory. A trailing slash of a path
+ * is ignored as done by Javalin, so that it does not bypass the limit of an endpoint.
+ */
+class RateLimitHandler extends HandlerWrapper
+{
+    static final int TOO_MANY_REQUESTS = 429;
+
+    // If this number of client buckets of an endpoint is exceeded, the least recently used bucket is removed
+    private static final int DEFAULT_MAX_CLIENT_BUCKETS = 10_000;
+
+    private final String clientHeader;
+    private final int maxClientBuckets;
+    private final Map<String, EndpointLimit> getEndpoints = new ConcurrentHashMap<>();
+    private final Map<String, EndpointLimit> postEndpoints = new ConcurrentHashMap<>();
+    private final LongAdder limitedRequests = new LongAdder();
+
+    /**
+     * @param clientHeader name of the request header identifying a client, or null to identify clients by IP address
+     */
+    RateLimitHandler(String clientHeader)
+    {
+        this(clientHeader, DEFAULT_MAX_CLIENT_BUCKETS);
+    }
+
+    /**
+     * @param clientHeader name of the request header identifying a client, or null to identify clients by IP address
+     * @param maxClientBuckets maximum number of clients whose buckets are kept per endpoint
+     */
+    RateLimitHandler(String clientHeader, int maxClientBuckets)
+    {
+        this.clientHeader = clientHeader;
+        this.maxClientBuckets = maxClientBuckets;
+    }
+
+    /**
+     * @param path resource path of the endpoint
+     * @param requestsPerSecond maximum number of requests per second in total, or 0 if not limited
+     * @param requestsPerSecondPerClient maximum number of requests per second of a single client, or 0 if not limited
+     */
+    void registerGET(String path, double requestsPerSecond, double requestsPerSecondPerClient)
+    {
+        register(getEndpoints, path, requestsPerSecond, requestsPerSecondPerClient);
+    }
+
+    void registerPOST(String path, double requestsPerSecond, double requestsPerSecondPerClient)
+    {
+        register(postEndpoints, path, requestsPerSecond, requestsPerSecondPerClient);
+    }
+
+    long getLimitedRequests()
+    {
+        return limitedRequests.sum();
+    }
+
+    /**
+     * Takes a token for a call of the endpoint registered for given HTTP method and path.
+     *
+     * @return 0 if the call is accepted. Otherwise, the time in nanoseconds until a call would be accepted
+     */
+    long tryTake(String method, String path, String clientId)
+    {
+        var endpointLimit = getEndpointLimit(method, path);
+        if (endpointLimit == null)
+        {
+            return 0;
+        }
+
+        var waitTime = endpointLimit.tryTake(clientId, System.nanoTime());
+        if (waitTime > 0)
+        {
+            limitedRequests.increment();
+        }
+        return waitTime;
+    }
+
+    /**
+     * @param header returns the value of a request header by its name
+     * @param remoteAddress IP address of the client
+     */
+    String getClientId(UnaryOperator<String> header, String remoteAddress)
+    {
+        if (clientHeader != null)
+        {
+            var clientId = header.apply(clientHeader);
+            if (clientId != null)
+            {
+                return clientId;
+            }
+        }
+
+        return remoteAddress;
+    }
+
+    @Override
+    public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException
+    {
+        var endpointLimit = getEndpointLimit(request.getMethod(), target);
+
+        if (endpointLimit == null || request.getDispatcherType() == DispatcherType.ASYNC)
+        {
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+
+        var waitTime = endpointLimit.tryTake(getClientId(request::getHeader, request.getRemoteAddr()), System.nanoTime());
+        if (waitTime > 0)
+        {
+            limitedRequests.increment();
+            var retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitTime + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setHeader("Retry-After", Long.toString(retryAfter));
+            response.sendError(TOO_MANY_REQUESTS);
+            baseRequest.setHandled(true);
+            return;
+        }
+
+        super.handle(target, baseRequest, request, response);
+    }
+
+    private void register(Map<String, EndpointLimit> endpoints, String path, double requestsPerSecond, double requestsPerSecondPerClient)
+    {
+        if (requestsPerSecond > 0 || requestsPerSecondPerClient > 0)
+        {
+            endpoints.put(removeTrailingSlashes(path), new EndpointLimit(requestsPerSecond, requestsPerSecondPerClient, maxClientBuckets));
+        }
+    }
+
+    private EndpointLimit getEndpointLimit(String method, String path)
+    {
+        var target = removeTrailingSlashes(path);
+
+        if ("GET".equals(method))
+        {
+            return getEndpoints.get(target);
+        }
+
+        if ("POST".equals(method))
+        {
+            return postEndpoints.get(target);
+        }
+
+        return null;
+    }
+
+    /**
+     * Javalin ignores trailing slashes, so that {@code /MyApplicationService/myMethod/} calls the same method
+     */
+    private static String removeTrailingSlashes(String path)
+    {
+        var end = path.length();
+        while (end > 1 && path.charAt(end - 1) == '/')
+        {
+            --end;
+        }
+        return path.substring(0, end);
+    }
+
+    private static class EndpointLimit
+    {
+        private final TokenBucket endpointBucket;
+        private final double requestsPerSecondPerClient;
+        private final Map<String, TokenBucket> clientBuckets;
+
+        EndpointLimit(double requestsPerSecond, double requestsPerSecondPerClient, int maxClientBuckets)
+        {
+            this.endpointBucket = (requestsPerSecond > 0) ? createTokenBucket(requestsPerSecond, System.nanoTime()) : null;
+            this.requestsPerSecondPerClient = requestsPerSecondPerClient;
+            // Access order, so that the least recently used bucket is removed in constant time when a client is added
+            this.clientBuckets = new LinkedHashMap<>(16, 0.75f, true)
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest)
+                {
+                    return size() > maxClientBuckets;
+                }
+            };
+        }
+
+        /**
+         * @return 0 if the request is accepted. Otherwise, the time in nanoseconds until a request would be accepted
+         */
+        long tryTake(String clientId, long now)
+        {
+            // The limit per client is checked first, so that rejected requests of a single client do not consume tokens of all clients
+            if (requestsPerSecondPerClient > 0)
+            {
+                var waitTime = getClientBucket(clientId, now).tryTake(now);
+                if (waitTime > 0)
+                {
+                    return waitTime;
+                }
+            }
+
+            return (endpointBucket == null) ? 0 : endpointBucket.tryTake(now);
+        }
+
+        /**
+         * Only the lookup is synchronized. Taking a token is done by the lock-free bucket itself.
+         */
+        private synchronized TokenBucket getClientBucket(String clientId, long now)
+        {
+            return clientBuckets.computeIfAbsent(clientId, key -> createTokenBucket(requestsPerSecondPerClient, now));
+        }
+
+        private static TokenBucket createTokenBucket(double requestsPerSecond, long now)
+        {
+            // Allow a burst of the requests of one second
+            return new TokenBucket(requestsPerSecond, (int) Math.max(1, Math.ceil(requestsPerSecond)), now);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+/**
+ * Signals that a call via WebSocket is rejected without being executed, e.g. because it exceeds a rate limit. It is
+ * reported as error of the call with the given status code. As a regular outcome under load, it does not capture a
+ * stack trace.
+ */
+class RejectedCallException extends RuntimeException
+{
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    RejectedCallException(int statusCode, String message)
+    {
+        super(message, null, false, false);
+        this.statusCode = statusCode;
+    }
+
+    int getStatusCode()
+    {
+        return statusCode;
+    }
+}
@@ -0,0 +1,142 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import io.jexxa.infrastructure.drivingadapter.EndpointRecorder;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+/**
+ * Records the metrics of each registered endpoint via its {@link EndpointRecorder}. Requests to paths that are not
+ * registered, such as the metrics endpoint itself, are not recorded.
+ * <br>
+ * A request is recorded when its response is completed, which includes asynchronous requests. The payload sizes are
+ * the number of bytes read from the request body and written to the response body. A request is counted as error
+ * if it is answered with a status code of 400 or above.
+ * <br>
+ * Calls that are not dispatched as separate HTTP request, such as calls via WebSocket, are recorded by the
+ * {@link EndpointRecorder} of their method, see {@link #getEndpointRecorder(String, String)}.
+ */
+class RequestMetricsHandler extends HandlerWrapper
+{
+    private final Map<String, EndpointRecorder> getEndpoints = new ConcurrentHashMap<>();
+    private final Map<String, EndpointRecorder> postEndpoints = new ConcurrentHashMap<>();
+
+    void registerGET(String path)
+    {
+        getEndpoints.put(path, EndpointRecorder.of("GET", path));
+    }
+
+    void registerPOST(String path)
+    {
+        postEndpoints.put(path, EndpointRecorder.of("POST", path));
+    }
+
+    @Override
+    public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException
+    {
+        var endpointRecorder = getEndpointRecorder(request.getMethod(), target);
+
+        // An asynchronous request is dispatched again after completion. In this case, it is already recorded
+        if (endpointRecorder == null || request.getDispatcherType() == DispatcherType.ASYNC)
+        {
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+
+        var startTime = System.nanoTime();
+        var recordRequest = true;
+        try
+        {
+            super.handle(target, baseRequest, request, response);
+
+            if (request.isAsyncStarted())
+            {
+                request.getAsyncContext().addListener(new CompletionRecorder(endpointRecorder, baseRequest, startTime));
+                recordRequest = false;
+            }
+        }
+        finally
+        {
+            if (recordRequest)
+            {
+                record(endpointRecorder, baseRequest, startTime);
+            }
+        }
+    }
+
+    /**
+     * @return the EndpointRecorder of the endpoint registered for given HTTP method and path, or null if not registered
+     */
+    EndpointRecorder getEndpointRecorder(String method, String target)
+    {
+        if ("GET".equals(method))
+        {
+            return getEndpoints.get(target);
+        }
+
+        if ("POST".equals(method))
+        {
+            return postEndpoints.get(target);
+        }
+
+        return null;
+    }
+
+    private static void record(EndpointRecorder endpointRecorder, Request baseRequest, long startTime)
+    {
+        endpointRecorder.record(
+                System.nanoTime() - startTime,
+                baseRequest.getResponse().getStatus() >= HttpServletResponse.SC_BAD_REQUEST,
+                baseRequest.getContentRead(),
+                baseRequest.getResponse().getHttpOutput().getWritten()
+        );
+    }
+
+    private static class CompletionRecorder implements AsyncListener
+    {
+        private final EndpointRecorder endpointRecorder;
+        private final Request baseRequest;
+        private final long startTime;
+
+        CompletionRecorder(EndpointRecorder endpointRecorder, Request baseRequest, long startTime)
+        {
+            this.endpointRecorder = endpointRecorder;
+            this.baseRequest = baseRequest;
+            this.startTime = startTime;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event)
+        {
+            record(endpointRecorder, baseRequest, startTime);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event)
+        {
+            // Request is recorded when it is completed
+        }
+
+        @Override
+        public void onError(AsyncEvent event)
+        {
+            // Request is recorded when it is completed
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event)
+        {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
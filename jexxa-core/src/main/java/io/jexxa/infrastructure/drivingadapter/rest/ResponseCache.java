@@ -0,0 +1,182 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the serialized responses of GET methods. Because a GET method has no attributes, its resource path
+ * is used as key.
+ * <br>
+ * A cached response is invalid if it is older than the configured time to live, or if a POST method was called on
+ * the same port in the meantime. If the total size of all cached responses exceeds the configured maximum size,
+ * the least recently used responses are removed.
+ * <br>
+ * Note: Changes of a port that are not performed via a POST method of the {@link RESTfulRPCAdapter}, e.g. via a JMS
+ * message, are only visible after the time to live has expired.
+ */
+class ResponseCache
+{
+    private final long timeToLive;
+    private final long maxSize;
+
+    // Incremented on each POST method, so that responses which were created before are invalid
+    private final Map<Object, AtomicLong> portGenerations = new ConcurrentHashMap<>();
+
+    private final LinkedHashMap<String, CachedResponse> cachedResponses = new LinkedHashMap<>(16, 0.75f, true);
+    private long size = 0;
+
+    ResponseCache(Duration timeToLive, long maxSize)
+    {
+        this.timeToLive = timeToLive.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    boolean isEnabled()
+    {
+        return timeToLive > 0 && maxSize > 0;
+    }
+
+    synchronized Optional<CachedResponse> get(String resourcePath, Object port)
+    {
+        var cachedResponse = cachedResponses.get(resourcePath);
+        if (cachedResponse == null)
+        {
+            return Optional.empty();
+        }
+
+        if (System.nanoTime() - cachedResponse.creationTime > timeToLive ||
+                cachedResponse.generation != getGeneration(port))
+        {
+            remove(resourcePath);
+            return Optional.empty();
+        }
+
+        return Optional.of(cachedResponse);
+    }
+
+    /**
+     * Stores a response that was created after calling {@link #getGeneration(Object)}. If the port was changed
+     * in the meantime, the response is not stored but can still be returned to the client.
+     */
+    CachedResponse put(String resourcePath, Object port, long generation, byte[] body)
+    {
+        var cachedResponse = new CachedResponse(body, generation);
+
+        if (body.length <= maxSize)
+        {
+            synchronized (this)
+            {
+                if (generation == getGeneration(port))
+                {
+                    remove(resourcePath);
+                    cachedResponses.put(resourcePath, cachedResponse);
+                    size += body.length;
+                    evict();
+                }
+            }
+        }
+
+        return cachedResponse;
+    }
+
+    long getGeneration(Object port)
+    {
+        return portGenerations.computeIfAbsent(port, key -> new AtomicLong()).get();
+    }
+
+    void invalidate(Object port)
+    {
+        if (isEnabled())
+        {
+            portGenerations.computeIfAbsent(port, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private void remove(String resourcePath)
+    {
+        var cachedResponse = cachedResponses.remove(resourcePath);
+        if (cachedResponse != null)
+        {
+            size -= cachedResponse.body.length;
+        }
+    }
+
+    private void evict()
+    {
+        var iterator = cachedResponses.values().iterator();
+        while (size > maxSize && iterator.hasNext())
+        {
+            size -= iterator.next().body.length;
+            iterator.remove();
+        }
+    }
+
+    static class CachedResponse
+    {
+        private final byte[] body;
+        private final String eTag;
+        private final long generation;
+        private final long creationTime;
+
+        CachedResponse(byte[] body, long generation)
+        {
+            this.body = body;
+            this.eTag = createETag(body);
+            this.generation = generation;
+            this.creationTime = System.nanoTime();
+        }
+
+        byte[] getBody()
+        {
+            return body;
+        }
+
+        String getETag()
+        {
+            return eTag;
+        }
+
+        /**
+         * @param ifNoneMatch value of HTTP header If-None-Match, which can include a list of ETags
+         * @return true if the client already has this response
+         */
+        boolean matches(String ifNoneMatch)
+        {
+            if (ifNoneMatch == null)
+            {
+                return false;
+            }
+
+            for (var element : ifNoneMatch.split(","))
+            {
+                var clientETag = element.trim();
+                if (clientETag.equals("*") || clientETag.equals(eTag) || clientETag.equals("W/" + eTag))
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private static String createETag(byte[] body)
+        {
+            try
+            {
+                var digest = MessageDigest.getInstance("SHA-256").digest(body);
+                return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+            }
+            catch (NoSuchAlgorithmException e)
+            {
+                throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+import io.javalin.core.compression.Brotli;
+import io.javalin.core.compression.CompressionStrategy;
+import io.javalin.core.compression.Gzip;
+import io.javalin.http.Context;
+import io.jexxa.utils.JexxaLogger;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Defines how responses of a {@link RESTfulRPCAdapter} are compressed and records statistics about it.
+ * <br>
+ * A response is compressed if the client accepts the configured encoding, its MIME type is included in the
+ * configured list of MIME types, and its size exceeds the configured minimum size. Brotli is only available if
+ * jvm-brotli (com.nixxcode.jvmbrotli) is included in the classpath. Otherwise, gzip is used.
+ */
+class ResponseCompression
+{
+    static final String GZIP = "gzip";
+    static final String BROTLI = "br";
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_GZIP_LEVEL = 9;
+    private static final int MAX_BROTLI_LEVEL = 11;
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    enum Encoding { NONE, GZIP, BROTLI }
+
+    private final Encoding encoding;
+    private final int minSize;
+    private final Set<String> mimeTypes;
+    private final int level;
+    private final MethodHandle brotliStreamConstructor;
+
+    private final LongAdder compressedResponses = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder cpuTime = new LongAdder();
+
+    ResponseCompression(Encoding encoding, int minSize, Set<String> mimeTypes, int level)
+    {
+        Validate.isTrue(minSize >= 0, "Minimum size for compression must not be negative");
+        Validate.inclusiveBetween(0, MAX_BROTLI_LEVEL, level, "Compression level must be between 0 and " + MAX_BROTLI_LEVEL);
+
+        this.minSize = minSize;
+        this.mimeTypes = Set.copyOf(mimeTypes);
+        this.level = level;
+        this.brotliStreamConstructor = (encoding == Encoding.BROTLI) ? getBrotliStreamConstructor() : null;
+
+        if (encoding == Encoding.BROTLI && brotliStreamConstructor == null)
+        {
+            JexxaLogger.getLogger(ResponseCompression.class).warn("Brotli is not available because jvm-brotli is not included in the classpath. Use gzip instead.");
+            this.encoding = Encoding.GZIP;
+        }
+        else
+        {
+            this.encoding = encoding;
+        }
+    }
+
+    int getMinSize()
+    {
+        return minSize;
+    }
+
+    /**
+     * @return the content encoding that is used for the response, or null if the response must not be compressed
+     */
+    String getContentEncoding(Context httpContext, String mimeType)
+    {
+        if (encoding == Encoding.NONE || !mimeTypes.contains(mimeType))
+        {
+            return null;
+        }
+
+        var acceptEncoding = httpContext.header("Accept-Encoding");
+        if (acceptEncoding == null)
+        {
+            return null;
+        }
+
+        if (encoding == Encoding.BROTLI && accepts(acceptEncoding, BROTLI))
+        {
+            return BROTLI;
+        }
+
+        if (accepts(acceptEncoding, GZIP))
+        {
+            return GZIP;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns an output stream that compresses all data with given content encoding before writing it to given
+     * output stream. Closing the returned stream updates the statistics.
+     * <br>
+     * The CPU time is sampled only when the stream is created and when it is closed, so that it does not slow down
+     * each write. It therefore also includes the time for serializing the response while it is compressed.
+     */
+    OutputStream compress(OutputStream outputStream, String contentEncoding) throws IOException
+    {
+        var startCpuTime = getCpuTime();
+        var countingOutputStream = new CountingOutputStream(outputStream);
+
+        if (BROTLI.equals(contentEncoding))
+        {
+            return new RecordingOutputStream(createBrotliStream(countingOutputStream), countingOutputStream, startCpuTime);
+        }
+
+        return new RecordingOutputStream(new LeveledGzipOutputStream(countingOutputStream, Math.min(level, MAX_GZIP_LEVEL)), countingOutputStream, startCpuTime);
+    }
+
+    /**
+     * @return the compression strategy used by Javalin for all other responses such as OpenAPI documentation
+     */
+    CompressionStrategy getCompressionStrategy()
+    {
+        if (encoding == Encoding.NONE)
+        {
+            return CompressionStrategy.NONE;
+        }
+
+        var brotli = (encoding == Encoding.BROTLI) ? new Brotli(level) : null;
+        return new CompressionStrategy(brotli, new Gzip(Math.min(level, MAX_GZIP_LEVEL)));
+    }
+
+    CompressionStatistics getStatistics()
+    {
+        return new CompressionStatistics(
+                compressedResponses.sum(),
+                uncompressedBytes.sum(),
+                compressedBytes.sum(),
+                cpuTime.sum()
+        );
+    }
+
+    private static boolean accepts(String acceptEncoding, String contentEncoding)
+    {
+        for (var element : acceptEncoding.split(","))
+        {
+            var parameters = element.split(";");
+            if (parameters[0].trim().equalsIgnoreCase(contentEncoding))
+            {
+                return parameters.length < 2 || !parameters[1].replace(" ", "").toLowerCase(Locale.ROOT).matches("q=0(\\.0*)?");
+            }
+        }
+
+        return false;
+    }
+
+    private OutputStream createBrotliStream(OutputStream outputStream) throws IOException
+    {
+        try
+        {
+            return (OutputStream) brotliStreamConstructor.invoke(outputStream, level);
+        }
+        catch (IOException | RuntimeException | Error e)
+        {
+            throw e;
+        }
+        catch (Throwable e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Javalin's brotli stream is used via reflection so that jvm-brotli remains an optional dependency
+     */
+    private static MethodHandle getBrotliStreamConstructor()
+    {
+        try
+        {
+            var brotliLoader = Class.forName("com.nixxcode.jvmbrotli.common.BrotliLoader");
+            if (!(boolean) brotliLoader.getMethod("isBrotliAvailable").invoke(null))
+            {
+                return null;
+            }
+
+            return MethodHandles.publicLookup().findConstructor(
+                    Class.forName("io.javalin.http.LeveledBrotliStream"),
+                    MethodType.methodType(void.class, OutputStream.class, int.class)
+            );
+        }
+        catch (ReflectiveOperationException | LinkageError e)
+        {
+            return null;
+        }
+    }
+
+    private static long getCpuTime()
+    {
+        if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported())
+        {
+            return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+        }
+
+        return System.nanoTime();
+    }
+
+    private static class LeveledGzipOutputStream extends GZIPOutputStream
+    {
+        LeveledGzipOutputStream(OutputStream outputStream, int level) throws IOException
+        {
+            super(outputStream, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream
+    {
+        private long count = 0;
+
+        CountingOutputStream(OutputStream outputStream)
+        {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException
+        {
+            out.write(b);
+            ++count;
+        }
+
+        @Override
+        public void write(byte[] data, int offset, int length) throws IOException
+        {
+            out.write(data, offset, length);
+            count += length;
+        }
+    }
+
+    /**
+     * Records the uncompressed size of all data written to the compressing output stream, and the CPU time between
+     * creating and closing it
+     */
+    private class RecordingOutputStream extends FilterOutputStream
+    {
+        private final CountingOutputStream compressedOutputStream;
+        private final Thread thread = Thread.currentThread();
+        private final long startCpuTime;
+        private long count = 0;
+
+        RecordingOutputStream(OutputStream compressingOutputStream, CountingOutputStream compressedOutputStream, long startCpuTime)
+        {
+            super(compressingOutputStream);
+            this.compressedOutputStream = compressedOutputStream;
+            this.startCpuTime = startCpuTime;
+        }
+
+        @Override
+        public void write(int b) throws IOException
+        {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] data, int offset, int length) throws IOException
+        {
+            out.write(data, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            try
+            {
+                out.close();
+            }
+            finally
+            {
+                // The CPU time of a thread is only comparable if the response is written by a single thread
+                if (thread == Thread.currentThread())
+                {
+                    cpuTime.add(getCpuTime() - startCpuTime);
+                }
+
+                compressedResponses.increment();
+                uncompressedBytes.add(count);
+                compressedBytes.add(compressedOutputStream.count);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket which is refilled with a constant rate and holds at most {@code capacity} tokens.
+ * <br>
+ * Instead of counting tokens, the bucket stores the point in time at which it would be full again, as done by the
+ * generic cell rate algorithm. So taking a token is a single compare-and-set operation and does not require a
+ * background task to refill the bucket.
+ */
+class TokenBucket
+{
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final long refillInterval;
+    private final long burstTolerance;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param tokensPerSecond number of tokens added per second
+     * @param capacity maximum number of tokens that can be taken at once, i.e., the allowed burst
+     * @param now current point in time, see {@link System#nanoTime()}
+     */
+    TokenBucket(double tokensPerSecond, int capacity, long now)
+    {
+        this.refillInterval = Math.max(1, Math.round(NANOS_PER_SECOND / tokensPerSecond));
+        this.burstTolerance = refillInterval * Math.max(0, capacity - 1);
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token if available.
+     *
+     * @param now current point in time, see {@link System#nanoTime()}
+     * @return 0 if a token was taken. Otherwise, the time in nanoseconds until the next token is available
+     */
+    long tryTake(long now)
+    {
+        while (true)
+        {
+            var currentFullAt = fullAt.get();
+            var start = (currentFullAt - now > 0) ? currentFullAt : now;
+
+            var waitTime = start - now - burstTolerance;
+            if (waitTime > 0)
+            {
+                return waitTime;
+            }
+
+            if (fullAt.compareAndSet(currentFullAt, start + refillInterval))
+            {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @param now current point in time, see {@link System#nanoTime()}
+     * @return true if the bucket is full, so that it behaves as a newly created bucket
+     */
+    boolean isFull(long now)
+    {
+        return fullAt.get() - now <= 0;
+    }
+}
@@ -0,0 +1,80 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.jexxa.utils.VirtualThreads;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+/**
+ * Jetty ThreadPool that executes each task in a new virtual thread. Because virtual threads are cheap, the pool
+ * has no upper limit and never runs low on threads.
+ * <br>
+ * Note: This pool requires JDK 21 or later. See {@link VirtualThreads}.
+ */
+class VirtualThreadPool extends AbstractLifeCycle implements ThreadPool
+{
+    private final ExecutorService executorService;
+    private final AtomicInteger activeThreads = new AtomicInteger();
+
+    VirtualThreadPool(String namePrefix)
+    {
+        this.executorService = VirtualThreads.newThreadPerTaskExecutor(namePrefix);
+    }
+
+    @Override
+    public void execute(Runnable task)
+    {
+        executorService.execute(() -> {
+            activeThreads.incrementAndGet();
+            try
+            {
+                task.run();
+            }
+            finally
+            {
+                activeThreads.decrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public void join() throws InterruptedException
+    {
+        //noinspection StatementWithEmptyBody
+        while (!executorService.awaitTermination(1, TimeUnit.DAYS))
+        {
+            // Wait until the pool is stopped
+        }
+    }
+
+    @Override
+    public int getThreads()
+    {
+        return activeThreads.get();
+    }
+
+    @Override
+    public int getIdleThreads()
+    {
+        return 0;
+    }
+
+    @Override
+    public boolean isLowOnThreads()
+    {
+        return false;
+    }
+
+    @Override
+    protected void doStop() throws Exception
+    {
+        executorService.shutdown();
+        if (!executorService.awaitTermination(getStopTimeout(), TimeUnit.MILLISECONDS))
+        {
+            executorService.shutdownNow();
+        }
+    }
+}
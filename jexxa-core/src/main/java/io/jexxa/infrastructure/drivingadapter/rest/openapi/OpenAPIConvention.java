@@ -18,6 +18,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.CompletionStage;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -134,7 +135,14 @@ public class OpenAPIConvention
 
     private static void documentReturnType(Method method, OpenApiDocumentation openApiDocumentation)
     {
-        if ( isJsonArray(method.getReturnType()) )
+        if ( CompletionStage.class.isAssignableFrom(method.getReturnType()) )
+        {
+            // The result of a CompletionStage is only documented if its type is a plain class
+            extractTypeFromCompletionStage(method.getGenericReturnType()).ifPresentOrElse(
+                    resultType -> openApiDocumentation.json("200", resultType),
+                    () -> openApiDocumentation.result("200")
+            );
+        } else if ( isJsonArray(method.getReturnType()) )
         {
             openApiDocumentation.jsonArray("200", extractTypeFromArray(method.getGenericReturnType()));
         } else if ( method.getReturnType() != void.class )
@@ -375,6 +383,19 @@ public class OpenAPIConvention
         return (Class<?>)parameterType.getActualTypeArguments()[0];
     }
 
+    private static Optional<Class<?>> extractTypeFromCompletionStage(Type type)
+    {
+        if ( type instanceof ParameterizedType )
+        {
+            var resultType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if ( resultType instanceof Class && resultType != Void.class )
+            {
+                return Optional.of((Class<?>) resultType);
+            }
+        }
+        return Optional.empty();
+    }
+
     @SuppressWarnings({"java:S1104", "java:S116"})
     public static class BadRequestResponse
     {
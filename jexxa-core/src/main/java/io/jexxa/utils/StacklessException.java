@@ -0,0 +1,24 @@
+package io.jexxa.utils;
+
+/**
+ * Base class for business exceptions, such as a domain exception signaling that a requested item is not available,
+ * which are part of the normal behavior of an application. Such an exception does not capture a stack trace, which
+ * makes creating and reporting it by a driving adapter much cheaper.
+ * <br>
+ * An exception that must extend another class can opt out of stack capture in the same way by calling
+ * constructor {@link Throwable#Throwable(String, Throwable, boolean, boolean)} with {@code writableStackTrace = false}.
+ */
+public abstract class StacklessException extends Exception
+{
+    private static final long serialVersionUID = 1L;
+
+    protected StacklessException(String message)
+    {
+        this(message, null);
+    }
+
+    protected StacklessException(String message, Throwable cause)
+    {
+        super(message, cause, true, false);
+    }
+}
@@ -0,0 +1,82 @@
+package io.jexxa.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Provides virtual threads if Jexxa runs on JDK 21 or later. Virtual threads are accessed via reflection, so that
+ * Jexxa can still be compiled and executed with Java 11.
+ */
+public final class VirtualThreads
+{
+    private static final int MIN_JAVA_VERSION = 21;
+
+    /**
+     * @return true if the current JVM supports virtual threads
+     */
+    public static boolean isAvailable()
+    {
+        return Runtime.version().feature() >= MIN_JAVA_VERSION;
+    }
+
+    /**
+     * Creates a ThreadFactory for virtual threads whose names consist of given prefix and a counter.
+     *
+     * @param namePrefix prefix of the name of each thread
+     * @return ThreadFactory creating virtual threads
+     * @throws UnsupportedOperationException if virtual threads are not available
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix)
+    {
+        validateAvailability();
+
+        try
+        {
+            var builderClass = Class.forName("java.lang.Thread$Builder");
+            var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new UnsupportedOperationException("Virtual threads could not be created", e);
+        }
+    }
+
+    /**
+     * Creates an ExecutorService that starts a new virtual thread for each task.
+     *
+     * @param namePrefix prefix of the name of each thread
+     * @return ExecutorService using virtual threads
+     * @throws UnsupportedOperationException if virtual threads are not available
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix)
+    {
+        var threadFactory = newThreadFactory(namePrefix);
+
+        try
+        {
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new UnsupportedOperationException("Virtual threads could not be created", e);
+        }
+    }
+
+    private static void validateAvailability()
+    {
+        if (!isAvailable())
+        {
+            throw new UnsupportedOperationException("Virtual threads require Java " + MIN_JAVA_VERSION + " or later. Current version is " + Runtime.version());
+        }
+    }
+
+    private VirtualThreads()
+    {
+        //Private constructor
+    }
+}
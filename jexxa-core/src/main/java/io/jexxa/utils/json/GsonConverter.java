@@ -0,0 +1,196 @@
+package io.jexxa.utils.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * JSONConverter based on Gson. This is the default JSONConverter of Jexxa.
+ * <br>
+ * By default, Java 8 date and time types {@link LocalDate}, {@link LocalDateTime} and {@link ZonedDateTime} are
+ * serialized as ISO-8601 strings, see {@link #createGsonBuilder()}. For compatibility, they are also deserialized from
+ * the objects written by a plain Gson instance.
+ */
+public class GsonConverter implements JSONConverter
+{
+    private final Gson gson;
+
+    public GsonConverter()
+    {
+        this(createGsonBuilder().create());
+    }
+
+    /**
+     * @param gson preconfigured Gson instance, e.g., including application specific TypeAdapters
+     */
+    public GsonConverter(Gson gson)
+    {
+        Validate.notNull(gson);
+        this.gson = gson;
+    }
+
+    /**
+     * @return GsonBuilder configured as described in {@link GsonConverter}, which can be extended by an application
+     */
+    public static GsonBuilder createGsonBuilder()
+    {
+        var gsonBuilder = new GsonBuilder();
+        registerJava8DateTime(gsonBuilder);
+        return gsonBuilder;
+    }
+
+    @Override
+    public String toJson(Object object)
+    {
+        return gson.toJson(object);
+    }
+
+    @Override
+    public void toJson(Object object, Writer writer)
+    {
+        gson.toJson(object, writer);
+    }
+
+    @Override
+    public <T> T fromJson(String json, Class<T> clazz)
+    {
+        return gson.fromJson(json, clazz);
+    }
+
+    @Override
+    public <T> T fromJson(String json, Type type)
+    {
+        return gson.fromJson(json, type);
+    }
+
+    @Override
+    public <T> T fromJson(Reader reader, Type type)
+    {
+        return gson.fromJson(reader, type);
+    }
+
+    @Override
+    public JsonReader newJsonReader(Reader reader)
+    {
+        return gson.newJsonReader(reader);
+    }
+
+    @Override
+    public JsonWriter newJsonWriter(Writer writer)
+    {
+        try
+        {
+            return gson.newJsonWriter(writer);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public <T> T fromJson(JsonReader jsonReader, Type type)
+    {
+        return gson.fromJson(jsonReader, type);
+    }
+
+    @Override
+    public void toJson(Object object, JsonWriter jsonWriter)
+    {
+        if (object == null)
+        {
+            gson.toJson(JsonNull.INSTANCE, jsonWriter);
+        }
+        else
+        {
+            gson.toJson(object, object.getClass(), jsonWriter);
+        }
+    }
+
+    private static void registerJava8DateTime(GsonBuilder gsonBuilder)
+    {
+        gsonBuilder.registerTypeAdapter(LocalDate.class,
+            (JsonDeserializer<LocalDate>) (json, type, jsonDeserializationContext) -> {
+                if (json.isJsonPrimitive())
+                {
+                    return LocalDate.parse(json.getAsJsonPrimitive().getAsString());
+                }
+                return toLocalDate(json.getAsJsonObject());
+            });
+
+        gsonBuilder.registerTypeAdapter(LocalDate.class,
+                (JsonSerializer<LocalDate>) (src, typeOfSrc, serializationContext) -> new JsonPrimitive(src.toString()));
+
+        gsonBuilder.registerTypeAdapter(LocalDateTime.class,
+            (JsonDeserializer<LocalDateTime>) (json, type, jsonDeserializationContext) -> {
+                if (json.isJsonPrimitive())
+                {
+                    return LocalDateTime.parse(json.getAsJsonPrimitive().getAsString());
+                }
+                return toLocalDateTime(json.getAsJsonObject());
+            });
+
+        gsonBuilder.registerTypeAdapter(LocalDateTime.class,
+                (JsonSerializer<LocalDateTime>) (src, typeOfSrc, serializationContext) -> new JsonPrimitive(src.toString()));
+
+        gsonBuilder.registerTypeAdapter(ZonedDateTime.class,
+            (JsonDeserializer<ZonedDateTime>) (json, type, jsonDeserializationContext) -> {
+                if (json.isJsonPrimitive())
+                {
+                    return ZonedDateTime.parse(json.getAsJsonPrimitive().getAsString());
+                }
+                return toZonedDateTime(json.getAsJsonObject());
+            });
+
+        gsonBuilder.registerTypeAdapter(ZonedDateTime.class,
+                (JsonSerializer<ZonedDateTime>) (src, typeOfSrc, serializationContext) ->
+                        new JsonPrimitive(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(src.withZoneSameInstant(src.getZone()))));
+    }
+
+    /*
+     * The following methods read the representation of a plain Gson instance, which serializes the fields of the
+     * java.time classes, so that JSON written by previous versions of Jexxa can still be read.
+     */
+    private static LocalDate toLocalDate(JsonObject date)
+    {
+        return LocalDate.of(date.get("year").getAsInt(), date.get("month").getAsInt(), date.get("day").getAsInt());
+    }
+
+    private static LocalDateTime toLocalDateTime(JsonObject dateTime)
+    {
+        var time = dateTime.getAsJsonObject("time");
+        return LocalDateTime.of(
+                toLocalDate(dateTime.getAsJsonObject("date")),
+                LocalTime.of(time.get("hour").getAsInt(), time.get("minute").getAsInt(), time.get("second").getAsInt(), time.get("nano").getAsInt())
+        );
+    }
+
+    private static ZonedDateTime toZonedDateTime(JsonObject zonedDateTime)
+    {
+        var offset = ZoneOffset.ofTotalSeconds(zonedDateTime.getAsJsonObject("offset").get("totalSeconds").getAsInt());
+        var zone = zonedDateTime.getAsJsonObject("zone");
+        var zoneId = zone.has("id") ? ZoneId.of(zone.get("id").getAsString()) : ZoneOffset.ofTotalSeconds(zone.get("totalSeconds").getAsInt());
+
+        return ZonedDateTime.ofLocal(toLocalDateTime(zonedDateTime.getAsJsonObject("dateTime")), zoneId, offset);
+    }
+}
@@ -0,0 +1,53 @@
+package io.jexxa.utils.json;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Converts objects from and into JSON. All adapters of Jexxa get their JSONConverter from {@link JSONManager}, so
+ * that objects are serialized in the same way by all adapters.
+ * <br>
+ * Adapters that read or write several values per message, such as the parameters and results of a
+ * RESTfulRPCAdapter, use the streaming methods. They read and write values directly from and into a
+ * {@link JsonReader} or {@link JsonWriter} created by this JSONConverter, without creating an intermediate String.
+ * <br>
+ * A JSONConverter must be thread-safe.
+ */
+public interface JSONConverter
+{
+    String toJson(Object object);
+
+    void toJson(Object object, Writer writer);
+
+    <T> T fromJson(String json, Class<T> clazz);
+
+    <T> T fromJson(String json, Type type);
+
+    <T> T fromJson(Reader reader, Type type);
+
+    /**
+     * @return a streaming reader for given JSON document whose values can be read by {@link #fromJson(JsonReader, Type)}
+     */
+    JsonReader newJsonReader(Reader reader);
+
+    /**
+     * @return a streaming writer into given writer whose values can be written by {@link #toJson(Object, JsonWriter)}
+     */
+    JsonWriter newJsonWriter(Writer writer);
+
+    /**
+     * Reads the next value from given streaming reader. The reader is either created by {@link #newJsonReader(Reader)}
+     * or a {@link JacksonJsonReader} for a binary format.
+     */
+    <T> T fromJson(JsonReader jsonReader, Type type);
+
+    /**
+     * Writes given object as next value into given streaming writer. The writer is either created by
+     * {@link #newJsonWriter(Writer)} or a {@link JacksonJsonWriter} for a binary format.
+     */
+    void toJson(Object object, JsonWriter jsonWriter);
+}
@@ -0,0 +1,92 @@
+package io.jexxa.utils.json;
+
+import java.util.Properties;
+import java.util.ServiceLoader;
+
+import io.jexxa.utils.JexxaLogger;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Provides the {@link JSONConverter} used by all adapters of Jexxa. The JSONConverter is selected as follows:
+ * <ol>
+ *   <li>Class name given by property {@value #JSON_CONVERTER}, see {@link #configure(Properties)}</li>
+ *   <li>First JSONConverter registered via {@link ServiceLoader}, i.e., in META-INF/services/io.jexxa.utils.json.JSONConverter</li>
+ *   <li>{@link GsonConverter} as default</li>
+ * </ol>
+ *
+ * A JSONConverter can also be set explicitly by {@link #setJSONConverter(JSONConverter)}. Note that the JSONConverter
+ * should be defined before any adapter is created.
+ */
+public final class JSONManager
+{
+    public static final String JSON_CONVERTER = "io.jexxa.json_converter";
+
+    private static volatile JSONConverter jsonConverter;
+
+    public static JSONConverter getJSONConverter()
+    {
+        var result = jsonConverter;
+        if (result == null)
+        {
+            synchronized (JSONManager.class)
+            {
+                if (jsonConverter == null)
+                {
+                    jsonConverter = loadJSONConverter();
+                }
+                result = jsonConverter;
+            }
+        }
+
+        return result;
+    }
+
+    public static void setJSONConverter(JSONConverter jsonConverter)
+    {
+        Validate.notNull(jsonConverter);
+        JSONManager.jsonConverter = jsonConverter;
+    }
+
+    /**
+     * Sets the JSONConverter given by property {@value #JSON_CONVERTER}. If the property is not defined, the
+     * current JSONConverter is not changed.
+     *
+     * @param properties Properties of the application
+     * @throws IllegalArgumentException if the JSONConverter can not be created
+     */
+    public static void configure(Properties properties)
+    {
+        Validate.notNull(properties);
+
+        var className = properties.getProperty(JSON_CONVERTER);
+        if (className == null || className.isBlank())
+        {
+            return;
+        }
+
+        try
+        {
+            var converterClass = Class.forName(className.trim()).asSubclass(JSONConverter.class);
+            setJSONConverter(converterClass.getConstructor().newInstance());
+        }
+        catch (ReflectiveOperationException | ClassCastException | LinkageError e)
+        {
+            throw new IllegalArgumentException("Could not create JSONConverter " + className + " defined by " + JSON_CONVERTER, e);
+        }
+    }
+
+    private static JSONConverter loadJSONConverter()
+    {
+        var result = ServiceLoader.load(JSONConverter.class)
+                .findFirst()
+                .orElseGet(GsonConverter::new);
+
+        JexxaLogger.getLogger(JSONManager.class).debug("Use {} as JSONConverter", result.getClass().getName());
+        return result;
+    }
+
+    private JSONManager()
+    {
+        //Private constructor
+    }
+}
@@ -0,0 +1,439 @@
+package io.jexxa.utils.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.ValueInstantiators;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.jexxa.utils.JexxaLogger;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * JSONConverter based on jackson-databind which offers a higher throughput than {@link GsonConverter}. To use it,
+ * add com.fasterxml.jackson.core:jackson-databind to your application and set
+ * {@value JSONManager#JSON_CONVERTER} to io.jexxa.utils.json.JacksonConverter.
+ * <br>
+ * The ObjectMapper is configured to produce the same JSON as Gson:
+ * <ul>
+ *   <li>Only fields are serialized. Getters, setters and constructors are ignored.</li>
+ *   <li>Null values are omitted, and unknown attributes are ignored during deserialization.</li>
+ *   <li>Objects without default constructor are created without calling a constructor, as done by Gson.</li>
+ *   <li>A {@link JsonElement} of Gson is serialized as the JSON it represents.</li>
+ * </ul>
+ *
+ * The streaming methods read and write values directly from and into the JsonParser and JsonGenerator of a
+ * {@link JacksonJsonReader} and {@link JacksonJsonWriter}.
+ *
+ * If included in the classpath, the following Jackson modules are registered:
+ * <ul>
+ *   <li>jackson-datatype-jsr310: Java 8 date and time types are serialized as ISO-8601 strings</li>
+ *   <li>jackson-module-blackbird: Accessors are generated during runtime instead of using reflection</li>
+ * </ul>
+ */
+public class JacksonConverter implements JSONConverter
+{
+    private static final List<String> OPTIONAL_MODULES = List.of(
+            "com.fasterxml.jackson.datatype.jsr310.JavaTimeModule",
+            "com.fasterxml.jackson.module.blackbird.BlackbirdModule"
+    );
+
+    private final ObjectMapper objectMapper;
+    // A value written into a stream must not flush it, because this would send each value separately
+    private final ObjectWriter streamingWriter;
+
+    public JacksonConverter()
+    {
+        this(createObjectMapper());
+    }
+
+    /**
+     * @param objectMapper preconfigured ObjectMapper
+     */
+    public JacksonConverter(ObjectMapper objectMapper)
+    {
+        Validate.notNull(objectMapper);
+        this.objectMapper = objectMapper;
+        this.streamingWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * @return ObjectMapper configured as described in {@link JacksonConverter}, which can be extended by an application
+     */
+    public static ObjectMapper createObjectMapper()
+    {
+        var objectMapper = new ObjectMapper();
+
+        objectMapper.setVisibility(objectMapper.getSerializationConfig().getDefaultVisibilityChecker()
+                .withFieldVisibility(JsonAutoDetect.Visibility.ANY)
+                .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withIsGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withSetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withCreatorVisibility(JsonAutoDetect.Visibility.NONE));
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+
+        objectMapper.registerModule(new AllocationModule());
+        objectMapper.registerModule(new SimpleModule(JsonElement.class.getName()).addSerializer(JsonElement.class, new JsonElementSerializer()));
+
+        OPTIONAL_MODULES.forEach(module -> registerOptionalModule(objectMapper, module));
+
+        return objectMapper;
+    }
+
+    @Override
+    public String toJson(Object object)
+    {
+        try
+        {
+            return objectMapper.writeValueAsString(object);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public void toJson(Object object, Writer writer)
+    {
+        try
+        {
+            objectMapper.writeValue(writer, object);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public <T> T fromJson(String json, Class<T> clazz)
+    {
+        try
+        {
+            return objectMapper.readValue(json, clazz);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public <T> T fromJson(String json, Type type)
+    {
+        try
+        {
+            return objectMapper.readValue(json, objectMapper.constructType(type));
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public <T> T fromJson(Reader reader, Type type)
+    {
+        try
+        {
+            return objectMapper.readValue(reader, objectMapper.constructType(type));
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public JsonReader newJsonReader(Reader reader)
+    {
+        try
+        {
+            return new JacksonJsonReader(objectMapper.createParser(reader));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public JsonWriter newJsonWriter(Writer writer)
+    {
+        try
+        {
+            return new JacksonJsonWriter(objectMapper.createGenerator(writer), false);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public <T> T fromJson(JsonReader jsonReader, Type type)
+    {
+        try
+        {
+            if (jsonReader instanceof JacksonJsonReader)
+            {
+                return objectMapper.readValue(((JacksonJsonReader) jsonReader).nextValue(), objectMapper.constructType(type));
+            }
+
+            return fromJson(JsonParser.parseReader(jsonReader).toString(), type);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void toJson(Object object, JsonWriter jsonWriter)
+    {
+        try
+        {
+            if (object == null)
+            {
+                jsonWriter.nullValue();
+            }
+            else if (jsonWriter instanceof JacksonJsonWriter)
+            {
+                streamingWriter.writeValue(((JacksonJsonWriter) jsonWriter).nextValue(), object);
+            }
+            else
+            {
+                jsonWriter.jsonValue(toJson(object));
+            }
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void registerOptionalModule(ObjectMapper objectMapper, String moduleClass)
+    {
+        try
+        {
+            objectMapper.registerModule((Module) Class.forName(moduleClass).getConstructor().newInstance());
+        }
+        catch (ClassNotFoundException e)
+        {
+            // Module is not included in the classpath
+        }
+        catch (ReflectiveOperationException | LinkageError e)
+        {
+            JexxaLogger.getLogger(JacksonConverter.class).warn("Could not register Jackson module {}: {}", moduleClass, e.toString());
+        }
+    }
+
+    /**
+     * Writes a {@link JsonElement} of Gson, such as the representation of an exception, via the JsonGenerator
+     */
+    private static class JsonElementSerializer extends StdSerializer<JsonElement>
+    {
+        private static final long serialVersionUID = 1L;
+
+        JsonElementSerializer()
+        {
+            super(JsonElement.class);
+        }
+
+        @Override
+        public void serialize(JsonElement value, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException
+        {
+            if (value.isJsonArray())
+            {
+                jsonGenerator.writeStartArray();
+                for (var element : value.getAsJsonArray())
+                {
+                    serialize(element, jsonGenerator, serializerProvider);
+                }
+                jsonGenerator.writeEndArray();
+            }
+            else if (value.isJsonObject())
+            {
+                jsonGenerator.writeStartObject();
+                for (var entry : value.getAsJsonObject().entrySet())
+                {
+                    jsonGenerator.writeFieldName(entry.getKey());
+                    serialize(entry.getValue(), jsonGenerator, serializerProvider);
+                }
+                jsonGenerator.writeEndObject();
+            }
+            else if (value.isJsonPrimitive())
+            {
+                writePrimitive(value.getAsJsonPrimitive(), jsonGenerator);
+            }
+            else
+            {
+                jsonGenerator.writeNull();
+            }
+        }
+
+        private static void writePrimitive(JsonPrimitive value, JsonGenerator jsonGenerator) throws IOException
+        {
+            if (value.isBoolean())
+            {
+                jsonGenerator.writeBoolean(value.getAsBoolean());
+            }
+            else if (!value.isNumber())
+            {
+                jsonGenerator.writeString(value.getAsString());
+            }
+            else if (value.getAsNumber() instanceof Integer || value.getAsNumber() instanceof Long)
+            {
+                jsonGenerator.writeNumber(value.getAsLong());
+            }
+            else if (value.getAsNumber() instanceof Double || value.getAsNumber() instanceof Float)
+            {
+                jsonGenerator.writeNumber(value.getAsDouble());
+            }
+            else if (value.getAsNumber() instanceof BigInteger)
+            {
+                jsonGenerator.writeNumber(value.getAsBigInteger());
+            }
+            else
+            {
+                // Numbers parsed by Gson are kept as text, so that they are written without loss of precision
+                jsonGenerator.writeNumber(new BigDecimal(value.getAsString()));
+            }
+        }
+    }
+
+    private static class AllocationModule extends SimpleModule
+    {
+        AllocationModule()
+        {
+            super(JacksonConverter.class.getSimpleName());
+        }
+
+        @Override
+        public void setupModule(SetupContext context)
+        {
+            super.setupModule(context);
+            context.addValueInstantiators(new AllocatingValueInstantiators());
+        }
+    }
+
+    /**
+     * Creates objects of classes that neither have a default constructor nor another creator, as done by Gson.
+     */
+    private static class AllocatingValueInstantiators extends ValueInstantiators.Base
+    {
+        @Override
+        public ValueInstantiator findValueInstantiator(DeserializationConfig config, BeanDescription beanDesc, ValueInstantiator defaultInstantiator)
+        {
+            var beanClass = beanDesc.getBeanClass();
+            if (defaultInstantiator.canInstantiate()
+                    || beanClass.isInterface()
+                    || beanClass.isArray()
+                    || beanClass.isEnum()
+                    || beanClass.isPrimitive()
+                    || Modifier.isAbstract(beanClass.getModifiers())
+                    || beanClass.getName().startsWith("java."))
+            {
+                return defaultInstantiator;
+            }
+
+            return new AllocatingValueInstantiator(beanClass);
+        }
+    }
+
+    private static class AllocatingValueInstantiator extends ValueInstantiator.Base
+    {
+        private static final MethodHandle ALLOCATE_INSTANCE = getAllocateInstance();
+
+        AllocatingValueInstantiator(Class<?> type)
+        {
+            super(type);
+        }
+
+        @Override
+        public boolean canCreateUsingDefault()
+        {
+            return ALLOCATE_INSTANCE != null;
+        }
+
+        @Override
+        public Object createUsingDefault(DeserializationContext deserializationContext) throws IOException
+        {
+            try
+            {
+                return ALLOCATE_INSTANCE.invoke(getValueClass());
+            }
+            catch (Throwable e) //NOSONAR MethodHandle.invoke declares Throwable
+            {
+                return deserializationContext.handleInstantiationProblem(getValueClass(), null, e);
+            }
+        }
+
+        private static MethodHandle getAllocateInstance()
+        {
+            try
+            {
+                var unsafeClass = Class.forName("sun.misc.Unsafe");
+                var theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+
+                return MethodHandles.lookup()
+                        .unreflect(unsafeClass.getMethod("allocateInstance", Class.class))
+                        .bindTo(theUnsafe.get(null));
+            }
+            catch (ReflectiveOperationException | RuntimeException e)
+            {
+                JexxaLogger.getLogger(JacksonConverter.class).warn("Objects without default constructor can not be deserialized: {}", e.toString());
+                return null;
+            }
+        }
+    }
+}
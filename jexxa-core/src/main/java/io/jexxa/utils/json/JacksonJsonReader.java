@@ -0,0 +1,271 @@
+package io.jexxa.utils.json;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+/**
+ * Adapts a streaming {@link JsonParser} of Jackson to a {@link JsonReader} of Gson. This allows reading any format
+ * supported by Jackson, such as CBOR or Smile, with any {@link JSONConverter}. {@link JacksonConverter} reads values
+ * directly from the underlying JsonParser.
+ */
+public class JacksonJsonReader extends JsonReader
+{
+    private static final Reader UNREADABLE_READER = new Reader()
+    {
+        @Override
+        public int read(char[] buffer, int offset, int count)
+        {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close()
+        {
+            throw new AssertionError();
+        }
+    };
+
+    private final JsonParser jsonParser;
+    private com.fasterxml.jackson.core.JsonToken currentToken;
+    private boolean peeked = false;
+
+    public JacksonJsonReader(JsonParser jsonParser)
+    {
+        super(UNREADABLE_READER);
+        this.jsonParser = jsonParser;
+    }
+
+    /**
+     * Returns the underlying JsonParser positioned at the first token of the next value, which is then consumed by
+     * the caller
+     */
+    JsonParser nextValue() throws IOException
+    {
+        peek();
+        consume();
+        return jsonParser;
+    }
+
+    @Override
+    public void beginArray() throws IOException
+    {
+        expect(JsonToken.BEGIN_ARRAY);
+        consume();
+    }
+
+    @Override
+    public void endArray() throws IOException
+    {
+        expect(JsonToken.END_ARRAY);
+        consume();
+    }
+
+    @Override
+    public void beginObject() throws IOException
+    {
+        expect(JsonToken.BEGIN_OBJECT);
+        consume();
+    }
+
+    @Override
+    public void endObject() throws IOException
+    {
+        expect(JsonToken.END_OBJECT);
+        consume();
+    }
+
+    @Override
+    public boolean hasNext() throws IOException
+    {
+        var token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    @Override
+    public JsonToken peek() throws IOException
+    {
+        if (!peeked)
+        {
+            try
+            {
+                currentToken = jsonParser.nextToken();
+            }
+            catch (JsonEOFException e)
+            {
+                // Some parsers such as MessagePack report the end of input after a root value as exception
+                if (!jsonParser.getParsingContext().inRoot())
+                {
+                    throw toMalformedJsonException(e);
+                }
+                currentToken = null;
+            }
+            catch (JsonProcessingException e)
+            {
+                throw toMalformedJsonException(e);
+            }
+            peeked = true;
+        }
+
+        return toGsonToken(currentToken);
+    }
+
+    @Override
+    public String nextName() throws IOException
+    {
+        expect(JsonToken.NAME);
+        var result = jsonParser.getCurrentName();
+        consume();
+        return result;
+    }
+
+    @Override
+    public String nextString() throws IOException
+    {
+        var token = peek();
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER)
+        {
+            throw unexpectedToken(JsonToken.STRING);
+        }
+
+        var result = jsonParser.getText();
+        consume();
+        return result;
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException
+    {
+        expect(JsonToken.BOOLEAN);
+        var result = jsonParser.getBooleanValue();
+        consume();
+        return result;
+    }
+
+    @Override
+    public void nextNull() throws IOException
+    {
+        expect(JsonToken.NULL);
+        consume();
+    }
+
+    @Override
+    public double nextDouble() throws IOException
+    {
+        var result = (peek() == JsonToken.STRING) ? Double.parseDouble(jsonParser.getText()) : readNumber().getDoubleValue();
+        consume();
+        return result;
+    }
+
+    @Override
+    public long nextLong() throws IOException
+    {
+        var result = (peek() == JsonToken.STRING) ? Long.parseLong(jsonParser.getText()) : readNumber().getLongValue();
+        consume();
+        return result;
+    }
+
+    @Override
+    public int nextInt() throws IOException
+    {
+        var result = (peek() == JsonToken.STRING) ? Integer.parseInt(jsonParser.getText()) : readNumber().getIntValue();
+        consume();
+        return result;
+    }
+
+    @Override
+    public void skipValue() throws IOException
+    {
+        peek();
+        jsonParser.skipChildren();
+        consume();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        jsonParser.close();
+    }
+
+    @Override
+    public String getPath()
+    {
+        return "$" + jsonParser.getParsingContext().pathAsPointer();
+    }
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + " at path " + getPath();
+    }
+
+    private JsonParser readNumber() throws IOException
+    {
+        expect(JsonToken.NUMBER);
+        return jsonParser;
+    }
+
+    private void expect(JsonToken expected) throws IOException
+    {
+        if (peek() != expected)
+        {
+            throw unexpectedToken(expected);
+        }
+    }
+
+    private IllegalStateException unexpectedToken(JsonToken expected) throws IOException
+    {
+        return new IllegalStateException("Expected " + expected + " but was " + peek() + " at path " + getPath());
+    }
+
+    private void consume()
+    {
+        peeked = false;
+    }
+
+    private static MalformedJsonException toMalformedJsonException(JsonProcessingException e)
+    {
+        var malformedJsonException = new MalformedJsonException(e.getOriginalMessage());
+        malformedJsonException.initCause(e);
+        return malformedJsonException;
+    }
+
+    private static JsonToken toGsonToken(com.fasterxml.jackson.core.JsonToken token)
+    {
+        if (token == null)
+        {
+            return JsonToken.END_DOCUMENT;
+        }
+
+        switch (token)
+        {
+            case START_ARRAY:
+                return JsonToken.BEGIN_ARRAY;
+            case END_ARRAY:
+                return JsonToken.END_ARRAY;
+            case START_OBJECT:
+                return JsonToken.BEGIN_OBJECT;
+            case END_OBJECT:
+                return JsonToken.END_OBJECT;
+            case FIELD_NAME:
+                return JsonToken.NAME;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return JsonToken.NUMBER;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return JsonToken.BOOLEAN;
+            case VALUE_NULL:
+                return JsonToken.NULL;
+            default:
+                // Strings and embedded binary data which Jackson provides as base64 encoded text
+                return JsonToken.STRING;
+        }
+    }
+}
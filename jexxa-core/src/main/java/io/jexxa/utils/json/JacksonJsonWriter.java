@@ -0,0 +1,243 @@
+package io.jexxa.utils.json;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Adapts a streaming {@link JsonGenerator} of Jackson to a {@link JsonWriter} of Gson. This allows writing any format
+ * supported by Jackson, such as CBOR or Smile, with any {@link JSONConverter}. {@link JacksonConverter} writes values
+ * directly into the underlying JsonGenerator.
+ * <br>
+ * As {@link JsonWriter}, the name of a null value is omitted unless serialization of nulls is enabled.
+ */
+public class JacksonJsonWriter extends JsonWriter
+{
+    private static final Writer UNWRITABLE_WRITER = new Writer()
+    {
+        @Override
+        public void write(char[] buffer, int offset, int counter)
+        {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void flush()
+        {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close()
+        {
+            throw new AssertionError();
+        }
+    };
+
+    private final JsonGenerator jsonGenerator;
+    private String deferredName;
+
+    public JacksonJsonWriter(JsonGenerator jsonGenerator, boolean serializeNulls)
+    {
+        super(UNWRITABLE_WRITER);
+        this.jsonGenerator = jsonGenerator;
+        setSerializeNulls(serializeNulls);
+    }
+
+    /**
+     * Returns the underlying JsonGenerator after writing the name of the next value, if any
+     */
+    JsonGenerator nextValue() throws IOException
+    {
+        writeDeferredName();
+        return jsonGenerator;
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException
+    {
+        writeDeferredName();
+        jsonGenerator.writeStartArray();
+        return this;
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException
+    {
+        jsonGenerator.writeEndArray();
+        return this;
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException
+    {
+        writeDeferredName();
+        jsonGenerator.writeStartObject();
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException
+    {
+        jsonGenerator.writeEndObject();
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(String name)
+    {
+        if (name == null)
+        {
+            throw new NullPointerException("name == null");
+        }
+        if (deferredName != null)
+        {
+            throw new IllegalStateException();
+        }
+
+        deferredName = name;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(String value) throws IOException
+    {
+        if (value == null)
+        {
+            return nullValue();
+        }
+
+        writeDeferredName();
+        jsonGenerator.writeString(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter jsonValue(String value) throws IOException
+    {
+        if (value == null)
+        {
+            return nullValue();
+        }
+
+        if (!(jsonGenerator.getOutputTarget() instanceof Writer))
+        {
+            throw new UnsupportedOperationException("Raw JSON values can only be written in format JSON");
+        }
+
+        writeDeferredName();
+        jsonGenerator.writeRawValue(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException
+    {
+        if (deferredName != null && !getSerializeNulls())
+        {
+            // Omit the name and the value as JsonWriter
+            deferredName = null;
+            return this;
+        }
+
+        writeDeferredName();
+        jsonGenerator.writeNull();
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(boolean value) throws IOException
+    {
+        writeDeferredName();
+        jsonGenerator.writeBoolean(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(Boolean value) throws IOException
+    {
+        if (value == null)
+        {
+            return nullValue();
+        }
+
+        return value(value.booleanValue());
+    }
+
+    @Override
+    public JsonWriter value(double value) throws IOException
+    {
+        writeDeferredName();
+        jsonGenerator.writeNumber(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(long value) throws IOException
+    {
+        writeDeferredName();
+        jsonGenerator.writeNumber(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(Number value) throws IOException
+    {
+        if (value == null)
+        {
+            return nullValue();
+        }
+
+        writeDeferredName();
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+        {
+            jsonGenerator.writeNumber(value.longValue());
+        }
+        else if (value instanceof Double)
+        {
+            jsonGenerator.writeNumber(value.doubleValue());
+        }
+        else if (value instanceof Float)
+        {
+            jsonGenerator.writeNumber(value.floatValue());
+        }
+        else if (value instanceof BigInteger)
+        {
+            jsonGenerator.writeNumber((BigInteger) value);
+        }
+        else if (value instanceof BigDecimal)
+        {
+            jsonGenerator.writeNumber((BigDecimal) value);
+        }
+        else
+        {
+            jsonGenerator.writeNumber(new BigDecimal(value.toString()));
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+        jsonGenerator.flush();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        jsonGenerator.close();
+    }
+
+    private void writeDeferredName() throws IOException
+    {
+        if (deferredName != null)
+        {
+            jsonGenerator.writeFieldName(deferredName);
+            deferredName = null;
+        }
+    }
+}
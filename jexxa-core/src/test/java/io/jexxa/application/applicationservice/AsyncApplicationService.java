@@ -0,0 +1,57 @@
+package io.jexxa.application.applicationservice;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.jexxa.application.annotation.ApplicationService;
+
+@SuppressWarnings("unused")
+@ApplicationService
+public class AsyncApplicationService
+{
+    private int simpleValue = 42;
+    private final CompletableFuture<Integer> pendingValue = new CompletableFuture<>();
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+
+    public CompletableFuture<Integer> getSimpleValueAsync()
+    {
+        return CompletableFuture.supplyAsync(() -> simpleValue);
+    }
+
+    public CompletionStage<Void> setSimpleValueAsync(int simpleValue)
+    {
+        return CompletableFuture.runAsync(() -> this.simpleValue = simpleValue);
+    }
+
+    public CompletableFuture<Integer> throwExceptionAsync()
+    {
+        return CompletableFuture.supplyAsync(() -> {
+            throw new IllegalStateException("TestException");
+        });
+    }
+
+    /**
+     * Returns a future that is not completed until {@link #completePendingValue()} is called
+     */
+    public CompletableFuture<Integer> getPendingValueAsync()
+    {
+        pendingRequests.incrementAndGet();
+        return pendingValue;
+    }
+
+    public int getPendingRequests()
+    {
+        return pendingRequests.get();
+    }
+
+    public void completePendingValue()
+    {
+        pendingValue.complete(simpleValue);
+    }
+
+    public int getSimpleValue()
+    {
+        return simpleValue;
+    }
+}
@@ -0,0 +1,55 @@
+package io.jexxa.application.applicationservice;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.jexxa.application.annotation.ApplicationService;
+import io.jexxa.application.domain.valueobject.JexxaValueObject;
+
+@SuppressWarnings("unused")
+@ApplicationService
+public class PublisherApplicationService
+{
+    private SubmissionPublisher<JexxaValueObject> valuePublisher = new SubmissionPublisher<>();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    /**
+     * Returns the same publisher to all callers until {@link #closeValueStream()} is called
+     */
+    public synchronized Flow.Publisher<JexxaValueObject> getValueStream()
+    {
+        subscriptions.incrementAndGet();
+
+        if (valuePublisher.isClosed())
+        {
+            valuePublisher = new SubmissionPublisher<>();
+        }
+        return valuePublisher;
+    }
+
+    public synchronized void publishValue(int value)
+    {
+        valuePublisher.submit(new JexxaValueObject(value));
+    }
+
+    public synchronized void publishException()
+    {
+        valuePublisher.closeExceptionally(new IllegalStateException("TestException"));
+    }
+
+    public synchronized void closeValueStream()
+    {
+        valuePublisher.close();
+    }
+
+    public synchronized int getNumberOfSubscribers()
+    {
+        return valuePublisher.getNumberOfSubscribers();
+    }
+
+    public int getSubscriptions()
+    {
+        return subscriptions.get();
+    }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.sql.SQLException;
 import java.util.Optional;
 import java.util.Properties;
 
@@ -12,6 +13,9 @@ import io.jexxa.TestConstants;
 import io.jexxa.application.domain.aggregate.JexxaEntity;
 import io.jexxa.application.domain.valueobject.JexxaValueObject;
 import io.jexxa.core.JexxaMain;
+import io.jexxa.utils.json.GsonConverter;
+import io.jexxa.utils.json.JSONManager;
+import io.jexxa.utils.json.JacksonConverter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -44,6 +48,7 @@ class JDBCKeyValueRepositoryIT
     {
         Optional.ofNullable(objectUnderTest)
                 .ifPresent(JDBCKeyValueRepository::close);
+        JSONManager.setJSONConverter(new GsonConverter());
     }
 
 
@@ -86,6 +91,31 @@ class JDBCKeyValueRepositoryIT
         assertTrue(objectUnderTest.get().isEmpty());
     }
 
+    @Test
+    void readStoredFormat() throws SQLException
+    {
+        //Arrange - Row as written by previous versions using a plain Gson instance
+        try (var preparedStatement = objectUnderTest.getConnection().prepareStatement("insert into " + JexxaEntity.class.getSimpleName() + " values(?,?)"))
+        {
+            preparedStatement.setString(1, "{\"value\":42,\"valueInPercent\":0.42}");
+            preparedStatement.setString(2, "{\"jexxaValueObject\":{\"value\":42,\"valueInPercent\":0.42},\"internalValue\":7}");
+            preparedStatement.executeUpdate();
+        }
+        JSONManager.setJSONConverter(new JacksonConverter());
+        aggregate.setInternalValue(8);
+
+        //Act - The stored format does not depend on the configured JSONConverter
+        var result = objectUnderTest.get(aggregate.getKey());
+        objectUnderTest.update(aggregate);
+        var updatedResult = objectUnderTest.get(aggregate.getKey());
+        objectUnderTest.remove(aggregate.getKey());
+
+        //Assert
+        assertEquals(7, result.orElseThrow().getInternalValue());
+        assertEquals(8, updatedResult.orElseThrow().getInternalValue());
+        assertTrue(objectUnderTest.get().isEmpty());
+    }
+
     @Test
     void testExceptionInvalidOperations()
     {
@@ -0,0 +1,240 @@
+package io.jexxa.infrastructure.drivenadapterstrategy.persistence.versioned;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.jexxa.TestConstants;
+import io.jexxa.application.domain.aggregate.JexxaEntity;
+import io.jexxa.application.domain.valueobject.JexxaValueObject;
+import io.jexxa.infrastructure.drivingadapter.IDrivingAdapter;
+import io.jexxa.infrastructure.drivingadapter.SynchronizationFacade;
+import io.jexxa.infrastructure.drivingadapter.SynchronizationMode;
+import io.jexxa.infrastructure.synchronization.ConcurrentUpdateException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.SAME_THREAD)
+@Tag(TestConstants.UNIT_TEST)
+class VersionedRepositoryTest
+{
+    private JexxaEntity aggregate;
+    private VersionedRepository<JexxaEntity, JexxaValueObject> objectUnderTest;
+
+    @BeforeEach
+    void initTest()
+    {
+        //Arrange
+        aggregate = JexxaEntity.create(new JexxaValueObject(42));
+        objectUnderTest = new VersionedRepository<>(
+                JexxaEntity.class,
+                JexxaEntity::getKey,
+                new Properties()
+        );
+        objectUnderTest.removeAll();
+    }
+
+    @AfterEach
+    void resetSynchronizationMode()
+    {
+        SynchronizationFacade.defaultSettings();
+    }
+
+    @Test
+    void updateAggregate()
+    {
+        //Arrange
+        objectUnderTest.add(aggregate);
+
+        //Act
+        var result = objectUnderTest.get(aggregate.getKey()).orElseThrow();
+        result.setInternalValue(1);
+        objectUnderTest.update(result);
+        objectUnderTest.update(result);
+
+        //Assert
+        assertEquals(1, objectUnderTest.get(aggregate.getKey()).orElseThrow().getInternalValue());
+    }
+
+    @Test
+    void rejectStaleUpdate() throws InterruptedException, ExecutionException
+    {
+        //Arrange
+        objectUnderTest.add(aggregate);
+        var staleAggregate = objectUnderTest.get(aggregate.getKey()).orElseThrow();
+        var executorService = Executors.newSingleThreadExecutor();
+
+        //Act - Another thread updates the aggregate
+        executorService.submit(() -> objectUnderTest.update(objectUnderTest.get(aggregate.getKey()).orElseThrow())).get();
+        executorService.shutdown();
+
+        //Assert
+        assertThrows(ConcurrentUpdateException.class, () -> objectUnderTest.update(staleAggregate));
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void updateWithoutRead() throws InterruptedException, ExecutionException
+    {
+        //Arrange
+        objectUnderTest.add(aggregate);
+        var executorService = Executors.newSingleThreadExecutor();
+        aggregate.setInternalValue(1);
+
+        //Act - Another thread updates the aggregate without reading it, e.g., outside a call of a port
+        executorService.submit(() -> objectUnderTest.update(aggregate)).get();
+        executorService.shutdown();
+
+        //Assert
+        assertEquals(1, objectUnderTest.get(aggregate.getKey()).orElseThrow().getInternalValue());
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void updateWithoutReadInCall()
+    {
+        //Arrange
+        SynchronizationFacade.setSynchronizationMode(SynchronizationMode.OPTIMISTIC);
+        objectUnderTest.add(aggregate);
+        var synchronizationFacade = IDrivingAdapter.acquireLock();
+        var attempts = new AtomicInteger();
+        aggregate.setInternalValue(1);
+
+        //Act
+        synchronizationFacade.execute(objectUnderTest, () -> {
+            attempts.incrementAndGet();
+            objectUnderTest.update(aggregate);
+        });
+
+        //Assert - The update is not retried
+        assertEquals(1, attempts.get());
+        assertEquals(1, objectUnderTest.get(aggregate.getKey()).orElseThrow().getInternalValue());
+    }
+
+    @Test
+    void updateAfterReadAll()
+    {
+        //Arrange
+        objectUnderTest.add(aggregate);
+        objectUnderTest.add(JexxaEntity.create(new JexxaValueObject(43)));
+
+        //Act
+        var result = objectUnderTest.get();
+        result.forEach(objectUnderTest::update);
+
+        //Assert
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    void discardReadVersionsOfPreviousCall() throws InterruptedException
+    {
+        //Arrange
+        objectUnderTest.add(aggregate);
+        var synchronizationFacade = IDrivingAdapter.acquireLock();
+        var executorService = Executors.newSingleThreadExecutor();
+
+        //Act - A previous call on the same thread reads the aggregate before it is updated by another thread
+        synchronizationFacade.execute(objectUnderTest, () -> objectUnderTest.get(aggregate.getKey()));
+        updateConcurrently(executorService);
+        executorService.shutdown();
+
+        //Assert - The version read by the previous call does not result in a conflict
+        assertDoesNotThrow(() -> synchronizationFacade.execute(objectUnderTest, () -> objectUnderTest.update(aggregate)));
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void retryConflictingCall() throws InterruptedException
+    {
+        //Arrange
+        SynchronizationFacade.setSynchronizationMode(SynchronizationMode.OPTIMISTIC);
+        objectUnderTest.add(aggregate);
+        var synchronizationFacade = IDrivingAdapter.acquireLock();
+        var executorService = Executors.newSingleThreadExecutor();
+        var attempts = new AtomicInteger();
+
+        //Act - Another thread updates the aggregate during the first attempt
+        synchronizationFacade.execute(objectUnderTest, () -> {
+            var result = objectUnderTest.get(aggregate.getKey()).orElseThrow();
+            if (attempts.incrementAndGet() == 1)
+            {
+                updateConcurrently(executorService);
+            }
+            result.setInternalValue(1);
+            objectUnderTest.update(result);
+        });
+        executorService.shutdown();
+
+        //Assert
+        assertEquals(2, attempts.get());
+        assertEquals(1, objectUnderTest.get(aggregate.getKey()).orElseThrow().getInternalValue());
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void retryConflictingCallWithoutChangingAggregate() throws InterruptedException
+    {
+        //Arrange
+        SynchronizationFacade.setSynchronizationMode(SynchronizationMode.OPTIMISTIC);
+        objectUnderTest.add(aggregate);
+        var synchronizationFacade = IDrivingAdapter.acquireLock();
+        var executorService = Executors.newSingleThreadExecutor();
+        var attempts = new AtomicInteger();
+
+        //Act - Another thread sets the value during the first attempt, so that the first increment is rejected
+        synchronizationFacade.execute(objectUnderTest, () -> {
+            var result = objectUnderTest.get(aggregate.getKey()).orElseThrow();
+            if (attempts.incrementAndGet() == 1)
+            {
+                updateConcurrently(executorService, 10);
+            }
+            result.setInternalValue(result.getInternalValue() + 1);
+            objectUnderTest.update(result);
+        });
+        executorService.shutdown();
+
+        //Assert - The IMDBRepository is not changed by the rejected attempt, so that the increment is applied once
+        assertEquals(2, attempts.get());
+        assertEquals(11, objectUnderTest.get(aggregate.getKey()).orElseThrow().getInternalValue());
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private void updateConcurrently(ExecutorService executorService)
+    {
+        updateConcurrently(executorService, 0);
+    }
+
+    private void updateConcurrently(ExecutorService executorService, int internalValue)
+    {
+        try
+        {
+            executorService.submit(() -> {
+                var result = objectUnderTest.get(aggregate.getKey()).orElseThrow();
+                result.setInternalValue(internalValue);
+                objectUnderTest.update(result);
+            }).get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+
+import io.jexxa.TestConstants;
+import io.jexxa.application.applicationservice.SimpleApplicationService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@Tag(TestConstants.UNIT_TEST)
+class MethodInvokerTest
+{
+    @Test
+    void invokeMethod() throws ReflectiveOperationException
+    {
+        //Arrange
+        var applicationService = new SimpleApplicationService();
+        var setter = MethodInvoker.of(SimpleApplicationService.class.getMethod("setSimpleValue", int.class));
+        var getter = MethodInvoker.of(SimpleApplicationService.class.getMethod("getSimpleValue"));
+
+        //Act
+        var setterResult = setter.invoke(applicationService, new Object[]{42});
+        var getterResult = getter.invoke(applicationService, new Object[0]);
+
+        //Assert
+        assertNull(setterResult);
+        assertEquals(42, getterResult);
+    }
+
+    @Test
+    void invokeStaticMethod() throws ReflectiveOperationException
+    {
+        //Arrange
+        var objectUnderTest = MethodInvoker.of(SimpleApplicationService.class.getMethod("testStaticGetMethod"));
+
+        //Act
+        var result = objectUnderTest.invoke(new SimpleApplicationService(), new Object[0]);
+
+        //Assert
+        assertNotNull(result);
+    }
+
+    @Test
+    void cachedInvoker() throws ReflectiveOperationException
+    {
+        //Arrange
+        var method = SimpleApplicationService.class.getMethod("getSimpleValue");
+
+        //Act
+        var firstInvoker = MethodInvoker.of(method);
+        var secondInvoker = MethodInvoker.of(method);
+
+        //Assert
+        assertSame(firstInvoker, secondInvoker);
+    }
+
+    @Test
+    void forwardException() throws ReflectiveOperationException
+    {
+        //Arrange
+        var objectUnderTest = MethodInvoker.of(SimpleApplicationService.class.getMethod("throwExceptionTest"));
+        var applicationService = new SimpleApplicationService();
+
+        //Act
+        var exception = assertThrows(InvocationTargetException.class, () -> objectUnderTest.invoke(applicationService, new Object[0]));
+
+        //Assert
+        assertTrue(exception.getTargetException() instanceof SimpleApplicationService.SimpleApplicationException);
+    }
+
+    @Test
+    void invalidArguments() throws ReflectiveOperationException
+    {
+        //Arrange
+        var objectUnderTest = MethodInvoker.of(SimpleApplicationService.class.getMethod("setSimpleValue", int.class));
+        var applicationService = new SimpleApplicationService();
+
+        //Act/Assert - Same behavior as Method.invoke
+        assertThrows(IllegalArgumentException.class, () -> objectUnderTest.invoke(applicationService, new Object[]{"42"}));
+        assertThrows(IllegalArgumentException.class, () -> objectUnderTest.invoke(applicationService, new Object[]{null}));
+        assertThrows(IllegalArgumentException.class, () -> objectUnderTest.invoke(applicationService, new Object[0]));
+        assertThrows(IllegalArgumentException.class, () -> objectUnderTest.invoke(new Object(), new Object[]{42}));
+    }
+
+    @Test
+    void convertArguments() throws ReflectiveOperationException
+    {
+        //Arrange
+        var objectUnderTest = MethodInvoker.of(SimpleApplicationService.class.getMethod("setSimpleValue", int.class));
+        var applicationService = new SimpleApplicationService();
+
+        //Act - A short requires a widening conversion which is performed by the reflective API
+        objectUnderTest.invoke(applicationService, new Object[]{(short) 42});
+
+        //Assert
+        assertEquals(42, applicationService.getSimpleValue());
+    }
+}
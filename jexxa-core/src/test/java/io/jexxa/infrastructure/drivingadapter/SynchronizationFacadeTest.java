@@ -0,0 +1,796 @@
+package io.jexxa.infrastructure.drivingadapter;
+
+import static io.jexxa.infrastructure.drivingadapter.ConcurrencyPolicy.Policy.SHARED;
+import static io.jexxa.infrastructure.drivingadapter.ConcurrencyPolicy.Policy.UNSYNCHRONIZED;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.jexxa.TestConstants;
+import io.jexxa.application.applicationservice.IncrementApplicationService;
+import io.jexxa.application.applicationservice.SimpleApplicationService;
+import io.jexxa.infrastructure.drivingadapter.ConcurrencyPolicy.Policy;
+import io.jexxa.infrastructure.synchronization.ConcurrentUpdateException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.SAME_THREAD)
+@Tag(TestConstants.UNIT_TEST)
+class SynchronizationFacadeTest
+{
+    private static final String GET_SIMPLE_VALUE = "getSimpleValue";
+    private static final String SET_SIMPLE_VALUE = "setSimpleValue";
+
+    @AfterEach
+    void resetSynchronizationMode()
+    {
+        SynchronizationFacade.defaultSettings();
+    }
+
+    @Test
+    void globalSynchronization()
+    {
+        //Arrange
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+
+        //Act
+        var firstLock = objectUnderTest.getReadWriteLock(new SimpleApplicationService());
+        var secondLock = objectUnderTest.getReadWriteLock(new IncrementApplicationService());
+
+        //Assert
+        assertEquals(SynchronizationMode.GLOBAL, SynchronizationFacade.getSynchronizationMode());
+        assertSame(firstLock, secondLock);
+    }
+
+    @Test
+    void perPortSynchronization()
+    {
+        //Arrange
+        SynchronizationFacade.setSynchronizationMode(SynchronizationMode.PER_PORT);
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+
+        //Act
+        var firstLock = objectUnderTest.getReadWriteLock(new SimpleApplicationService());
+        var secondLock = objectUnderTest.getReadWriteLock(new IncrementApplicationService());
+
+        //Assert
+        assertNotSame(firstLock, secondLock);
+        assertSame(firstLock, objectUnderTest.getReadWriteLock(new SimpleApplicationService()));
+    }
+
+    @Test
+    void perPortSynchronizationOfPortAdapter()
+    {
+        //Arrange
+        SynchronizationFacade.setSynchronizationMode(SynchronizationMode.PER_PORT);
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new SimpleApplicationService();
+        var portAdapter = new SimpleApplicationServicePortAdapter(port);
+        SynchronizationFacade.registerPortAdapter(portAdapter, port);
+
+        //Act
+        var portLock = objectUnderTest.getReadWriteLock(port);
+        var portAdapterLock = objectUnderTest.getReadWriteLock(portAdapter);
+
+        //Assert
+        assertSame(portLock, portAdapterLock);
+    }
+
+    @Test
+    void perPortSynchronizationOfUnregisteredPortAdapter()
+    {
+        //Arrange
+        SynchronizationFacade.setSynchronizationMode(SynchronizationMode.PER_PORT);
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new SimpleApplicationService();
+
+        //Act - The shape of the constructor does not make a class a port adapter
+        var portLock = objectUnderTest.getReadWriteLock(port);
+        var unregisteredLock = objectUnderTest.getReadWriteLock(new UnregisteredPortAdapter(port));
+
+        //Assert
+        assertNotSame(portLock, unregisteredLock);
+    }
+
+    @Test
+    void registerPortAdapterForAnotherPort()
+    {
+        //Arrange
+        var port = new SimpleApplicationService();
+        var portAdapter = new SimpleApplicationServicePortAdapter(port);
+        SynchronizationFacade.registerPortAdapter(portAdapter, port);
+
+        //Act / Assert
+        assertThrows(IllegalArgumentException.class, () -> SynchronizationFacade.registerPortAdapter(portAdapter, new IncrementApplicationService()));
+        assertDoesNotThrow(() -> SynchronizationFacade.registerPortAdapter(new SimpleApplicationServicePortAdapter(port), port));
+    }
+
+    @Test
+    void exclusiveLockForQueries() throws ReflectiveOperationException
+    {
+        //Arrange
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new SimpleApplicationService();
+
+        //Act
+        var queryLock = objectUnderTest.getLock(port, objectUnderTest.getPolicy(port, port.getClass().getMethod(GET_SIMPLE_VALUE)));
+
+        //Assert
+        assertSame(objectUnderTest.getReadWriteLock(port).writeLock(), queryLock);
+    }
+
+    @Test
+    void sharedLockForQueries() throws ReflectiveOperationException
+    {
+        //Arrange
+        SynchronizationFacade.setLockMode(LockMode.READ_WRITE);
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new SimpleApplicationService();
+        var queryMethod = port.getClass().getMethod(GET_SIMPLE_VALUE);
+        var commandMethod = port.getClass().getMethod(SET_SIMPLE_VALUE, int.class);
+
+        //Act
+        var queryLock = objectUnderTest.getLock(port, objectUnderTest.getPolicy(port, queryMethod));
+        var commandLock = objectUnderTest.getLock(port, objectUnderTest.getPolicy(port, commandMethod));
+
+        //Assert
+        assertSame(objectUnderTest.getReadWriteLock(port).readLock(), queryLock);
+        assertSame(objectUnderTest.getReadWriteLock(port).writeLock(), commandLock);
+    }
+
+    @Test
+    void concurrentQueries() throws Exception
+    {
+        //Arrange
+        SynchronizationFacade.setLockMode(LockMode.READ_WRITE);
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new SimpleApplicationService();
+        var queryMethod = port.getClass().getMethod(GET_SIMPLE_VALUE);
+        var executorService = Executors.newSingleThreadExecutor();
+
+        //Act - Invoke a query from another thread while this thread holds a shared lock
+        var queryLock = objectUnderTest.getLock(port, Policy.SHARED);
+        queryLock.lock();
+        try
+        {
+            var result = executorService
+                    .submit(() -> objectUnderTest.invoke(queryMethod, port, new Object[0]))
+                    .get(5, TimeUnit.SECONDS);
+
+            //Assert
+            assertEquals(port.getSimpleValue(), result);
+        }
+        finally
+        {
+            queryLock.unlock();
+            executorService.shutdown();
+        }
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void annotatedPolicies() throws ReflectiveOperationException
+    {
+        //Arrange
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new AnnotatedApplicationService();
+        var unsynchronizedPortAdapter = new UnsynchronizedPortAdapter(port);
+        var annotatedPortAdapter = new AnnotatedApplicationServicePortAdapter(port);
+        SynchronizationFacade.registerPortAdapter(unsynchronizedPortAdapter, port);
+        SynchronizationFacade.registerPortAdapter(annotatedPortAdapter, port);
+
+        //Act
+        var portPolicy = objectUnderTest.getPolicy(port, port.getClass().getMethod("getValue"));
+        var methodPolicy = objectUnderTest.getPolicy(port, port.getClass().getMethod("setValue", int.class));
+
+        //Assert
+        assertEquals(SHARED, portPolicy);
+        assertEquals(Policy.EXCLUSIVE, methodPolicy);
+        assertEquals(UNSYNCHRONIZED, objectUnderTest.getPolicy(unsynchronizedPortAdapter));
+        assertEquals(SHARED, objectUnderTest.getPolicy(annotatedPortAdapter));
+    }
+
+    @Test
+    void unsynchronizedInvocation() throws Exception
+    {
+        //Arrange
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new AnnotatedApplicationService();
+        var unsynchronizedMethod = port.getClass().getMethod("getUnsynchronizedValue");
+        var executorService = Executors.newSingleThreadExecutor();
+
+        //Act - Invoke an unsynchronized method from another thread while this thread holds an exclusive lock
+        var exclusiveLock = objectUnderTest.getLock(port, Policy.EXCLUSIVE);
+        exclusiveLock.lock();
+        try
+        {
+            var result = executorService
+                    .submit(() -> objectUnderTest.invoke(unsynchronizedMethod, port, new Object[0]))
+                    .get(5, TimeUnit.SECONDS);
+
+            //Assert
+            assertEquals(port.getUnsynchronizedValue(), result);
+        }
+        finally
+        {
+            exclusiveLock.unlock();
+            executorService.shutdown();
+        }
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void keyedPolicy() throws ReflectiveOperationException
+    {
+        //Arrange
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new KeyedApplicationService();
+
+        //Act
+        var lockKeyPolicy = objectUnderTest.getPolicy(port, port.getClass().getMethod("sell", int.class, String.class));
+        var firstParameterPolicy = objectUnderTest.getPolicy(port, port.getClass().getMethod("addToStock", String.class, int.class));
+        var noParameterPolicy = objectUnderTest.getPolicy(port, port.getClass().getMethod("reset"));
+
+        //Assert
+        assertEquals(Policy.KEYED, lockKeyPolicy);
+        assertEquals(Policy.KEYED, firstParameterPolicy);
+        assertEquals(Policy.EXCLUSIVE, noParameterPolicy);
+        assertSame(objectUnderTest.getKeyLock("978-3-86490-387-8"), objectUnderTest.getKeyLock("978-3-86490-387-8"));
+    }
+
+    @Test
+    void concurrentKeyedInvocation() throws Exception
+    {
+        //Arrange
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new KeyedApplicationService();
+        var sellMethod = port.getClass().getMethod("sell", int.class, String.class);
+        var firstKey = "978-3-86490-387-8";
+        var secondKey = "978-1-60309-322-4";
+        var executorService = Executors.newSingleThreadExecutor();
+
+        //Act - Invoke a keyed method from another thread while this thread holds a keyed lock for another key
+        var sharedLock = objectUnderTest.getLock(port, Policy.KEYED);
+        var keyLock = objectUnderTest.getKeyLock(firstKey);
+        assertNotSame(keyLock, objectUnderTest.getKeyLock(secondKey));
+
+        sharedLock.lock();
+        keyLock.lock();
+        try
+        {
+            executorService
+                    .submit(() -> objectUnderTest.invoke(sellMethod, port, new Object[]{1, secondKey}))
+                    .get(5, TimeUnit.SECONDS);
+
+            //Assert
+            assertEquals(1, port.getSold());
+        }
+        finally
+        {
+            keyLock.unlock();
+            sharedLock.unlock();
+            executorService.shutdown();
+        }
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void queryWaitsForKeyedInvocation() throws Exception
+    {
+        //Arrange
+        SynchronizationFacade.setLockMode(LockMode.READ_WRITE);
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new BlockingKeyedApplicationService();
+        var sellMethod = port.getClass().getMethod("sell", String.class);
+        var queryMethod = port.getClass().getMethod("getStock");
+        var executorService = Executors.newFixedThreadPool(2);
+
+        //Act - A query is invoked while a keyed command on the same port is running
+        var keyedInvocation = executorService.submit(() -> objectUnderTest.invoke(sellMethod, port, new Object[]{"978-3-86490-387-8"}));
+        assertTrue(port.started.await(5, TimeUnit.SECONDS));
+        var query = executorService.submit(() -> objectUnderTest.invoke(queryMethod, port, new Object[0]));
+
+        //Assert - The query does not observe the running command
+        assertThrows(TimeoutException.class, () -> query.get(100, TimeUnit.MILLISECONDS));
+        port.finish.countDown();
+        keyedInvocation.get(5, TimeUnit.SECONDS);
+        assertEquals(0, query.get(5, TimeUnit.SECONDS));
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void nestedQueryInKeyedInvocation() throws ReflectiveOperationException
+    {
+        //Arrange
+        SynchronizationFacade.setLockMode(LockMode.READ_WRITE);
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new NestedKeyedApplicationService();
+        var sellMethod = port.getClass().getMethod("sell", String.class);
+
+        //Act - The keyed command invokes a query of its port, which must not wait for the command itself
+        var result = objectUnderTest.invoke(sellMethod, port, new Object[]{"978-3-86490-387-8"});
+
+        //Assert
+        assertEquals(1, result);
+    }
+
+    @Test
+    void mailboxInvocation() throws ReflectiveOperationException
+    {
+        //Arrange
+        SynchronizationFacade.setSynchronizationMode(SynchronizationMode.MAILBOX);
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new MailboxApplicationService();
+        var method = port.getClass().getMethod("getThreadName");
+
+        //Act
+        var result = objectUnderTest.invoke(method, port, new Object[0]);
+
+        //Assert
+        assertEquals("Mailbox-" + MailboxApplicationService.class.getSimpleName(), result);
+        assertEquals(0, SynchronizationFacade.getQueueLength(port));
+    }
+
+    @Test
+    void mailboxForwardsException() throws ReflectiveOperationException
+    {
+        //Arrange
+        SynchronizationFacade.setSynchronizationMode(SynchronizationMode.MAILBOX);
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new MailboxApplicationService();
+        var method = port.getClass().getMethod("throwException");
+
+        //Act / Assert
+        var exception = assertThrows(InvocationTargetException.class, () -> objectUnderTest.invoke(method, port, new Object[0]));
+        assertTrue(exception.getTargetException() instanceof IllegalStateException);
+        assertThrows(IllegalStateException.class, () -> objectUnderTest.execute(port, port::throwException));
+    }
+
+    @Test
+    void recordLockStatistics() throws ReflectiveOperationException
+    {
+        //Arrange
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new StatisticsApplicationService();
+        var method = port.getClass().getMethod("getLongestLockHolder");
+
+        //Act
+        var longestLockHolder = (LockHolder) objectUnderTest.invoke(method, port, new Object[0]);
+        var lockStatistics = SynchronizationFacade.getLockStatistics()
+                .stream()
+                .filter(element -> element.getName().equals("StatisticsApplicationService.getLongestLockHolder"))
+                .findFirst()
+                .orElseThrow();
+
+        //Assert
+        assertEquals("StatisticsApplicationService.getLongestLockHolder", longestLockHolder.getName());
+        assertEquals(Thread.currentThread().getName(), longestLockHolder.getThread());
+        assertEquals(1, lockStatistics.getWaitTime().getCount());
+        assertEquals(1, lockStatistics.getHoldTime().getCount());
+        assertEquals(0, lockStatistics.getQueueLength());
+        assertTrue(lockStatistics.getHoldTime().getMaxNanos() > 0);
+        assertTrue(SynchronizationFacade.getLongestLockHolder().isEmpty());
+    }
+
+    @Test
+    void lockStatisticsDoNotCreateMailbox() throws ReflectiveOperationException
+    {
+        //Arrange - The port is called before mode MAILBOX is set, so that it has no mailbox
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new QueueLengthApplicationService();
+        objectUnderTest.invoke(port.getClass().getMethod("getValue"), port, new Object[0]);
+        SynchronizationFacade.setSynchronizationMode(SynchronizationMode.MAILBOX);
+
+        //Act
+        var lockStatistics = SynchronizationFacade.getLockStatistics()
+                .stream()
+                .filter(element -> element.getName().equals("QueueLengthApplicationService.getValue"))
+                .findFirst()
+                .orElseThrow();
+
+        //Assert
+        assertEquals(0, lockStatistics.getQueueLength());
+        assertEquals(0, SynchronizationFacade.getQueueLength(port));
+        assertTrue(Thread.getAllStackTraces()
+                .keySet()
+                .stream()
+                .noneMatch(thread -> thread.getName().equals("Mailbox-" + QueueLengthApplicationService.class.getSimpleName())));
+    }
+
+    @Test
+    void recordNestedLockHolder() throws ReflectiveOperationException
+    {
+        //Arrange
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new StatisticsApplicationService();
+        var method = port.getClass().getMethod("getLongestLockHolder");
+        var lockHolders = new LockHolder[2];
+
+        //Act - Invoke a method while the lock of its port is already held by the same thread
+        objectUnderTest.execute(port, () -> {
+            try
+            {
+                lockHolders[0] = (LockHolder) objectUnderTest.invoke(method, port, new Object[0]);
+                lockHolders[1] = SynchronizationFacade.getLongestLockHolder().orElseThrow();
+            }
+            catch (ReflectiveOperationException e)
+            {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        //Assert - The outermost call remains the lock holder until it releases the lock
+        assertEquals("StatisticsApplicationService", lockHolders[0].getName());
+        assertEquals("StatisticsApplicationService", lockHolders[1].getName());
+        assertTrue(SynchronizationFacade.getLongestLockHolder().isEmpty());
+    }
+
+    @Test
+    void handleResultWhileLocked() throws ReflectiveOperationException
+    {
+        //Arrange
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new SimpleApplicationService();
+        var method = port.getClass().getMethod(GET_SIMPLE_VALUE);
+        var lock = objectUnderTest.getReadWriteLock(port);
+
+        //Act
+        var result = objectUnderTest.invoke(MethodInvoker.of(method), port, new Object[0], value -> lock.isWriteLockedByCurrentThread());
+
+        //Assert
+        assertEquals(Boolean.TRUE, result);
+        assertFalse(lock.isWriteLockedByCurrentThread());
+    }
+
+    @Test
+    void lockTimeout() throws Exception
+    {
+        //Arrange
+        SynchronizationFacade.setLockTimeout(Duration.ofMillis(10));
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new SimpleApplicationService();
+        var method = port.getClass().getMethod(SET_SIMPLE_VALUE, int.class);
+        var shedRequests = SynchronizationFacade.getShedRequests();
+        var executorService = Executors.newSingleThreadExecutor();
+
+        //Act - Invoke a method from another thread while this thread holds the lock
+        var exclusiveLock = objectUnderTest.getLock(port, Policy.EXCLUSIVE);
+        exclusiveLock.lock();
+        try
+        {
+            var result = executorService.submit(() -> objectUnderTest.invoke(method, port, new Object[]{1}));
+
+            //Assert
+            var exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof LockTimeoutException);
+            assertEquals(shedRequests + 1, SynchronizationFacade.getShedRequests());
+            assertEquals(42, port.getSimpleValue());
+        }
+        finally
+        {
+            exclusiveLock.unlock();
+            executorService.shutdown();
+        }
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void optimisticInvocation() throws Exception
+    {
+        //Arrange
+        SynchronizationFacade.setSynchronizationMode(SynchronizationMode.OPTIMISTIC);
+        SynchronizationFacade.setMaxRetries(2);
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new ConflictingApplicationService();
+        var method = port.getClass().getMethod("update", int.class);
+        var conflicts = SynchronizationFacade.getConflicts();
+
+        //Act
+        var result = objectUnderTest.invoke(method, port, new Object[]{2});
+
+        //Assert - The call is retried until it succeeds
+        assertEquals(3, result);
+        assertEquals(conflicts + 2, SynchronizationFacade.getConflicts());
+    }
+
+    @Test
+    void optimisticInvocationExceedsRetries() throws Exception
+    {
+        //Arrange
+        SynchronizationFacade.setSynchronizationMode(SynchronizationMode.OPTIMISTIC);
+        SynchronizationFacade.setMaxRetries(1);
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var port = new ConflictingApplicationService();
+        var method = port.getClass().getMethod("update", int.class);
+
+        //Act
+        var exception = assertThrows(InvocationTargetException.class, () -> objectUnderTest.invoke(method, port, new Object[]{5}));
+
+        //Assert
+        assertTrue(exception.getTargetException() instanceof ConcurrentUpdateException);
+        assertEquals(2, port.getAttempts());
+    }
+
+    @Test
+    void executeOnMultiplePorts()
+    {
+        //Arrange
+        SynchronizationFacade.setSynchronizationMode(SynchronizationMode.PER_PORT);
+        var objectUnderTest = IDrivingAdapter.acquireLock();
+        var firstPort = new SimpleApplicationService();
+        var secondPort = new IncrementApplicationService();
+        var heldLocks = new boolean[2];
+
+        //Act
+        objectUnderTest.execute(List.of(firstPort, secondPort, firstPort), () -> {
+            heldLocks[0] = objectUnderTest.getReadWriteLock(firstPort).isWriteLockedByCurrentThread();
+            heldLocks[1] = objectUnderTest.getReadWriteLock(secondPort).isWriteLockedByCurrentThread();
+        });
+
+        //Assert
+        assertTrue(heldLocks[0]);
+        assertTrue(heldLocks[1]);
+        assertFalse(objectUnderTest.getReadWriteLock(firstPort).isWriteLocked());
+        assertFalse(objectUnderTest.getReadWriteLock(secondPort).isWriteLocked());
+    }
+
+    @Test
+    void configureByProperties()
+    {
+        //Arrange
+        var properties = new Properties();
+        properties.put(SynchronizationFacade.SYNCHRONIZATION_MODE, "per_port");
+        properties.put(SynchronizationFacade.LOCK_MODE, "READ_WRITE");
+        properties.put(SynchronizationFacade.LOCK_TIMEOUT, "250");
+        properties.put(SynchronizationFacade.MAX_RETRIES, "5");
+
+        //Act
+        SynchronizationFacade.configure(properties);
+
+        //Assert
+        assertEquals(SynchronizationMode.PER_PORT, SynchronizationFacade.getSynchronizationMode());
+        assertEquals(LockMode.READ_WRITE, SynchronizationFacade.getLockMode());
+        assertEquals(Duration.ofMillis(250), SynchronizationFacade.getLockTimeout());
+        assertEquals(5, SynchronizationFacade.getMaxRetries());
+    }
+
+    @Test
+    void configureByInvalidProperties()
+    {
+        //Arrange
+        var invalidMode = new Properties();
+        invalidMode.put(SynchronizationFacade.SYNCHRONIZATION_MODE, "UNKNOWN");
+        var invalidTimeout = new Properties();
+        invalidTimeout.put(SynchronizationFacade.LOCK_TIMEOUT, "-1");
+        var emptyProperties = new Properties();
+
+        //Act / Assert
+        assertThrows(IllegalArgumentException.class, () -> SynchronizationFacade.configure(invalidMode));
+        assertThrows(IllegalArgumentException.class, () -> SynchronizationFacade.configure(invalidTimeout));
+        SynchronizationFacade.configure(emptyProperties);
+        assertEquals(SynchronizationMode.GLOBAL, SynchronizationFacade.getSynchronizationMode());
+        assertEquals(Duration.ZERO, SynchronizationFacade.getLockTimeout());
+    }
+
+    public static class ConflictingApplicationService
+    {
+        private int attempts = 0;
+
+        // Fails with a ConcurrentUpdateException for given number of attempts
+        public int update(int conflicts)
+        {
+            ++attempts;
+            if (attempts <= conflicts)
+            {
+                throw new ConcurrentUpdateException("Conflict " + attempts);
+            }
+            return attempts;
+        }
+
+        public int getAttempts()
+        {
+            return attempts;
+        }
+    }
+
+    public static class StatisticsApplicationService
+    {
+        public LockHolder getLongestLockHolder()
+        {
+            return SynchronizationFacade.getLongestLockHolder().orElseThrow();
+        }
+    }
+
+    public static class QueueLengthApplicationService
+    {
+        public int getValue()
+        {
+            return 1;
+        }
+    }
+
+    public static class MailboxApplicationService
+    {
+        public String getThreadName()
+        {
+            return Thread.currentThread().getName();
+        }
+
+        public void throwException()
+        {
+            throw new IllegalStateException("Test exception");
+        }
+    }
+
+    public static class KeyedApplicationService
+    {
+        private int sold = 0;
+
+        public void sell(int amount, @LockKey String isbn13)
+        {
+            sold += amount;
+        }
+
+        @ConcurrencyPolicy(Policy.KEYED)
+        public void addToStock(String isbn13, int amount)
+        {
+            // Nothing to do for testing purpose
+        }
+
+        @ConcurrencyPolicy(Policy.KEYED)
+        public void reset()
+        {
+            sold = 0;
+        }
+
+        public int getSold()
+        {
+            return sold;
+        }
+    }
+
+    public static class BlockingKeyedApplicationService
+    {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch finish = new CountDownLatch(1);
+        private int stock = 1;
+
+        public void sell(@LockKey String isbn13) throws InterruptedException
+        {
+            --stock;
+            started.countDown();
+            if (!finish.await(5, TimeUnit.SECONDS))
+            {
+                throw new IllegalStateException("Command was not finished");
+            }
+        }
+
+        public int getStock()
+        {
+            return stock;
+        }
+    }
+
+    public static class NestedKeyedApplicationService
+    {
+        private int sold = 0;
+
+        // Invokes a query of the same port while the keyed call is executed
+        public int sell(@LockKey String isbn13) throws ReflectiveOperationException
+        {
+            ++sold;
+            return (int) IDrivingAdapter.acquireLock().invoke(getClass().getMethod("getSold"), this, new Object[0]);
+        }
+
+        public int getSold()
+        {
+            return sold;
+        }
+    }
+
+    @ConcurrencyPolicy(SHARED)
+    public static class AnnotatedApplicationService
+    {
+        private int value = 42;
+
+        public int getValue()
+        {
+            return value;
+        }
+
+        @ConcurrencyPolicy(UNSYNCHRONIZED)
+        public int getUnsynchronizedValue()
+        {
+            return 42;
+        }
+
+        @ConcurrencyPolicy(Policy.EXCLUSIVE)
+        public void setValue(int value)
+        {
+            this.value = value;
+        }
+    }
+
+    public static class AnnotatedApplicationServicePortAdapter
+    {
+        private final AnnotatedApplicationService port;
+
+        public AnnotatedApplicationServicePortAdapter(AnnotatedApplicationService port)
+        {
+            this.port = port;
+        }
+
+        @SuppressWarnings("unused")
+        public void onMessage(int value)
+        {
+            port.setValue(value);
+        }
+    }
+
+    @ConcurrencyPolicy(UNSYNCHRONIZED)
+    public static class UnsynchronizedPortAdapter
+    {
+        private final AnnotatedApplicationService port;
+
+        public UnsynchronizedPortAdapter(AnnotatedApplicationService port)
+        {
+            this.port = port;
+        }
+
+        @SuppressWarnings("unused")
+        public int onMessage()
+        {
+            return port.getUnsynchronizedValue();
+        }
+    }
+
+    public static class SimpleApplicationServicePortAdapter
+    {
+        private final SimpleApplicationService port;
+
+        public SimpleApplicationServicePortAdapter(SimpleApplicationService port)
+        {
+            this.port = port;
+        }
+
+        @SuppressWarnings("unused")
+        public void onMessage(int value)
+        {
+            port.setSimpleValue(value);
+        }
+    }
+
+    public static class UnregisteredPortAdapter
+    {
+        private final SimpleApplicationService port;
+
+        public UnregisteredPortAdapter(SimpleApplicationService port)
+        {
+            this.port = port;
+        }
+
+        @SuppressWarnings("unused")
+        public void onMessage(int value)
+        {
+            port.setSimpleValue(value);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.jexxa.infrastructure.drivingadapter.jmx;
 
 
 import static io.jexxa.infrastructure.drivingadapter.jmx.MBeanConvention.JEXXA_CONTEXT_NAME;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -15,6 +16,7 @@ import javax.management.ObjectInstance;
 
 import io.jexxa.TestConstants;
 import io.jexxa.application.applicationservice.SimpleApplicationService;
+import io.jexxa.infrastructure.drivingadapter.EndpointRecorder;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
@@ -57,6 +59,49 @@ class JMXAdapterTest
         objectUnderTest.stop();
     }
 
+    @Test
+    void registerSynchronizationStatistics()
+    {
+        //Arrange
+        var properties = new Properties();
+        properties.put(JEXXA_CONTEXT_NAME, "registerSynchronizationStatistics"); // Unique name
+        var objectUnderTest = new JMXAdapter(properties);
+        var synchronizationStatistics = new SynchronizationStatistics("registerSynchronizationStatistics");
+
+        //Act
+        objectUnderTest.start();
+
+        //Assert that mbean for synchronization statistics is registered
+        MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        assertTrue(mbs.isRegistered(synchronizationStatistics.getObjectName()));
+        assertNotNull(synchronizationStatistics.getLockStatistics());
+
+        objectUnderTest.stop();
+        assertFalse(mbs.isRegistered(synchronizationStatistics.getObjectName()));
+    }
+
+    @Test
+    void registerRequestStatistics()
+    {
+        //Arrange
+        var properties = new Properties();
+        properties.put(JEXXA_CONTEXT_NAME, "registerRequestStatistics"); // Unique name
+        var objectUnderTest = new JMXAdapter(properties);
+        var requestStatistics = new RequestStatistics("registerRequestStatistics");
+        EndpointRecorder.of("GET", "/registerRequestStatistics").record(1000, false, 0, 2);
+
+        //Act
+        objectUnderTest.start();
+
+        //Assert that mbean for request statistics is registered
+        MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        assertTrue(mbs.isRegistered(requestStatistics.getObjectName()));
+        assertTrue(requestStatistics.getEndpointStatistics().contains("/registerRequestStatistics"));
+
+        objectUnderTest.stop();
+        assertFalse(mbs.isRegistered(requestStatistics.getObjectName()));
+    }
+
     @Test
     void throwExceptionWhenRegisterApplicationServiceTwice()
     {
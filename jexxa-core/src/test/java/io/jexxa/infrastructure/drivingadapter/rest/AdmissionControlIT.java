@@ -0,0 +1,96 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static io.jexxa.infrastructure.drivingadapter.rest.RESTfulRPCAdapter.HTTP_PORT_PROPERTY;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import io.jexxa.TestConstants;
+import io.jexxa.application.applicationservice.AsyncApplicationService;
+import kong.unirest.Unirest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(TestConstants.INTEGRATION_TEST)
+class AdmissionControlIT
+{
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String APPLICATION_TYPE = "application/json";
+    private static final String REST_PATH = "http://localhost:7000/AsyncApplicationService/";
+
+    private final AsyncApplicationService asyncApplicationService = new AsyncApplicationService();
+    private RESTfulRPCAdapter objectUnderTest;
+
+    @BeforeEach
+    void setupTests()
+    {
+        var properties = new Properties();
+        properties.put(RESTfulRPCAdapter.HOST_PROPERTY, "localhost");
+        properties.put(HTTP_PORT_PROPERTY, Integer.toString(7000));
+        properties.put(RESTfulRPCAdapter.MAX_CONCURRENT_REQUESTS, "1");
+        properties.put(RESTfulRPCAdapter.MIN_THREADS, "4");
+        properties.put(RESTfulRPCAdapter.MAX_THREADS, "8");
+        properties.put(RESTfulRPCAdapter.MAX_QUEUED_REQUESTS, "16");
+
+        objectUnderTest = RESTfulRPCAdapter.createAdapter(properties);
+        objectUnderTest.register(asyncApplicationService);
+        objectUnderTest.start();
+    }
+
+    @AfterEach
+    void tearDownTests()
+    {
+        objectUnderTest.stop();
+        objectUnderTest = null;
+        Unirest.shutDown();
+    }
+
+    @Test
+    void testRejectRequestExceedingLimit()
+    {
+        //Arrange
+        var pendingResponse = Unirest.get(REST_PATH + "getPendingValueAsync")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .asObjectAsync(Integer.class);
+        await().atMost(1, TimeUnit.SECONDS).until(() -> asyncApplicationService.getPendingRequests() == 1);
+
+        //Act
+        var rejectedResponse = Unirest.get(REST_PATH + "getSimpleValue")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .asEmpty();
+
+        //Assert
+        assertEquals(503, rejectedResponse.getStatus());
+        assertEquals("1", rejectedResponse.getHeaders().getFirst("Retry-After"));
+        assertEquals(1, objectUnderTest.getRejectedRequests());
+
+        asyncApplicationService.completePendingValue();
+        assertEquals(42, pendingResponse.join().getBody().intValue());
+    }
+
+    @Test
+    void testAcceptRequestAfterCompletion()
+    {
+        //Arrange
+        var pendingResponse = Unirest.get(REST_PATH + "getPendingValueAsync")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .asObjectAsync(Integer.class);
+        await().atMost(1, TimeUnit.SECONDS).until(() -> asyncApplicationService.getPendingRequests() == 1);
+        asyncApplicationService.completePendingValue();
+        pendingResponse.join();
+
+        //Act
+        var result = Unirest.get(REST_PATH + "getSimpleValue")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .asObject(Integer.class);
+
+        //Assert
+        assertEquals(200, result.getStatus());
+        assertEquals(42, result.getBody().intValue());
+        assertEquals(0, objectUnderTest.getRejectedRequests());
+    }
+}
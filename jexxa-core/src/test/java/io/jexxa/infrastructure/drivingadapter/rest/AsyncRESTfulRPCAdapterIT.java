@@ -0,0 +1,111 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static io.jexxa.infrastructure.drivingadapter.rest.RESTfulRPCAdapter.HTTP_PORT_PROPERTY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.Properties;
+
+import com.google.gson.JsonObject;
+import io.jexxa.TestConstants;
+import io.jexxa.application.applicationservice.AsyncApplicationService;
+import kong.unirest.Unirest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@Tag(TestConstants.INTEGRATION_TEST)
+class AsyncRESTfulRPCAdapterIT
+{
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String APPLICATION_TYPE = "application/json";
+    private static final String REST_PATH = "http://localhost:7000/AsyncApplicationService/";
+
+    private final AsyncApplicationService asyncApplicationService = new AsyncApplicationService();
+    private RESTfulRPCAdapter objectUnderTest;
+
+    @BeforeEach
+    void setupTests()
+    {
+        asyncApplicationService.setSimpleValueAsync(42).toCompletableFuture().join();
+    }
+
+    @AfterEach
+    void tearDownTests()
+    {
+        objectUnderTest.stop();
+        objectUnderTest = null;
+        Unirest.shutDown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testGETCommandReturningCompletableFuture(boolean useExecutor)
+    {
+        //Arrange
+        startAdapter(useExecutor);
+
+        //Act
+        Integer result = Unirest.get(REST_PATH + "getSimpleValueAsync")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .asObject(Integer.class).getBody();
+
+        //Assert
+        assertNotNull(result);
+        assertEquals(42, result.intValue());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testPOSTCommandReturningCompletionStage(boolean useExecutor)
+    {
+        //Arrange
+        startAdapter(useExecutor);
+
+        //Act
+        var response = Unirest.post(REST_PATH + "setSimpleValueAsync")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .body(44)
+                .asEmpty();
+
+        //Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(44, asyncApplicationService.getSimpleValue());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testGETCommandWithExceptionalCompletion(boolean useExecutor)
+    {
+        //Arrange
+        startAdapter(useExecutor);
+
+        //Act
+        var response = Unirest.get(REST_PATH + "throwExceptionAsync")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .asJson();
+        JsonObject error = response.mapError(JsonObject.class);
+
+        //Assert
+        assertEquals(400, response.getStatus());
+        assertNotNull(error);
+        assertEquals(IllegalStateException.class.getName(), error.get("ExceptionType").getAsString());
+    }
+
+    private void startAdapter(boolean useExecutor)
+    {
+        var properties = new Properties();
+        properties.put(RESTfulRPCAdapter.HOST_PROPERTY, "localhost");
+        properties.put(HTTP_PORT_PROPERTY, Integer.toString(7000));
+        if (useExecutor)
+        {
+            properties.put(RESTfulRPCAdapter.EXECUTOR_THREADS, "2");
+        }
+
+        objectUnderTest = RESTfulRPCAdapter.createAdapter(properties);
+        objectUnderTest.register(asyncApplicationService);
+        objectUnderTest.start();
+    }
+}
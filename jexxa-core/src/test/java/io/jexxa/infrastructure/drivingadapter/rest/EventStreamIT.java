@@ -0,0 +1,146 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static io.jexxa.infrastructure.drivingadapter.rest.RESTfulRPCAdapter.HTTP_PORT_PROPERTY;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import io.jexxa.TestConstants;
+import io.jexxa.application.applicationservice.PublisherApplicationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Server-sent events are received via the HttpClient of Java, because it can read the body of a response while it is
+ * still written
+ */
+@Tag(TestConstants.INTEGRATION_TEST)
+class EventStreamIT
+{
+    private static final String REST_PATH = "http://localhost:7000/PublisherApplicationService/";
+
+    private RESTfulRPCAdapter objectUnderTest;
+    private PublisherApplicationService publisherApplicationService;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setupTests()
+    {
+        var properties = new Properties();
+        properties.put(RESTfulRPCAdapter.HOST_PROPERTY, "localhost");
+        properties.put(HTTP_PORT_PROPERTY, Integer.toString(7000));
+
+        publisherApplicationService = new PublisherApplicationService();
+        objectUnderTest = RESTfulRPCAdapter.createAdapter(properties);
+        objectUnderTest.register(publisherApplicationService);
+        objectUnderTest.start();
+    }
+
+    @AfterEach
+    void tearDownTests()
+    {
+        objectUnderTest.stop();
+        objectUnderTest = null;
+    }
+
+    @Test
+    void testSharedSubscription() throws Exception
+    {
+        //Arrange
+        var responses = new ArrayList<HttpResponse<Stream<String>>>();
+        for (int i = 0; i < 3; ++i)
+        {
+            responses.add(connect());
+        }
+
+        //Act
+        publisherApplicationService.publishValue(42);
+
+        //Assert
+        assertEquals(1, publisherApplicationService.getSubscriptions());
+        assertEquals(1, publisherApplicationService.getNumberOfSubscribers());
+        for (var response : responses)
+        {
+            assertEquals(200, response.statusCode());
+            assertEquals(EventStream.CONTENT_TYPE, response.headers().firstValue("Content-Type").orElse("").split(";")[0]);
+            assertEquals("data: {\"value\":42,\"valueInPercent\":0.42}", response.body().iterator().next());
+        }
+    }
+
+    @Test
+    void testCompletedPublisher() throws Exception
+    {
+        //Arrange
+        var events = connect().body().iterator();
+
+        //Act
+        publisherApplicationService.publishValue(42);
+        publisherApplicationService.closeValueStream();
+
+        //Assert
+        var result = readAll(events);
+        assertEquals(List.of("data: {\"value\":42,\"valueInPercent\":0.42}", ""), result);
+    }
+
+    @Test
+    void testPublisherWithException() throws Exception
+    {
+        //Arrange
+        var events = connect().body().iterator();
+
+        //Act
+        publisherApplicationService.publishException();
+
+        //Assert
+        var result = readAll(events);
+        assertEquals("event: error", result.get(0));
+        assertTrue(result.get(1).contains(IllegalStateException.class.getName()));
+    }
+
+    @Test
+    void testCancelSubscription() throws Exception
+    {
+        //Arrange
+        var response = connect();
+
+        //Act
+        response.body().close();
+
+        //Assert - A disconnected client is detected when the next event is written
+        await().atMost(5, TimeUnit.SECONDS).until(() -> {
+            publisherApplicationService.publishValue(42);
+            return publisherApplicationService.getNumberOfSubscribers() == 0;
+        });
+        assertEquals(0, publisherApplicationService.getNumberOfSubscribers());
+    }
+
+    private HttpResponse<Stream<String>> connect() throws Exception
+    {
+        var request = HttpRequest.newBuilder(URI.create(REST_PATH + "getValueStream"))
+                .header("Accept", EventStream.CONTENT_TYPE)
+                .GET()
+                .build();
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+    }
+
+    private static List<String> readAll(Iterator<String> events)
+    {
+        var result = new ArrayList<String>();
+        events.forEachRemaining(result::add);
+        return result;
+    }
+}
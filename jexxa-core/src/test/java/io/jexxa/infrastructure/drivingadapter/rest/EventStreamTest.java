@@ -0,0 +1,63 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.jexxa.TestConstants;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@Tag(TestConstants.UNIT_TEST)
+class EventStreamTest
+{
+    @Test
+    void closeWhileCreatingPublisher() throws InterruptedException
+    {
+        //Arrange
+        var isCreating = new CountDownLatch(1);
+        var releasePublisher = new CountDownLatch(1);
+        var objectUnderTest = new EventStream(
+                () -> {
+                    isCreating.countDown();
+                    releasePublisher.await();
+                    throw new IllegalStateException("Publisher is not available");
+                },
+                value -> new byte[0],
+                value -> new byte[0],
+                Runnable::run,
+                1);
+
+        // The publisher is created before the request or response is accessed
+        var connecting = CompletableFuture.runAsync(() -> {
+            try
+            {
+                objectUnderTest.connect(null, null);
+            }
+            catch (Exception e)
+            {
+                throw new CompletionException(e);
+            }
+        });
+        isCreating.await();
+
+        //Act - The EventStream is not locked while its publisher is created
+        var closing = CompletableFuture.runAsync(objectUnderTest::close);
+
+        //Assert
+        assertDoesNotThrow(() -> closing.get(5, TimeUnit.SECONDS));
+        releasePublisher.countDown();
+        var exception = assertThrows(ExecutionException.class, () -> connecting.get(5, TimeUnit.SECONDS));
+        assertEquals(IllegalStateException.class, exception.getCause().getClass());
+        assertEquals(0, objectUnderTest.getClients());
+    }
+}
@@ -0,0 +1,95 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.gson.Gson;
+import io.jexxa.TestConstants;
+import io.jexxa.utils.StacklessException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@Tag(TestConstants.UNIT_TEST)
+class ExceptionWriterTest
+{
+    private static final Gson GSON = new Gson();
+
+    @Test
+    void compactFormat()
+    {
+        //Arrange
+        var objectUnderTest = new ExceptionWriter(GSON, true, false);
+        var exception = new IllegalStateException("Item not in stock");
+
+        //Act
+        var result = objectUnderTest.toJson(exception);
+
+        //Assert
+        assertEquals(IllegalStateException.class.getName(), result.get("ExceptionType").getAsString());
+        assertEquals(exception.getMessage(), result.get("Message").getAsString());
+        assertFalse(result.has("Exception"));
+        assertFalse(result.has("StackTrace"));
+    }
+
+    @Test
+    void compactFormatWithStackTrace()
+    {
+        //Arrange
+        var objectUnderTest = new ExceptionWriter(GSON, true, true);
+        var exception = new IllegalStateException("Item not in stock");
+
+        //Act
+        var result = objectUnderTest.toJson(exception);
+
+        //Assert
+        assertEquals(IllegalStateException.class.getName(), result.get("ExceptionType").getAsString());
+        assertEquals(exception.getStackTrace().length, result.get("StackTrace").getAsJsonArray().size());
+        assertEquals(exception.getStackTrace()[0].toString(), result.get("StackTrace").getAsJsonArray().get(0).getAsString());
+    }
+
+    @Test
+    void stacklessException()
+    {
+        //Arrange
+        var objectUnderTest = new ExceptionWriter(GSON, true, true);
+        var exception = new ItemNotInStockException("Item not in stock");
+
+        //Act
+        var result = objectUnderTest.toJson(exception);
+
+        //Assert
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(ItemNotInStockException.class.getName(), result.get("ExceptionType").getAsString());
+        assertEquals(exception.getMessage(), result.get("Message").getAsString());
+        assertFalse(result.has("StackTrace"));
+    }
+
+    @Test
+    void fullFormat()
+    {
+        //Arrange
+        var objectUnderTest = new ExceptionWriter(GSON, false, false);
+        var exception = new IllegalStateException("Item not in stock");
+
+        //Act
+        var result = objectUnderTest.toJson(exception);
+
+        //Assert - If Gson cannot access the fields of Throwable, the compact format including stack trace is used
+        assertEquals(IllegalStateException.class.getName(), result.get("ExceptionType").getAsString());
+        assertTrue(result.has("Exception") || result.has("StackTrace"));
+    }
+
+    private static class ItemNotInStockException extends StacklessException
+    {
+        private static final long serialVersionUID = 1L;
+
+        ItemNotInStockException(String message)
+        {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.Properties;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509ExtendedTrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import io.jexxa.TestConstants;
+import io.jexxa.application.applicationservice.SimpleApplicationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(TestConstants.INTEGRATION_TEST)
+class HTTP2RESTfulRPCAdapterIT
+{
+    private static final String METHOD_GET_SIMPLE_VALUE = "getSimpleValue";
+    private static final int DEFAULT_VALUE = 42;
+
+    private final SimpleApplicationService simpleApplicationService = new SimpleApplicationService();
+    private RESTfulRPCAdapter objectUnderTest;
+
+    @BeforeEach
+    void initTest()
+    {
+        var properties = new Properties();
+        properties.put(RESTfulRPCAdapter.HOST_PROPERTY, "localhost");
+        properties.put(RESTfulRPCAdapter.HTTP_PORT_PROPERTY, Integer.toString(7000));
+        properties.put(RESTfulRPCAdapter.HTTPS_PORT_PROPERTY, Integer.toString(8081));
+        properties.put(RESTfulRPCAdapter.KEYSTORE_PASSWORD, "test123");
+        properties.put(RESTfulRPCAdapter.KEYSTORE, "keystore.jks");
+        properties.put(RESTfulRPCAdapter.HTTP2, "true");
+
+        objectUnderTest = RESTfulRPCAdapter.createAdapter(properties);
+        objectUnderTest.register(simpleApplicationService);
+        objectUnderTest.start();
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        objectUnderTest.stop();
+        objectUnderTest = null;
+    }
+
+    @Test
+    void testH2C() throws IOException, InterruptedException
+    {
+        //Arrange
+        var httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .build();
+
+        //Act
+        var response = httpClient.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:7000/SimpleApplicationService/" + METHOD_GET_SIMPLE_VALUE)).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        //Assert
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+        assertEquals(200, response.statusCode());
+        assertEquals(Integer.toString(DEFAULT_VALUE), response.body());
+    }
+
+    @Test
+    void testH2() throws IOException, InterruptedException, GeneralSecurityException
+    {
+        //Arrange
+        var httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .sslContext(createSSLContext())
+                .build();
+
+        //Act
+        var response = httpClient.send(
+                HttpRequest.newBuilder(URI.create("https://localhost:8081/SimpleApplicationService/" + METHOD_GET_SIMPLE_VALUE)).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        //Assert
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+        assertEquals(200, response.statusCode());
+        assertEquals(Integer.toString(DEFAULT_VALUE), response.body());
+    }
+
+    @Test
+    void testHTTP1FallbackViaALPN() throws IOException, InterruptedException, GeneralSecurityException
+    {
+        //Arrange
+        var httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .sslContext(createSSLContext())
+                .build();
+
+        //Act
+        var response = httpClient.send(
+                HttpRequest.newBuilder(URI.create("https://localhost:8081/SimpleApplicationService/" + METHOD_GET_SIMPLE_VALUE)).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        //Assert
+        assertEquals(HttpClient.Version.HTTP_1_1, response.version());
+        assertEquals(200, response.statusCode());
+        assertEquals(Integer.toString(DEFAULT_VALUE), response.body());
+    }
+
+    /**
+     * Creates an SSLContext that trusts the certificate in trustStore.jks. Because the test certificate is not issued
+     * for localhost, the hostname is not verified.
+     */
+    private static SSLContext createSSLContext() throws GeneralSecurityException, IOException
+    {
+        var trustStore = KeyStore.getInstance("JKS");
+        try (var inputStream = HTTP2RESTfulRPCAdapterIT.class.getResourceAsStream("/trustStore.jks"))
+        {
+            trustStore.load(inputStream, "changeit".toCharArray());
+        }
+
+        var trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(trustStore);
+
+        var sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[]{new NoHostnameVerification((X509TrustManager) trustManagerFactory.getTrustManagers()[0])}, null);
+        return sslContext;
+    }
+
+    private static class NoHostnameVerification extends X509ExtendedTrustManager
+    {
+        private final X509TrustManager trustManager;
+
+        NoHostnameVerification(X509TrustManager trustManager)
+        {
+            this.trustManager = trustManager;
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) throws CertificateException
+        {
+            trustManager.checkClientTrusted(chain, authType);
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) throws CertificateException
+        {
+            trustManager.checkServerTrusted(chain, authType);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) throws CertificateException
+        {
+            trustManager.checkClientTrusted(chain, authType);
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) throws CertificateException
+        {
+            trustManager.checkServerTrusted(chain, authType);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException
+        {
+            trustManager.checkClientTrusted(chain, authType);
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException
+        {
+            trustManager.checkServerTrusted(chain, authType);
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers()
+        {
+            return trustManager.getAcceptedIssuers();
+        }
+    }
+}
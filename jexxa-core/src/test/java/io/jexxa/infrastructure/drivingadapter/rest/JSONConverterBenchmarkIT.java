@@ -0,0 +1,172 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+import io.jexxa.TestConstants;
+import io.jexxa.application.domain.aggregate.JexxaEntity;
+import io.jexxa.application.domain.valueobject.JexxaValueObject;
+import io.jexxa.utils.JexxaLogger;
+import io.jexxa.utils.json.GsonConverter;
+import io.jexxa.utils.json.JSONConverter;
+import io.jexxa.utils.json.JacksonConverter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the duration of serializing and deserializing the results and parameters of a RESTfulRPCAdapter with the
+ * streaming methods of {@link GsonConverter} and {@link JacksonConverter}, and with converting each value via an
+ * intermediate String. The measured durations are logged.
+ */
+@Tag(TestConstants.INTEGRATION_TEST)
+class JSONConverterBenchmarkIT
+{
+    private static final int ENTITIES = 1_000;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+    private static final Type ENTITIES_TYPE = new TypeToken<List<JexxaEntity>>(){}.getType();
+
+    private final List<JexxaEntity> jexxaEntities = IntStream.range(0, ENTITIES)
+            .mapToObj(JSONConverterBenchmarkIT::createEntity)
+            .collect(Collectors.toList());
+
+    @Test
+    void streamingSerialization() throws IOException
+    {
+        //Arrange
+        var jacksonConverter = new JacksonConverter();
+        var gsonConverter = new GsonConverter();
+
+        //Act
+        var stringBased = measure(() -> serializeViaString(jacksonConverter));
+        var jacksonStreaming = measure(() -> serialize(jacksonConverter));
+        var gsonStreaming = measure(() -> serialize(gsonConverter));
+
+        JexxaLogger.getLogger(getClass()).info("Serializing {} entities: Jackson via String {} us, Jackson streaming {} us, Gson streaming {} us",
+                ENTITIES, stringBased / 1_000, jacksonStreaming / 1_000, gsonStreaming / 1_000);
+
+        //Assert - All variants produce the same JSON, but a configured JacksonConverter writes it faster than Gson
+        assertEquals(new String(serializeViaString(jacksonConverter), StandardCharsets.UTF_8), new String(serialize(jacksonConverter), StandardCharsets.UTF_8));
+        assertEquals(new String(serialize(gsonConverter), StandardCharsets.UTF_8), new String(serialize(jacksonConverter), StandardCharsets.UTF_8));
+        assertTrue(jacksonStreaming < gsonStreaming);
+    }
+
+    @Test
+    void streamingDeserialization() throws IOException
+    {
+        //Arrange
+        var jacksonConverter = new JacksonConverter();
+        var gsonConverter = new GsonConverter();
+        var serializedEntities = serialize(gsonConverter);
+
+        //Act
+        var stringBased = measure(() -> deserializeViaString(jacksonConverter, serializedEntities));
+        var jacksonStreaming = measure(() -> deserialize(jacksonConverter, serializedEntities));
+        var gsonStreaming = measure(() -> deserialize(gsonConverter, serializedEntities));
+
+        JexxaLogger.getLogger(getClass()).info("Deserializing {} entities: Jackson via String {} us, Jackson streaming {} us, Gson streaming {} us",
+                ENTITIES, stringBased / 1_000, jacksonStreaming / 1_000, gsonStreaming / 1_000);
+
+        //Assert
+        assertEquals(jexxaEntities, deserialize(jacksonConverter, serializedEntities));
+        assertEquals(jexxaEntities, deserialize(gsonConverter, serializedEntities));
+        assertEquals(jexxaEntities, deserializeViaString(jacksonConverter, serializedEntities));
+    }
+
+    /**
+     * Writes the entities as a JSON array like {@link JSONResultWriter} writes a result of type Stream
+     */
+    private byte[] serialize(JSONConverter jsonConverter) throws IOException
+    {
+        return writeArray(jsonConverter, (jsonWriter, jexxaEntity) -> jsonConverter.toJson(jexxaEntity, jsonWriter));
+    }
+
+    private byte[] serializeViaString(JSONConverter jsonConverter) throws IOException
+    {
+        return writeArray(jsonConverter, (jsonWriter, jexxaEntity) -> jsonWriter.jsonValue(jsonConverter.toJson(jexxaEntity)));
+    }
+
+    private byte[] writeArray(JSONConverter jsonConverter, ValueWriter valueWriter) throws IOException
+    {
+        var outputStream = new ByteArrayOutputStream();
+        try (var jsonWriter = PayloadFormat.JSON_FORMAT.newJsonWriter(jsonConverter, outputStream))
+        {
+            jsonWriter.beginArray();
+            for (var jexxaEntity : jexxaEntities)
+            {
+                valueWriter.write(jsonWriter, jexxaEntity);
+            }
+            jsonWriter.endArray();
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Reads the entities as parameter of a method like {@link RESTfulRPCAdapter} does
+     */
+    private static List<JexxaEntity> deserialize(JSONConverter jsonConverter, byte[] serializedEntities) throws IOException
+    {
+        try (var jsonReader = PayloadFormat.JSON_FORMAT.newJsonReader(jsonConverter, new ByteArrayInputStream(serializedEntities), StandardCharsets.UTF_8))
+        {
+            return jsonConverter.fromJson(jsonReader, ENTITIES_TYPE);
+        }
+    }
+
+    private static List<JexxaEntity> deserializeViaString(JSONConverter jsonConverter, byte[] serializedEntities)
+    {
+        return jsonConverter.fromJson(new String(serializedEntities, StandardCharsets.UTF_8), ENTITIES_TYPE);
+    }
+
+    /**
+     * @return the median duration of given action in ns
+     */
+    private static long measure(Action action) throws IOException
+    {
+        for (int i = 0; i < WARMUP_ROUNDS; ++i)
+        {
+            action.run();
+        }
+
+        var durations = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; ++i)
+        {
+            var start = System.nanoTime();
+            action.run();
+            durations[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(durations);
+        return durations[MEASURED_ROUNDS / 2];
+    }
+
+    private static JexxaEntity createEntity(int value)
+    {
+        var jexxaEntity = JexxaEntity.create(new JexxaValueObject(value));
+        jexxaEntity.setInternalValue(value);
+        return jexxaEntity;
+    }
+
+    @FunctionalInterface
+    private interface Action
+    {
+        void run() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ValueWriter
+    {
+        void write(JsonWriter jsonWriter, JexxaEntity jexxaEntity) throws IOException;
+    }
+}
@@ -0,0 +1,65 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import io.jexxa.TestConstants;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@Tag(TestConstants.UNIT_TEST)
+class JSONResultWriterTest
+{
+    @Test
+    void materializeStream()
+    {
+        //Arrange
+        var isClosed = new AtomicBoolean(false);
+        var stream = Stream.of(1, 2, 3).onClose(() -> isClosed.set(true));
+
+        //Act
+        var result = JSONResultWriter.materialize(stream);
+
+        //Assert
+        assertEquals(List.of(1, 2, 3), result);
+        assertTrue(isClosed.get());
+    }
+
+    @Test
+    void materializeIterable()
+    {
+        //Arrange
+        Iterable<String> iterable = () -> List.of("first", "second").iterator();
+
+        //Act
+        var result = JSONResultWriter.materialize(iterable);
+
+        //Assert
+        assertEquals(List.of("first", "second"), result);
+    }
+
+    @Test
+    void keepNonLazyResult()
+    {
+        //Arrange
+        var collection = List.of(1, 2, 3);
+
+        //Act
+        var result = JSONResultWriter.materialize(collection);
+
+        //Assert - A collection is already materialized
+        assertSame(collection, result);
+        assertFalse(JSONResultWriter.isLazy(collection));
+        assertFalse(JSONResultWriter.isLazy("value"));
+        assertTrue(JSONResultWriter.isLazy(Stream.empty()));
+    }
+}
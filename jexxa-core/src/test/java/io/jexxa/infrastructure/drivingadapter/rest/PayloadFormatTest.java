@@ -0,0 +1,131 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.google.gson.reflect.TypeToken;
+import io.jexxa.TestConstants;
+import io.jexxa.application.domain.valueobject.JexxaValueObject;
+import io.jexxa.utils.json.GsonConverter;
+import io.jexxa.utils.json.JSONConverter;
+import io.jexxa.utils.json.JacksonConverter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@Tag(TestConstants.UNIT_TEST)
+class PayloadFormatTest
+{
+    private static final JSONConverter GSON_CONVERTER = new GsonConverter();
+
+    @Test
+    void binaryFormatFromClasspath()
+    {
+        //Arrange - Only jackson-dataformat-cbor is included in the test classpath
+        var objectUnderTest = PayloadFormat.getAvailableBinaryFormats();
+
+        //Assert
+        assertEquals(1, objectUnderTest.size());
+        assertEquals(PayloadFormat.CBOR, objectUnderTest.get(0).getMediaType());
+        assertTrue(objectUnderTest.get(0).isBinary());
+        assertFalse(PayloadFormat.JSON_FORMAT.isBinary());
+    }
+
+    @Test
+    void roundTripCBOR() throws IOException
+    {
+        //Arrange
+        var objectUnderTest = PayloadFormat.getAvailableBinaryFormats().get(0);
+        var valueObjects = List.of(new JexxaValueObject(1), new JexxaValueObject(42));
+        var type = new TypeToken<List<JexxaValueObject>>(){}.getType();
+
+        //Act
+        var serializedValueObjects = serialize(GSON_CONVERTER, objectUnderTest, valueObjects);
+        List<JexxaValueObject> result;
+        try (var jsonReader = objectUnderTest.newJsonReader(GSON_CONVERTER, new ByteArrayInputStream(serializedValueObjects), StandardCharsets.UTF_8))
+        {
+            result = GSON_CONVERTER.fromJson(jsonReader, type);
+        }
+
+        //Assert
+        assertEquals(valueObjects, result);
+        assertTrue(serializedValueObjects.length < serialize(GSON_CONVERTER, PayloadFormat.JSON_FORMAT, valueObjects).length);
+    }
+
+    @Test
+    void roundTripWithJacksonConverter() throws IOException
+    {
+        //Arrange
+        var jsonConverter = new JacksonConverter();
+        var valueObjects = List.of(new JexxaValueObject(1), new JexxaValueObject(42));
+        var type = new TypeToken<List<JexxaValueObject>>(){}.getType();
+        var payloadFormats = List.of(PayloadFormat.JSON_FORMAT, PayloadFormat.getAvailableBinaryFormats().get(0));
+
+        for (var objectUnderTest : payloadFormats)
+        {
+            //Act - Values are read and written directly by the parser and generator of Jackson
+            var serializedValueObjects = serialize(jsonConverter, objectUnderTest, valueObjects);
+            List<JexxaValueObject> result;
+            try (var jsonReader = objectUnderTest.newJsonReader(jsonConverter, new ByteArrayInputStream(serializedValueObjects), StandardCharsets.UTF_8))
+            {
+                result = jsonConverter.fromJson(jsonReader, type);
+            }
+
+            //Assert
+            assertEquals(valueObjects, result);
+        }
+        assertArrayEquals(serialize(GSON_CONVERTER, PayloadFormat.JSON_FORMAT, valueObjects), serialize(jsonConverter, PayloadFormat.JSON_FORMAT, valueObjects));
+    }
+
+    @Test
+    void omitNullValues() throws IOException
+    {
+        //Arrange
+        var objectUnderTest = PayloadFormat.getAvailableBinaryFormats().get(0);
+        var message = new Message(null, 42);
+
+        //Act
+        var serializedMessage = serialize(GSON_CONVERTER, objectUnderTest, message);
+        Message result;
+        try (var jsonReader = objectUnderTest.newJsonReader(GSON_CONVERTER, new ByteArrayInputStream(serializedMessage), StandardCharsets.UTF_8))
+        {
+            result = GSON_CONVERTER.fromJson(jsonReader, Message.class);
+        }
+
+        //Assert
+        assertEquals(message.text, result.text);
+        assertEquals(message.counter, result.counter);
+    }
+
+    private static byte[] serialize(JSONConverter jsonConverter, PayloadFormat payloadFormat, Object value) throws IOException
+    {
+        var outputStream = new ByteArrayOutputStream();
+        try (var jsonWriter = payloadFormat.newJsonWriter(jsonConverter, outputStream))
+        {
+            jsonConverter.toJson(value, jsonWriter);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static class Message
+    {
+        private final String text;
+        private final long counter;
+
+        Message(String text, long counter)
+        {
+            this.text = text;
+            this.counter = counter;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import io.jexxa.TestConstants;
+import io.jexxa.infrastructure.drivingadapter.EndpointRecorder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@Tag(TestConstants.UNIT_TEST)
+class PrometheusFormatTest
+{
+    @Test
+    void writeEndpointStatistics()
+    {
+        //Arrange
+        var endpointRecorder = EndpointRecorder.of("POST", "/PrometheusFormatTest/setValue");
+        endpointRecorder.record(1_000_000, false, 10, 20);
+        endpointRecorder.record(3_000_000, true, 10, 20);
+
+        //Act
+        var result = PrometheusFormat.toPrometheusFormat(List.of(endpointRecorder.getStatistics()), new CompressionStatistics(0, 0, 0, 0));
+
+        //Assert
+        var labels = "{method=\"POST\",path=\"/PrometheusFormatTest/setValue\"";
+        assertTrue(result.contains("# TYPE jexxa_rest_request_duration_seconds histogram\n"));
+        assertTrue(result.contains("jexxa_rest_request_duration_seconds_bucket" + labels + ",le=\"1.024E-6\"} 0\n"));
+        assertTrue(result.contains("jexxa_rest_request_duration_seconds_bucket" + labels + ",le=\"0.001048576\"} 1\n"));
+        assertTrue(result.contains("jexxa_rest_request_duration_seconds_bucket" + labels + ",le=\"0.004194304\"} 2\n"));
+        assertTrue(result.contains("jexxa_rest_request_duration_seconds_bucket" + labels + ",le=\"+Inf\"} 2\n"));
+        assertTrue(result.contains("jexxa_rest_request_duration_seconds_sum" + labels + "} 0.004\n"));
+        assertTrue(result.contains("jexxa_rest_request_duration_seconds_count" + labels + "} 2\n"));
+        assertTrue(result.contains("jexxa_rest_request_errors_total" + labels + "} 1\n"));
+        assertTrue(result.contains("jexxa_rest_request_bytes_total" + labels + "} 20\n"));
+        assertTrue(result.contains("jexxa_rest_response_bytes_total" + labels + "} 40\n"));
+    }
+
+    @Test
+    void histogramBucketsAreCumulative()
+    {
+        //Arrange
+        var endpointRecorder = EndpointRecorder.of("GET", "/PrometheusFormatTest/getValue");
+        endpointRecorder.record(500, false, 0, 10);
+        endpointRecorder.record(50_000, false, 0, 10);
+        endpointRecorder.record(100_000_000_000L, false, 0, 10);
+
+        //Act
+        var result = PrometheusFormat.toPrometheusFormat(List.of(endpointRecorder.getStatistics()), new CompressionStatistics(0, 0, 0, 0));
+
+        //Assert - Values below the first bucket are counted by all buckets and values above the last one only by +Inf
+        var buckets = result.lines()
+                .filter(line -> line.startsWith("jexxa_rest_request_duration_seconds_bucket"))
+                .mapToLong(line -> Long.parseLong(line.substring(line.lastIndexOf(' ') + 1)))
+                .toArray();
+
+        assertEquals(28, buckets.length);
+        assertEquals(1, buckets[0]);
+        assertEquals(2, buckets[buckets.length - 2]);
+        assertEquals(3, buckets[buckets.length - 1]);
+        for (int i = 1; i < buckets.length; ++i)
+        {
+            assertTrue(buckets[i - 1] <= buckets[i]);
+        }
+    }
+
+    @Test
+    void writeCompressionStatistics()
+    {
+        //Arrange
+        var compressionStatistics = new CompressionStatistics(2, 4000, 1000, 1_500_000_000);
+
+        //Act
+        var result = PrometheusFormat.toPrometheusFormat(List.of(), compressionStatistics);
+
+        //Assert
+        assertTrue(result.contains("# TYPE jexxa_rest_compressed_responses_total counter\n"));
+        assertTrue(result.contains("jexxa_rest_compressed_responses_total 2\n"));
+        assertTrue(result.contains("jexxa_rest_compression_uncompressed_bytes_total 4000\n"));
+        assertTrue(result.contains("jexxa_rest_compression_compressed_bytes_total 1000\n"));
+        assertTrue(result.contains("# TYPE jexxa_rest_compression_ratio gauge\n"));
+        assertTrue(result.contains("jexxa_rest_compression_ratio 4\n"));
+        assertTrue(result.contains("jexxa_rest_compression_cpu_seconds_total 1.5\n"));
+    }
+}
@@ -8,10 +8,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
 import io.jexxa.TestConstants;
 import io.jexxa.application.applicationservice.SimpleApplicationService;
 import io.jexxa.application.domain.valueobject.JexxaValueObject;
@@ -36,6 +42,7 @@ class RESTfulRPCAdapterIT
     private static final String REST_PATH = "http://localhost:7000/SimpleApplicationService/";
 
     private static final int DEFAULT_VALUE = 42;
+    private static final int LAZY_RESULT_BUFFER_SIZE = 1024;
     private final SimpleApplicationService simpleApplicationService = new SimpleApplicationService();
 
     private RESTfulRPCAdapter objectUnderTest;
@@ -51,9 +58,12 @@ class RESTfulRPCAdapterIT
 
         properties.put(RESTfulRPCAdapter.HOST_PROPERTY, defaultHost);
         properties.put(HTTP_PORT_PROPERTY, Integer.toString(defaultPort));
+        properties.put(RESTfulRPCAdapter.BATCH_PATH, "_batch");
+        properties.put(RESTfulRPCAdapter.LAZY_RESULT_BUFFER_SIZE, Integer.toString(LAZY_RESULT_BUFFER_SIZE));
 
         objectUnderTest = RESTfulRPCAdapter.createAdapter(properties);
         objectUnderTest.register(simpleApplicationService);
+        objectUnderTest.register(new LazyResultService());
         objectUnderTest.start();
     }
 
@@ -183,6 +193,118 @@ class RESTfulRPCAdapterIT
         assertEquals(messageList, simpleApplicationService.getMessages());
     }
 
+    @Test // RPC call test: List<String> getMessages() with a result that is sent in chunks
+    void testGETCommandWithLargeResult()
+    {
+        //Arrange
+        var messageList = IntStream.range(0, 10000)
+                .mapToObj(element -> "message" + element)
+                .collect(Collectors.toList());
+        simpleApplicationService.setMessages(messageList);
+
+        //Act
+        var response = Unirest.get(REST_PATH + "getMessages")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .header("Accept-Encoding", "gzip")
+                .asObject(String[].class);
+
+        //Assert
+        assertTrue(response.isSuccess());
+        assertEquals(messageList, List.of(response.getBody()));
+    }
+
+    @Test // Batch of RPC calls: void setSimpleValue(int), int getSimpleValue() and an unknown method
+    void testBatchCommand()
+    {
+        //Arrange
+        var batch = new JsonArray();
+        batch.add(createBatchEntry("/SimpleApplicationService/setSimpleValue", new JsonPrimitive(44)));
+        batch.add(createBatchEntry("/SimpleApplicationService/getSimpleValue", null));
+        batch.add(createBatchEntry("/SimpleApplicationService/unknownMethod", null));
+
+        //Act
+        var response = Unirest.post("http://localhost:7000/_batch")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .body(batch)
+                .asString();
+
+        //Assert
+        assertTrue(response.isSuccess());
+        var result = JsonParser.parseString(response.getBody()).getAsJsonArray();
+        assertEquals(3, result.size());
+        assertEquals(200, result.get(0).getAsJsonObject().get("status").getAsInt());
+        assertEquals(44, result.get(1).getAsJsonObject().get("result").getAsInt());
+        assertEquals(404, result.get(2).getAsJsonObject().get("status").getAsInt());
+        assertEquals(44, simpleApplicationService.getSimpleValue());
+    }
+
+    @Test // Batch including entries without a valid resourcePath
+    void testBatchCommandWithInvalidEntry()
+    {
+        //Arrange
+        var batch = new JsonArray();
+        batch.add(createBatchEntry("/SimpleApplicationService/setSimpleValue", new JsonPrimitive(44)));
+        batch.add(new JsonPrimitive(43));
+        batch.add(new JsonObject());
+        batch.add(createBatchEntry("/SimpleApplicationService/getSimpleValue", null));
+
+        //Act
+        var response = Unirest.post("http://localhost:7000/_batch")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .body(batch)
+                .asString();
+
+        //Assert - Only the invalid entries fail
+        assertTrue(response.isSuccess());
+        var result = JsonParser.parseString(response.getBody()).getAsJsonArray();
+        assertEquals(4, result.size());
+        assertEquals(200, result.get(0).getAsJsonObject().get("status").getAsInt());
+        assertEquals(400, result.get(1).getAsJsonObject().get("status").getAsInt());
+        assertNotNull(result.get(1).getAsJsonObject().get("error"));
+        assertEquals(400, result.get(2).getAsJsonObject().get("status").getAsInt());
+        assertEquals(44, result.get(3).getAsJsonObject().get("result").getAsInt());
+    }
+
+    @Test // RPC call test: Stream<Integer> getValues()
+    void testGETCommandWithLazyResult()
+    {
+        //Arrange -> Nothing to do
+
+        //Act
+        var response = Unirest.get("http://localhost:7000/LazyResultService/getValues")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .asObject(Integer[].class);
+
+        //Assert
+        assertTrue(response.isSuccess());
+        assertEquals(List.of(1, 2, 3), List.of(response.getBody()));
+    }
+
+    @Test // RPC call test: Stream<Integer> getManyValues() exceeding the buffer of lazy results
+    void testGETCommandWithTooLargeLazyResult()
+    {
+        //Arrange -> Nothing to do
+
+        //Act
+        var response = Unirest.get("http://localhost:7000/LazyResultService/getManyValues")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .asString();
+
+        //Assert - The result is rejected instead of being written while holding the lock of the port
+        assertEquals(500, response.getStatus());
+    }
+
+    private static JsonObject createBatchEntry(String resourcePath, JsonElement arguments)
+    {
+        var batchEntry = new JsonObject();
+        batchEntry.addProperty("resourcePath", resourcePath);
+        if (arguments != null)
+        {
+            batchEntry.add("arguments", arguments);
+        }
+        return batchEntry;
+    }
+
     @Test // RPC call test: void setValueObjectsAndMessages
     void testPOSTCommandWithMultipleLists()
     {
@@ -317,5 +439,17 @@ class RESTfulRPCAdapterIT
         assertNotNull(nullPointerException.getStackTrace());
         assertTrue(nullPointerException.getStackTrace().length > 0);
     }
-}
 
+    public static class LazyResultService
+    {
+        public Stream<Integer> getValues()
+        {
+            return Stream.of(1, 2, 3);
+        }
+
+        public Stream<Integer> getManyValues()
+        {
+            return IntStream.range(0, LAZY_RESULT_BUFFER_SIZE).boxed();
+        }
+    }
+}
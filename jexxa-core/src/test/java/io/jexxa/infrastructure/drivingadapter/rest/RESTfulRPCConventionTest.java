@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.stream.Collectors;
 
 import io.jexxa.TestConstants;
+import io.jexxa.application.applicationservice.PublisherApplicationService;
 import io.jexxa.application.applicationservice.SimpleApplicationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -81,6 +82,23 @@ class RESTfulRPCConventionTest
 
     }
 
+    @Test
+    void validateEventStreamCommands()
+    {
+        //Arrange
+        var objectUnderTest = new RESTfulRPCConvention(new PublisherApplicationService());
+
+        //Act
+        var result = objectUnderTest.getEventStreamCommands();
+
+        //Assert - Methods returning a Flow.Publisher are offered as event stream instead of GET method
+        assertEquals(1, result.size());
+        assertEquals("/" + PublisherApplicationService.class.getSimpleName() + "/getValueStream", result.get(0).getResourcePath());
+        assertTrue(objectUnderTest.getGETCommands().stream()
+                .noneMatch(element -> element.getResourcePath().equals(result.get(0).getResourcePath())));
+        assertTrue(this.objectUnderTest.getEventStreamCommands().isEmpty());
+    }
+
     @Test
     void noStaticMethods()
     {
@@ -0,0 +1,282 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static io.jexxa.infrastructure.drivingadapter.rest.RESTfulRPCAdapter.HTTP_PORT_PROPERTY;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.jexxa.TestConstants;
+import io.jexxa.application.applicationservice.AsyncApplicationService;
+import io.jexxa.application.applicationservice.SimpleApplicationService;
+import io.jexxa.infrastructure.drivingadapter.EndpointRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Calls are sent via the WebSocket client of Java
+ */
+@Tag(TestConstants.INTEGRATION_TEST)
+class RESTfulRPCWebSocketIT
+{
+    private static final String WEBSOCKET_PATH = "ws://localhost:7000/rpc";
+
+    private RESTfulRPCAdapter objectUnderTest;
+    private SimpleApplicationService simpleApplicationService;
+    private AsyncApplicationService asyncApplicationService;
+    private WebSocket webSocket;
+    private final ResponseListener responseListener = new ResponseListener();
+
+    @BeforeEach
+    void setupTests()
+    {
+        var properties = new Properties();
+        properties.put(RESTfulRPCAdapter.HOST_PROPERTY, "localhost");
+        properties.put(HTTP_PORT_PROPERTY, Integer.toString(7000));
+        properties.put(RESTfulRPCAdapter.WEBSOCKET_PATH, "rpc");
+        properties.put(RESTfulRPCAdapter.RATE_LIMIT + "./SimpleApplicationService/getSimpleValueObject", "0.1");
+        properties.put(RESTfulRPCAdapter.MAX_CONCURRENT_REQUESTS, "2");
+        properties.put(RESTfulRPCAdapter.METRICS_PATH, "metrics");
+
+        simpleApplicationService = new SimpleApplicationService();
+        asyncApplicationService = new AsyncApplicationService();
+
+        objectUnderTest = RESTfulRPCAdapter.createAdapter(properties);
+        objectUnderTest.register(simpleApplicationService);
+        objectUnderTest.register(asyncApplicationService);
+        objectUnderTest.register(new StreamApplicationService());
+        objectUnderTest.start();
+
+        webSocket = HttpClient.newHttpClient()
+                .newWebSocketBuilder()
+                .buildAsync(URI.create(WEBSOCKET_PATH), responseListener)
+                .join();
+    }
+
+    @AfterEach
+    void tearDownTests()
+    {
+        webSocket.abort();
+        objectUnderTest.stop();
+        objectUnderTest = null;
+    }
+
+    @Test
+    void testCalls() throws InterruptedException
+    {
+        //Arrange
+        var setValue = "{\"id\":1, \"resourcePath\":\"/SimpleApplicationService/setSimpleValue\", \"arguments\":44}";
+        var getValue = "{\"id\":2, \"resourcePath\":\"/SimpleApplicationService/getSimpleValue\"}";
+
+        //Act
+        webSocket.sendText(setValue, true).join();
+        var setResponse = responseListener.nextResponse();
+        webSocket.sendText(getValue, true).join();
+        var getResponse = responseListener.nextResponse();
+
+        //Assert
+        assertEquals(1, setResponse.get("id").getAsInt());
+        assertEquals(200, setResponse.get("status").getAsInt());
+        assertFalse(setResponse.has("result"));
+        assertEquals(2, getResponse.get("id").getAsInt());
+        assertEquals(200, getResponse.get("status").getAsInt());
+        assertEquals(44, getResponse.get("result").getAsInt());
+        assertEquals(44, simpleApplicationService.getSimpleValue());
+    }
+
+    @Test
+    void testResponsesOutOfOrder() throws InterruptedException
+    {
+        //Arrange
+        var pendingCall = "{\"id\":\"pending\", \"resourcePath\":\"/AsyncApplicationService/getPendingValueAsync\"}";
+        var valueCall = "{\"id\":\"value\", \"resourcePath\":\"/AsyncApplicationService/getSimpleValue\"}";
+
+        //Act
+        webSocket.sendText(pendingCall, true).join();
+        await().atMost(1, TimeUnit.SECONDS).until(() -> asyncApplicationService.getPendingRequests() == 1);
+        webSocket.sendText(valueCall, true).join();
+        var firstResponse = responseListener.nextResponse();
+        asyncApplicationService.completePendingValue();
+        var secondResponse = responseListener.nextResponse();
+
+        //Assert - The pending call is answered after the subsequent call
+        assertEquals("value", firstResponse.get("id").getAsString());
+        assertEquals("pending", secondResponse.get("id").getAsString());
+        assertEquals(asyncApplicationService.getSimpleValue(), secondResponse.get("result").getAsInt());
+    }
+
+    @Test
+    void testUnknownResourcePath() throws InterruptedException
+    {
+        //Arrange
+        var call = "{\"id\":1, \"resourcePath\":\"/SimpleApplicationService/unknownMethod\"}";
+
+        //Act
+        webSocket.sendText(call, true).join();
+        var response = responseListener.nextResponse();
+
+        //Assert
+        assertEquals(1, response.get("id").getAsInt());
+        assertEquals(404, response.get("status").getAsInt());
+    }
+
+    @Test
+    void testInvalidCall() throws InterruptedException
+    {
+        //Arrange
+        var invalidArguments = "{\"id\":1, \"resourcePath\":\"/SimpleApplicationService/setSimpleValue\", \"arguments\":{\"value\":44}}";
+        var exceptionCall = "{\"id\":2, \"resourcePath\":\"/SimpleApplicationService/throwExceptionTest\"}";
+        var validCall = "{\"id\":3, \"resourcePath\":\"/SimpleApplicationService/getSimpleValue\"}";
+
+        //Act
+        webSocket.sendText(invalidArguments, true).join();
+        var invalidArgumentsResponse = responseListener.nextResponse();
+        webSocket.sendText(exceptionCall, true).join();
+        var exceptionResponse = responseListener.nextResponse();
+        webSocket.sendText(validCall, true).join();
+        var validResponse = responseListener.nextResponse();
+
+        //Assert - A failed call does not close the connection
+        assertEquals(400, invalidArgumentsResponse.get("status").getAsInt());
+        assertNotNull(invalidArgumentsResponse.get("error"));
+        assertEquals(400, exceptionResponse.get("status").getAsInt());
+        assertEquals(SimpleApplicationService.SimpleApplicationException.class.getName(),
+                exceptionResponse.get("error").getAsJsonObject().get("ExceptionType").getAsString());
+        assertEquals(200, validResponse.get("status").getAsInt());
+    }
+
+    @Test
+    void testRateLimit() throws InterruptedException
+    {
+        //Arrange
+        var acceptedCall = "{\"id\":1, \"resourcePath\":\"/SimpleApplicationService/getSimpleValueObject\"}";
+        var limitedCall = "{\"id\":2, \"resourcePath\":\"/SimpleApplicationService/getSimpleValueObject\"}";
+
+        //Act
+        webSocket.sendText(acceptedCall, true).join();
+        var acceptedResponse = responseListener.nextResponse();
+        webSocket.sendText(limitedCall, true).join();
+        var limitedResponse = responseListener.nextResponse();
+
+        //Assert - Each call via WebSocket is limited as a single request
+        assertEquals(200, acceptedResponse.get("status").getAsInt());
+        assertEquals(2, limitedResponse.get("id").getAsInt());
+        assertEquals(RateLimitHandler.TOO_MANY_REQUESTS, limitedResponse.get("status").getAsInt());
+        assertEquals(RejectedCallException.class.getName(),
+                limitedResponse.get("error").getAsJsonObject().get("ExceptionType").getAsString());
+        assertEquals(1, objectUnderTest.getRateLimitedRequests());
+    }
+
+    @Test
+    void testAdmissionControl() throws InterruptedException
+    {
+        //Arrange - Both pending calls are admitted until they are answered
+        var pendingCall = "{\"id\":1, \"resourcePath\":\"/AsyncApplicationService/getPendingValueAsync\"}";
+        var rejectedCall = "{\"id\":3, \"resourcePath\":\"/AsyncApplicationService/getSimpleValue\"}";
+        webSocket.sendText(pendingCall, true).join();
+        webSocket.sendText(pendingCall.replace("\"id\":1", "\"id\":2"), true).join();
+        await().atMost(1, TimeUnit.SECONDS).until(() -> asyncApplicationService.getPendingRequests() == 2);
+
+        //Act
+        webSocket.sendText(rejectedCall, true).join();
+        var rejectedResponse = responseListener.nextResponse();
+        asyncApplicationService.completePendingValue();
+        responseListener.nextResponse();
+        responseListener.nextResponse();
+        webSocket.sendText(rejectedCall, true).join();
+        var acceptedResponse = responseListener.nextResponse();
+
+        //Assert - A call exceeding the maximum number of concurrent requests is rejected with an error
+        assertEquals(3, rejectedResponse.get("id").getAsInt());
+        assertEquals(503, rejectedResponse.get("status").getAsInt());
+        assertEquals(RejectedCallException.class.getName(),
+                rejectedResponse.get("error").getAsJsonObject().get("ExceptionType").getAsString());
+        assertEquals(1, objectUnderTest.getRejectedRequests());
+        assertEquals(200, acceptedResponse.get("status").getAsInt());
+    }
+
+    @Test
+    void testRequestMetrics() throws InterruptedException
+    {
+        //Arrange
+        var endpointRecorder = EndpointRecorder.of("GET", "/SimpleApplicationService/getSimpleValue");
+        var recordedRequests = endpointRecorder.getStatistics().getRequests();
+        var recordedErrors = endpointRecorder.getStatistics().getErrors();
+        var call = "{\"id\":1, \"resourcePath\":\"/SimpleApplicationService/getSimpleValue\"}";
+
+        //Act
+        webSocket.sendText(call, true).join();
+        responseListener.nextResponse();
+
+        //Assert - A call via WebSocket is recorded by the metrics of its method
+        var statistics = endpointRecorder.getStatistics();
+        assertEquals(recordedRequests + 1, statistics.getRequests());
+        assertEquals(recordedErrors, statistics.getErrors());
+        assertTrue(statistics.getRequestBytes() >= call.length());
+    }
+
+    @Test
+    void testStreamResult() throws InterruptedException
+    {
+        //Arrange
+        var call = "{\"id\":1, \"resourcePath\":\"/StreamApplicationService/getValues\"}";
+
+        //Act
+        webSocket.sendText(call, true).join();
+        var response = responseListener.nextResponse();
+
+        //Assert - The Stream is collected before the response is written
+        assertEquals(200, response.get("status").getAsInt());
+        assertEquals("[1,2,3]", response.get("result").toString());
+    }
+
+    @SuppressWarnings("unused")
+    public static class StreamApplicationService
+    {
+        public Stream<Integer> getValues()
+        {
+            return Stream.of(1, 2, 3);
+        }
+    }
+
+    private static class ResponseListener implements WebSocket.Listener
+    {
+        private final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+        private StringBuilder currentResponse = new StringBuilder();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last)
+        {
+            currentResponse.append(data);
+            if (last)
+            {
+                responses.add(currentResponse.toString());
+                currentResponse = new StringBuilder();
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        JsonObject nextResponse() throws InterruptedException
+        {
+            var response = responses.poll(5, TimeUnit.SECONDS);
+            assertNotNull(response);
+            return JsonParser.parseString(response).getAsJsonObject();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jexxa.TestConstants;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@Tag(TestConstants.UNIT_TEST)
+class RateLimitHandlerTest
+{
+    private static final String GET = "GET";
+    private static final String PATH = "/SimpleApplicationService/getSimpleValue";
+    private static final double REQUESTS_PER_SECOND = 0.1;
+
+    @Test
+    void evictLeastRecentlyUsedClient()
+    {
+        //Arrange
+        var objectUnderTest = new RateLimitHandler(null, 2);
+        objectUnderTest.registerGET(PATH, 0, REQUESTS_PER_SECOND);
+        objectUnderTest.tryTake(GET, PATH, "client1");
+        objectUnderTest.tryTake(GET, PATH, "client2");
+
+        //Act - client1 is used again, so that the bucket of client2 is removed for client3
+        var limitedClient1 = objectUnderTest.tryTake(GET, PATH, "client1");
+        objectUnderTest.tryTake(GET, PATH, "client3");
+        var stillLimitedClient1 = objectUnderTest.tryTake(GET, PATH, "client1");
+        var evictedClient2 = objectUnderTest.tryTake(GET, PATH, "client2");
+
+        //Assert
+        assertTrue(limitedClient1 > 0);
+        assertEquals(0, evictedClient2);
+        assertTrue(stillLimitedClient1 > 0);
+    }
+
+    @Test
+    void rotatingClientIds()
+    {
+        //Arrange
+        var objectUnderTest = new RateLimitHandler(null, 10);
+        objectUnderTest.registerGET(PATH, 0, REQUESTS_PER_SECOND);
+
+        //Act - Each client is only seen once, so that only the buckets of the latest clients are kept
+        for (int i = 0; i < 1000; ++i)
+        {
+            objectUnderTest.tryTake(GET, PATH, "client" + i);
+        }
+        var latestClient = objectUnderTest.tryTake(GET, PATH, "client999");
+        var evictedClient = objectUnderTest.tryTake(GET, PATH, "client0");
+
+        //Assert
+        assertTrue(latestClient > 0);
+        assertEquals(0, evictedClient);
+    }
+
+    @Test
+    void ignoreTrailingSlash()
+    {
+        //Arrange
+        var objectUnderTest = new RateLimitHandler(null);
+        objectUnderTest.registerGET(PATH, REQUESTS_PER_SECOND, 0);
+        objectUnderTest.tryTake(GET, PATH, "client1");
+
+        //Act
+        var result = objectUnderTest.tryTake(GET, PATH + "/", "client1");
+
+        //Assert
+        assertTrue(result > 0);
+        assertEquals(1, objectUnderTest.getLimitedRequests());
+    }
+}
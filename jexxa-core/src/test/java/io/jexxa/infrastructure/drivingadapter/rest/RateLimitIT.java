@@ -0,0 +1,142 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static io.jexxa.infrastructure.drivingadapter.rest.RESTfulRPCAdapter.HTTP_PORT_PROPERTY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Properties;
+
+import com.google.gson.JsonParser;
+import io.jexxa.TestConstants;
+import io.jexxa.application.applicationservice.SimpleApplicationService;
+import kong.unirest.Unirest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(TestConstants.INTEGRATION_TEST)
+class RateLimitIT
+{
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String APPLICATION_TYPE = "application/json";
+    private static final String CLIENT_ID = "X-Client-Id";
+    private static final String REST_PATH = "http://localhost:7000/SimpleApplicationService/";
+
+    private RESTfulRPCAdapter objectUnderTest;
+
+    @BeforeEach
+    void setupTests()
+    {
+        var properties = new Properties();
+        properties.put(RESTfulRPCAdapter.HOST_PROPERTY, "localhost");
+        properties.put(HTTP_PORT_PROPERTY, Integer.toString(7000));
+        properties.put(RESTfulRPCAdapter.CLIENT_RATE_LIMIT, "0.1");
+        properties.put(RESTfulRPCAdapter.RATE_LIMIT + "./SimpleApplicationService/getSimpleValueObject", "0.1");
+        properties.put(RESTfulRPCAdapter.CLIENT_ID_HEADER, CLIENT_ID);
+        properties.put(RESTfulRPCAdapter.BATCH_PATH, "_batch");
+
+        objectUnderTest = RESTfulRPCAdapter.createAdapter(properties);
+        objectUnderTest.register(new SimpleApplicationService());
+        objectUnderTest.start();
+    }
+
+    @AfterEach
+    void tearDownTests()
+    {
+        objectUnderTest.stop();
+        objectUnderTest = null;
+        Unirest.shutDown();
+    }
+
+    @Test
+    void testRateLimitPerClient()
+    {
+        //Arrange
+        var acceptedResponse = Unirest.get(REST_PATH + "getSimpleValue")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .header(CLIENT_ID, "client1")
+                .asEmpty();
+
+        //Act
+        var limitedResponse = Unirest.get(REST_PATH + "getSimpleValue")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .header(CLIENT_ID, "client1")
+                .asEmpty();
+        var otherClientResponse = Unirest.get(REST_PATH + "getSimpleValue")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .header(CLIENT_ID, "client2")
+                .asEmpty();
+
+        //Assert
+        assertEquals(200, acceptedResponse.getStatus());
+        assertEquals(RateLimitHandler.TOO_MANY_REQUESTS, limitedResponse.getStatus());
+        assertEquals("10", limitedResponse.getHeaders().getFirst("Retry-After"));
+        assertEquals(200, otherClientResponse.getStatus());
+        assertEquals(1, objectUnderTest.getRateLimitedRequests());
+    }
+
+    @Test
+    void testRateLimitPerEndpoint()
+    {
+        //Arrange
+        var acceptedResponse = Unirest.get(REST_PATH + "getSimpleValueObject")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .header(CLIENT_ID, "client1")
+                .asEmpty();
+
+        //Act
+        var limitedResponse = Unirest.get(REST_PATH + "getSimpleValueObject")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .header(CLIENT_ID, "client2")
+                .asEmpty();
+
+        //Assert
+        assertEquals(200, acceptedResponse.getStatus());
+        assertEquals(RateLimitHandler.TOO_MANY_REQUESTS, limitedResponse.getStatus());
+        assertEquals(1, objectUnderTest.getRateLimitedRequests());
+    }
+
+    @Test
+    void testRateLimitOfBatchEntries()
+    {
+        //Arrange
+        var batch = "[{\"resourcePath\":\"/SimpleApplicationService/getSimpleValue\"},"
+                + "{\"resourcePath\":\"/SimpleApplicationService/getSimpleValue\"}]";
+
+        //Act
+        var response = Unirest.post("http://localhost:7000/_batch")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .header(CLIENT_ID, "client1")
+                .body(batch)
+                .asString();
+
+        //Assert - Each entry is limited as a single request, so that only the limited entry fails
+        var results = JsonParser.parseString(response.getBody()).getAsJsonArray();
+        assertEquals(200, response.getStatus());
+        assertEquals(200, results.get(0).getAsJsonObject().get("status").getAsInt());
+        assertEquals(RateLimitHandler.TOO_MANY_REQUESTS, results.get(1).getAsJsonObject().get("status").getAsInt());
+        assertEquals(1, objectUnderTest.getRateLimitedRequests());
+    }
+
+    @Test
+    void testInvalidBatchEntryDoesNotFailBatch()
+    {
+        //Arrange
+        var batch = "[{\"resourcePath\":\"/SimpleApplicationService/getSimpleValue\"},"
+                + "{\"arguments\":1}]";
+
+        //Act
+        var response = Unirest.post("http://localhost:7000/_batch")
+                .header(CONTENT_TYPE, APPLICATION_TYPE)
+                .header(CLIENT_ID, "client1")
+                .body(batch)
+                .asString();
+
+        //Assert - The token taken by the first entry is not wasted by a failing request
+        var results = JsonParser.parseString(response.getBody()).getAsJsonArray();
+        assertEquals(200, response.getStatus());
+        assertEquals(200, results.get(0).getAsJsonObject().get("status").getAsInt());
+        assertEquals(400, results.get(1).getAsJsonObject().get("status").getAsInt());
+        assertEquals(0, objectUnderTest.getRateLimitedRequests());
+    }
+}
@@ -0,0 +1,119 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import io.jexxa.TestConstants;
+import io.jexxa.application.applicationservice.IncrementApplicationService;
+import io.jexxa.application.applicationservice.SimpleApplicationService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@Tag(TestConstants.UNIT_TEST)
+class ResponseCacheTest
+{
+    private static final String RESOURCE_PATH = "/SimpleApplicationService/getSimpleValue";
+    private static final byte[] BODY = "42".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void getCachedResponse()
+    {
+        //Arrange
+        var objectUnderTest = new ResponseCache(Duration.ofMinutes(1), 1024);
+        var port = new SimpleApplicationService();
+
+        //Act
+        var cachedResponse = objectUnderTest.put(RESOURCE_PATH, port, objectUnderTest.getGeneration(port), BODY);
+
+        //Assert
+        assertTrue(objectUnderTest.isEnabled());
+        assertArrayEquals(BODY, objectUnderTest.get(RESOURCE_PATH, port).orElseThrow().getBody());
+        assertTrue(cachedResponse.matches(cachedResponse.getETag()));
+        assertTrue(cachedResponse.matches("\"other\", " + cachedResponse.getETag()));
+        assertFalse(cachedResponse.matches("\"other\""));
+        assertFalse(cachedResponse.matches(null));
+    }
+
+    @Test
+    void invalidateByPOSTMethod()
+    {
+        //Arrange
+        var objectUnderTest = new ResponseCache(Duration.ofMinutes(1), 1024);
+        var port = new SimpleApplicationService();
+        var otherPort = new IncrementApplicationService();
+        var generation = objectUnderTest.getGeneration(port);
+        objectUnderTest.put(RESOURCE_PATH, port, generation, BODY);
+
+        //Act
+        objectUnderTest.invalidate(otherPort);
+        var validResponse = objectUnderTest.get(RESOURCE_PATH, port);
+        objectUnderTest.invalidate(port);
+        var invalidResponse = objectUnderTest.get(RESOURCE_PATH, port);
+
+        // A response created before invalidation must not be stored
+        objectUnderTest.put(RESOURCE_PATH, port, generation, BODY);
+
+        //Assert
+        assertTrue(validResponse.isPresent());
+        assertTrue(invalidResponse.isEmpty());
+        assertTrue(objectUnderTest.get(RESOURCE_PATH, port).isEmpty());
+    }
+
+    @Test
+    void expireResponse() throws InterruptedException
+    {
+        //Arrange
+        var objectUnderTest = new ResponseCache(Duration.ofMillis(1), 1024);
+        var port = new SimpleApplicationService();
+        objectUnderTest.put(RESOURCE_PATH, port, objectUnderTest.getGeneration(port), BODY);
+
+        //Act
+        Thread.sleep(10);
+
+        //Assert
+        assertTrue(objectUnderTest.get(RESOURCE_PATH, port).isEmpty());
+    }
+
+    @Test
+    void evictLeastRecentlyUsedResponse()
+    {
+        //Arrange
+        var objectUnderTest = new ResponseCache(Duration.ofMinutes(1), 2L * BODY.length);
+        var port = new SimpleApplicationService();
+        var generation = objectUnderTest.getGeneration(port);
+
+        //Act
+        objectUnderTest.put("/first", port, generation, BODY);
+        objectUnderTest.put("/second", port, generation, BODY);
+        objectUnderTest.get("/first", port);
+        objectUnderTest.put("/third", port, generation, BODY);
+
+        //Assert
+        assertTrue(objectUnderTest.get("/first", port).isPresent());
+        assertTrue(objectUnderTest.get("/second", port).isEmpty());
+        assertTrue(objectUnderTest.get("/third", port).isPresent());
+    }
+
+    @Test
+    void differentETags()
+    {
+        //Arrange
+        var objectUnderTest = new ResponseCache(Duration.ofMinutes(1), 1024);
+        var port = new SimpleApplicationService();
+
+        //Act
+        var firstResponse = objectUnderTest.put(RESOURCE_PATH, port, 0, BODY);
+        var secondResponse = objectUnderTest.put(RESOURCE_PATH, port, 0, "43".getBytes(StandardCharsets.UTF_8));
+
+        //Assert
+        assertNotEquals(firstResponse.getETag(), secondResponse.getETag());
+    }
+}
@@ -0,0 +1,86 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import io.javalin.core.compression.CompressionStrategy;
+import io.jexxa.TestConstants;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@Tag(TestConstants.UNIT_TEST)
+class ResponseCompressionTest
+{
+    private static final Set<String> MIME_TYPES = Set.of("application/json");
+
+    @Test
+    void compressResponse() throws IOException
+    {
+        //Arrange
+        var objectUnderTest = new ResponseCompression(ResponseCompression.Encoding.GZIP, 1500, MIME_TYPES, 6);
+        var response = "[\"message\", \"message\", \"message\", \"message\"]".repeat(100).getBytes(StandardCharsets.UTF_8);
+        var outputStream = new ByteArrayOutputStream();
+
+        //Act
+        try (var compressingOutputStream = objectUnderTest.compress(outputStream, ResponseCompression.GZIP))
+        {
+            compressingOutputStream.write(response);
+        }
+
+        //Assert
+        var statistics = objectUnderTest.getStatistics();
+        assertArrayEquals(response, new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray())).readAllBytes());
+        assertEquals(1, statistics.getCompressedResponses());
+        assertEquals(response.length, statistics.getUncompressedBytes());
+        assertEquals(outputStream.size(), statistics.getCompressedBytes());
+        assertTrue(statistics.getCompressionRatio() > 1);
+    }
+
+    @Test
+    void brotliNotAvailable()
+    {
+        //Arrange - jvm-brotli is not included in the classpath
+        var objectUnderTest = new ResponseCompression(ResponseCompression.Encoding.BROTLI, 1500, MIME_TYPES, 11);
+
+        //Act
+        var compressionStrategy = objectUnderTest.getCompressionStrategy();
+
+        //Assert
+        assertNull(compressionStrategy.getBrotli());
+        assertEquals(9, compressionStrategy.getGzip().getLevel());
+    }
+
+    @Test
+    void disableCompression()
+    {
+        //Arrange
+        var objectUnderTest = new ResponseCompression(ResponseCompression.Encoding.NONE, 1500, MIME_TYPES, 6);
+
+        //Act
+        var compressionStrategy = objectUnderTest.getCompressionStrategy();
+
+        //Assert
+        assertEquals(CompressionStrategy.NONE, compressionStrategy);
+        assertEquals(0.0, objectUnderTest.getStatistics().getCompressionRatio());
+    }
+
+    @Test
+    void invalidCompressionLevel()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ResponseCompression(ResponseCompression.Encoding.GZIP, 1500, MIME_TYPES, 12));
+        assertThrows(IllegalArgumentException.class, () -> new ResponseCompression(ResponseCompression.Encoding.GZIP, -1, MIME_TYPES, 6));
+    }
+}
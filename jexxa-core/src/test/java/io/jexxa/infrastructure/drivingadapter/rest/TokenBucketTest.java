@@ -0,0 +1,78 @@
+package io.jexxa.infrastructure.drivingadapter.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import io.jexxa.TestConstants;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@Tag(TestConstants.UNIT_TEST)
+class TokenBucketTest
+{
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void takeUpToCapacity()
+    {
+        //Arrange
+        var now = System.nanoTime();
+        var objectUnderTest = new TokenBucket(10, 3, now);
+
+        //Act
+        var result = IntStream.range(0, 4).mapToLong(element -> objectUnderTest.tryTake(now)).toArray();
+
+        //Assert
+        assertEquals(0, result[0]);
+        assertEquals(0, result[1]);
+        assertEquals(0, result[2]);
+        assertEquals(ONE_SECOND / 10, result[3]);
+        assertFalse(objectUnderTest.isFull(now));
+    }
+
+    @Test
+    void refillWithConstantRate()
+    {
+        //Arrange
+        var now = System.nanoTime();
+        var objectUnderTest = new TokenBucket(10, 1, now);
+        objectUnderTest.tryTake(now);
+
+        //Act
+        var tooEarly = objectUnderTest.tryTake(now + ONE_SECOND / 20);
+        var inTime = objectUnderTest.tryTake(now + ONE_SECOND / 10);
+
+        //Assert
+        assertEquals(ONE_SECOND / 20, tooEarly);
+        assertEquals(0, inTime);
+        assertTrue(objectUnderTest.isFull(now + ONE_SECOND));
+    }
+
+    @Test
+    void concurrentTake()
+    {
+        //Arrange
+        var now = System.nanoTime();
+        var objectUnderTest = new TokenBucket(1, 100, now);
+        var acceptedRequests = new AtomicInteger();
+
+        //Act
+        IntStream.range(0, 1000).parallel().forEach(element -> {
+            if (objectUnderTest.tryTake(now) == 0)
+            {
+                acceptedRequests.incrementAndGet();
+            }
+        });
+
+        //Assert
+        assertEquals(100, acceptedRequests.get());
+    }
+}
@@ -0,0 +1,46 @@
+package io.jexxa.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutionException;
+
+import io.jexxa.TestConstants;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@Tag(TestConstants.UNIT_TEST)
+class VirtualThreadsTest
+{
+    @Test
+    void newThreadPerTaskExecutor() throws ExecutionException, InterruptedException, ReflectiveOperationException
+    {
+        //Arrange
+        if (!VirtualThreads.isAvailable())
+        {
+            //Act - Assert
+            assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.newThreadPerTaskExecutor("Test-"));
+            return;
+        }
+
+        var objectUnderTest = VirtualThreads.newThreadPerTaskExecutor("Test-");
+
+        //Act
+        var thread = objectUnderTest.submit(Thread::currentThread).get();
+        objectUnderTest.shutdown();
+
+        //Assert
+        assertTrue((boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+        assertEquals("Test-0", thread.getName());
+    }
+
+    @Test
+    void isAvailable()
+    {
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isAvailable());
+    }
+}
@@ -0,0 +1,64 @@
+package io.jexxa.utils.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import io.jexxa.TestConstants;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@Tag(TestConstants.UNIT_TEST)
+class GsonConverterTest
+{
+    // Representations written by a plain Gson instance, which serializes the fields of the java.time classes
+    private static final String LEGACY_DATE = "{\"year\":2021,\"month\":2,\"day\":3}";
+    private static final String LEGACY_DATE_TIME = "{\"date\":" + LEGACY_DATE + ",\"time\":{\"hour\":4,\"minute\":5,\"second\":6,\"nano\":7}}";
+
+    private final JSONConverter objectUnderTest = new GsonConverter();
+
+    @Test
+    void java8DateTimeAsString()
+    {
+        //Arrange
+        var localDateTime = LocalDateTime.of(2021, 2, 3, 4, 5, 6, 7);
+        var zonedDateTime = ZonedDateTime.of(localDateTime, ZoneId.of("Europe/Berlin"));
+
+        //Act
+        var jsonLocalDateTime = objectUnderTest.toJson(localDateTime);
+        var jsonZonedDateTime = objectUnderTest.toJson(zonedDateTime);
+
+        //Assert
+        assertEquals("\"2021-02-03T04:05:06.000000007\"", jsonLocalDateTime);
+        assertEquals(localDateTime, objectUnderTest.fromJson(jsonLocalDateTime, LocalDateTime.class));
+        assertEquals(zonedDateTime.toInstant(), objectUnderTest.fromJson(jsonZonedDateTime, ZonedDateTime.class).toInstant());
+    }
+
+    @Test
+    void legacyJava8DateTime()
+    {
+        //Arrange
+        var legacyZoneRegion = "{\"dateTime\":" + LEGACY_DATE_TIME + ",\"offset\":{\"totalSeconds\":3600},\"zone\":{\"id\":\"Europe/Berlin\"}}";
+        var legacyZoneOffset = "{\"dateTime\":" + LEGACY_DATE_TIME + ",\"offset\":{\"totalSeconds\":7200},\"zone\":{\"totalSeconds\":7200}}";
+        var localDateTime = LocalDateTime.of(2021, 2, 3, 4, 5, 6, 7);
+
+        //Act
+        var localDate = objectUnderTest.fromJson(LEGACY_DATE, LocalDate.class);
+        var resultLocalDateTime = objectUnderTest.fromJson(LEGACY_DATE_TIME, LocalDateTime.class);
+        var zoneRegion = objectUnderTest.fromJson(legacyZoneRegion, ZonedDateTime.class);
+        var zoneOffset = objectUnderTest.fromJson(legacyZoneOffset, ZonedDateTime.class);
+
+        //Assert
+        assertEquals(LocalDate.of(2021, 2, 3), localDate);
+        assertEquals(localDateTime, resultLocalDateTime);
+        assertEquals(ZonedDateTime.of(localDateTime, ZoneId.of("Europe/Berlin")), zoneRegion);
+        assertEquals(ZonedDateTime.of(localDateTime, ZoneOffset.ofHours(2)), zoneOffset);
+    }
+}
@@ -0,0 +1,62 @@
+package io.jexxa.utils.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Properties;
+
+import io.jexxa.TestConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.SAME_THREAD)
+@Tag(TestConstants.UNIT_TEST)
+class JSONManagerTest
+{
+    @AfterEach
+    void resetJSONConverter()
+    {
+        JSONManager.setJSONConverter(new GsonConverter());
+    }
+
+    @Test
+    void configureJSONConverter()
+    {
+        //Arrange
+        var properties = new Properties();
+        properties.put(JSONManager.JSON_CONVERTER, JacksonConverter.class.getName());
+
+        //Act
+        JSONManager.configure(properties);
+
+        //Assert
+        assertEquals(JacksonConverter.class, JSONManager.getJSONConverter().getClass());
+    }
+
+    @Test
+    void keepJSONConverterIfNotConfigured()
+    {
+        //Arrange
+        var jsonConverter = JSONManager.getJSONConverter();
+
+        //Act
+        JSONManager.configure(new Properties());
+
+        //Assert
+        assertEquals(jsonConverter, JSONManager.getJSONConverter());
+    }
+
+    @Test
+    void invalidJSONConverter()
+    {
+        //Arrange
+        var properties = new Properties();
+        properties.put(JSONManager.JSON_CONVERTER, String.class.getName());
+
+        //Act / Assert
+        assertThrows(IllegalArgumentException.class, () -> JSONManager.configure(properties));
+    }
+}
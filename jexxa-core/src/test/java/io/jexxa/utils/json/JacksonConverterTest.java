@@ -0,0 +1,132 @@
+package io.jexxa.utils.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import io.jexxa.TestConstants;
+import io.jexxa.application.domain.aggregate.JexxaEntity;
+import io.jexxa.application.domain.valueobject.JexxaValueObject;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@Tag(TestConstants.UNIT_TEST)
+class JacksonConverterTest
+{
+    private final JSONConverter objectUnderTest = new JacksonConverter();
+    private final JSONConverter gsonConverter = new GsonConverter();
+
+    @Test
+    void sameJsonAsGson()
+    {
+        //Arrange
+        var jexxaEntity = JexxaEntity.create(new JexxaValueObject(42));
+        jexxaEntity.setInternalValue(42);
+
+        //Act
+        var result = objectUnderTest.toJson(jexxaEntity);
+
+        //Assert
+        assertEquals(gsonConverter.toJson(jexxaEntity), result);
+    }
+
+    @Test
+    void objectWithoutDefaultConstructor()
+    {
+        //Arrange
+        var valueObject = new JexxaValueObject(42);
+
+        //Act
+        var result = objectUnderTest.fromJson(objectUnderTest.toJson(valueObject), JexxaValueObject.class);
+
+        //Assert
+        assertEquals(valueObject, result);
+    }
+
+    @Test
+    void genericType()
+    {
+        //Arrange
+        var valueObjects = List.of(new JexxaValueObject(1), new JexxaValueObject(42));
+        var type = new TypeToken<List<JexxaValueObject>>(){}.getType();
+        var writer = new StringWriter();
+
+        //Act
+        objectUnderTest.toJson(valueObjects, writer);
+        List<JexxaValueObject> result = objectUnderTest.fromJson(new StringReader(writer.toString()), type);
+
+        //Assert
+        assertEquals(valueObjects, result);
+    }
+
+    @Test
+    void readJsonFromGson()
+    {
+        //Arrange
+        var jexxaEntity = JexxaEntity.create(new JexxaValueObject(42));
+        jexxaEntity.setInternalValue(21);
+
+        //Act
+        var result = objectUnderTest.fromJson(gsonConverter.toJson(jexxaEntity), JexxaEntity.class);
+
+        //Assert
+        assertEquals(jexxaEntity.getKey(), result.getKey());
+        assertEquals(jexxaEntity.getInternalValue(), result.getInternalValue());
+    }
+
+    @Test
+    void streamingRoundTrip() throws IOException
+    {
+        //Arrange
+        var valueObjects = List.of(new JexxaValueObject(1), new JexxaValueObject(42));
+        var type = new TypeToken<List<JexxaValueObject>>(){}.getType();
+        var writer = new StringWriter();
+
+        //Act - Several values are written into and read from the same document
+        try (var jsonWriter = objectUnderTest.newJsonWriter(writer))
+        {
+            jsonWriter.beginArray();
+            objectUnderTest.toJson(valueObjects, jsonWriter);
+            objectUnderTest.toJson(null, jsonWriter);
+            jsonWriter.endArray();
+        }
+
+        List<JexxaValueObject> result;
+        Object nullResult;
+        try (var jsonReader = objectUnderTest.newJsonReader(new StringReader(writer.toString())))
+        {
+            jsonReader.beginArray();
+            result = objectUnderTest.fromJson(jsonReader, type);
+            nullResult = objectUnderTest.fromJson(jsonReader, JexxaValueObject.class);
+            jsonReader.endArray();
+        }
+
+        //Assert
+        assertEquals(gsonConverter.toJson(List.of(valueObjects)).replace("]]", "],null]"), writer.toString());
+        assertEquals(valueObjects, result);
+        assertNull(nullResult);
+    }
+
+    @Test
+    void writeJsonElement()
+    {
+        //Arrange - JsonElements are created by adapters of Jexxa, e.g. to include an exception in a result
+        var jsonObject = new JsonObject();
+        jsonObject.addProperty("Message", "TestException");
+        jsonObject.addProperty("Value", 42);
+        var result = Map.of("error", jsonObject);
+
+        //Act/Assert
+        assertEquals(gsonConverter.toJson(result), objectUnderTest.toJson(result));
+    }
+}